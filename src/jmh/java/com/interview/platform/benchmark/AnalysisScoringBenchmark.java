@@ -0,0 +1,132 @@
+package com.interview.platform.benchmark;
+
+import com.interview.platform.analysis.AnswerScoring;
+import com.interview.platform.analysis.KeywordSet;
+import com.interview.platform.analysis.TranscriptScanner;
+import com.interview.platform.analysis.TranscriptStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the pure scoring steps behind AnalysisService.analyzeAnswer.
+ * Run with -prof gc to get the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisScoringBenchmark {
+
+    private static final String[] VOCABULARY = {
+            "i", "worked", "on", "a", "project", "where", "we", "built", "the", "service",
+            "and", "then", "team", "deployed", "it", "to", "production", "with", "tests",
+            "um", "uh", "like", "basically", "actually", "literally", "you know", "kind of", "sort of"
+    };
+
+    @Param({"50", "500", "2000", "10000"})
+    public int words;
+
+    @Param({"5", "20", "100"})
+    public int keywords;
+
+    private final TranscriptScanner scanner = new TranscriptScanner();
+
+    private String transcript;
+    private String rawKeywords;
+    private KeywordSet keywordSet;
+    private TranscriptStats stats;
+    private int durationSeconds;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        StringJoiner keywordList = new StringJoiner(", ");
+        String[] keywordTerms = new String[keywords];
+        for (int i = 0; i < keywords; i++) {
+            keywordTerms[i] = "concept" + i;
+            keywordList.add(i % 3 == 0 ? "Concept" + i : "concept" + i);
+        }
+        rawKeywords = keywordList.toString();
+
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(i % 17 == 0 ? ". " : " ");
+            // Roughly one word in twenty is an expected keyword
+            if (random.nextInt(20) == 0) {
+                text.append(keywordTerms[random.nextInt(keywords)]);
+            } else {
+                text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+        }
+        transcript = text.toString();
+        durationSeconds = Math.max(1, words * 60 / 140);
+
+        keywordSet = KeywordSet.parse(rawKeywords);
+        stats = scanner.scan(transcript, keywordSet);
+    }
+
+    @Benchmark
+    public TranscriptStats fillerCount() {
+        return scanner.scan(transcript, KeywordSet.NONE);
+    }
+
+    @Benchmark
+    public int wordsPerMinute() {
+        TranscriptStats counts = scanner.scan(transcript, KeywordSet.NONE);
+        return AnswerScoring.wordsPerMinute(counts.getWordCount(), durationSeconds);
+    }
+
+    @Benchmark
+    public double keywordMatch() {
+        return scanner.scan(transcript, KeywordSet.parse(rawKeywords)).keywordScore();
+    }
+
+    @Benchmark
+    public double keywordMatchPrecompiled() {
+        return scanner.scan(transcript, keywordSet).keywordScore();
+    }
+
+    @Benchmark
+    public KeywordSet keywordParse() {
+        return KeywordSet.parse(rawKeywords);
+    }
+
+    @Benchmark
+    public void feedbackLists(Blackhole bh) {
+        int wpm = AnswerScoring.wordsPerMinute(stats.getWordCount(), durationSeconds);
+        double keywordScore = stats.keywordScore();
+        double communication = AnswerScoring.communicationScore(stats.getFillerCount(), wpm);
+        bh.consume(AnswerScoring.strengths(communication, keywordScore));
+        bh.consume(AnswerScoring.weaknesses(stats.getFillerCount(), wpm, keywordScore));
+        bh.consume(AnswerScoring.tips(stats.getFillerCount(), keywordScore));
+    }
+
+    @Benchmark
+    public double fullScoring(Blackhole bh) {
+        TranscriptStats counts = scanner.scan(transcript, KeywordSet.parse(rawKeywords));
+        int wpm = AnswerScoring.wordsPerMinute(counts.getWordCount(), durationSeconds);
+        double keywordScore = counts.keywordScore();
+        double communication = AnswerScoring.communicationScore(counts.getFillerCount(), wpm);
+        bh.consume(AnswerScoring.strengths(communication, keywordScore));
+        bh.consume(AnswerScoring.weaknesses(counts.getFillerCount(), wpm, keywordScore));
+        bh.consume(AnswerScoring.tips(counts.getFillerCount(), keywordScore));
+        return AnswerScoring.overallScore(keywordScore, communication, 7.5);
+    }
+}
@@ -0,0 +1,159 @@
+package com.interview.platform.analysis;
+
+import com.interview.platform.analysis.audio.PauseStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pure scoring formulas behind AnalysisService: no I/O and no Spring, so they
+ * can be benchmarked and reused by batch jobs in isolation.
+ */
+public final class AnswerScoring {
+    
+    public static final double DEFAULT_CONFIDENCE = 7.5;
+    public static final int DEFAULT_DURATION_SECONDS = 60;
+    public static final String EMPTY_TRANSCRIPTION = "No answer provided";
+    
+    private AnswerScoring() {
+    }
+    
+    // Null/empty transcriptions are scored as a fixed placeholder answer
+    public static String normalizeTranscription(String transcription) {
+        if (transcription == null || transcription.trim().isEmpty()) {
+            return EMPTY_TRANSCRIPTION;
+        }
+        return transcription;
+    }
+    
+    public static int normalizeDuration(Integer duration) {
+        return (duration == null || duration == 0) ? DEFAULT_DURATION_SECONDS : duration;
+    }
+    
+    // All scores and feedback for one answer, from its lexical stats
+    public static ScoreCard score(TranscriptStats stats, int durationSeconds, double confidenceScore) {
+        int fillerCount = stats.getFillerCount();
+        int wpm = wordsPerMinute(stats.getWordCount(), durationSeconds);
+        double keywordScore = stats.keywordScore();
+        
+        double communicationScore = communicationScore(fillerCount, wpm);
+        double contentScore = keywordScore;
+        double overallScore = overallScore(contentScore, communicationScore, confidenceScore);
+        
+        return new ScoreCard(fillerCount, wpm, contentScore, communicationScore, confidenceScore, overallScore,
+                strengths(communicationScore, contentScore),
+                weaknesses(fillerCount, wpm, keywordScore),
+                tips(fillerCount, keywordScore));
+    }
+    
+    public static double overallScore(double contentScore, double communicationScore, double confidenceScore) {
+        return (contentScore * 0.4) + (communicationScore * 0.35) + (confidenceScore * 0.25);
+    }
+    
+    // Confidence from delivery: frequent or long pauses, lots of dead air and uneven pace all cost points
+    public static double confidenceScore(PauseStats pauses) {
+        if (pauses == null || pauses.getSpeechMillis() < 1000) {
+            return DEFAULT_CONFIDENCE;
+        }
+        double score = 10.0;
+        
+        double minutes = Math.max(pauses.getDurationMillis(), pauses.getSpeechMillis()) / 60000.0;
+        double pausesPerMinute = pauses.getPauseCount() / Math.max(minutes, 0.25);
+        score -= Math.min(Math.max(pausesPerMinute - 10, 0) * 0.25, 3.0);
+        
+        if (pauses.getLongestPauseMillis() > 3000) {
+            score -= Math.min((pauses.getLongestPauseMillis() - 3000) / 2000.0, 2.0);
+        }
+        
+        if (pauses.getDurationMillis() > 0) {
+            double silenceRatio = (double) pauses.getTotalSilenceMillis() / pauses.getDurationMillis();
+            if (silenceRatio > 0.4) {
+                score -= Math.min((silenceRatio - 0.4) * 5, 2.0);
+            }
+        }
+        
+        if (pauses.getSpeakingRateMean() > 0) {
+            double variation = Math.sqrt(pauses.getSpeakingRateVariance()) / pauses.getSpeakingRateMean();
+            if (variation > 0.35) {
+                score -= Math.min((variation - 0.35) * 5, 2.0);
+            }
+        }
+        
+        return Math.max(score, 0.0);
+    }
+    
+    public static int wordsPerMinute(int wordCount, Integer durationSeconds) {
+        if (wordCount == 0 || durationSeconds == null || durationSeconds == 0) 
+            return 0;
+        
+        double minutes = durationSeconds / 60.0;
+        return (int) (wordCount / minutes);
+    }
+    
+    public static double communicationScore(int fillerCount, int wpm) {
+        double score = 10.0;
+        
+        // Penalize for filler words
+        score -= Math.min(fillerCount * 0.2, 4.0);
+        
+        // Penalize for too fast or too slow speech
+        if (wpm > 0) {
+            if (wpm < 100 || wpm > 180) {
+                score -= 2.0;
+            }
+        }
+        
+        return Math.max(score, 0.0);
+    }
+    
+    public static List<String> strengths(double communicationScore, double contentScore) {
+        List<String> strengths = new ArrayList<>();
+        
+        if (communicationScore >= 7.0) {
+            strengths.add("Clear and confident communication");
+        }
+        if (contentScore >= 7.0) {
+            strengths.add("Good coverage of key concepts");
+        }
+        if (strengths.isEmpty()) {
+            strengths.add("Completed the answer");
+        }
+        
+        return strengths;
+    }
+    
+    public static List<String> weaknesses(int fillerCount, int wpm, double keywordScore) {
+        List<String> weaknesses = new ArrayList<>();
+        
+        if (fillerCount > 5) {
+            weaknesses.add("Too many filler words detected (" + fillerCount + ")");
+        }
+        if (wpm > 180) {
+            weaknesses.add("Speaking too fast (" + wpm + " words/min)");
+        } else if (wpm < 100 && wpm > 0) {
+            weaknesses.add("Speaking too slowly (" + wpm + " words/min)");
+        }
+        if (keywordScore < 50) {
+            weaknesses.add("Missing important keywords in answer");
+        }
+        if (weaknesses.isEmpty()) {
+            weaknesses.add("Keep practicing for improvement");
+        }
+        
+        return weaknesses;
+    }
+    
+    public static List<String> tips(int fillerCount, double keywordScore) {
+        List<String> tips = new ArrayList<>();
+        
+        if (fillerCount > 5) {
+            tips.add("Practice answering without filler words by pausing instead");
+        }
+        if (keywordScore < 50) {
+            tips.add("Review the expected answer and include key concepts");
+        }
+        tips.add("Practice this question multiple times to improve");
+        
+        return tips;
+    }
+}
@@ -0,0 +1,97 @@
+package com.interview.platform.analysis;
+
+import com.interview.platform.model.Question;
+import com.interview.platform.service.QuestionChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled keyword matchers per question, so expected keywords are parsed once
+ * per edit instead of once per answer.
+ *
+ * Entries are keyed by question id and stamped with the question's
+ * {@code updatedAt} and raw keyword text; a stale stamp is recompiled on read,
+ * and QuestionService edits evict the entry eagerly.
+ */
+@Component
+public class KeywordIndexCache {
+
+    @Value("${analysis.keyword-cache.max-entries:20000}")
+    private int maxEntries;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public KeywordSet forQuestion(Question question) {
+        if (question == null) {
+            return KeywordSet.NONE;
+        }
+        return forQuestion(question.getQuestionId(), question.getUpdatedAt(), question.getExpectedKeywords());
+    }
+
+    // For callers that only hold projected columns (e.g. batch re-scoring)
+    public KeywordSet forQuestion(Long questionId, LocalDateTime updatedAt, String expectedKeywords) {
+        if (questionId == null) {
+            return KeywordSet.parse(expectedKeywords);
+        }
+
+        Entry entry = entries.get(questionId);
+        if (entry != null && entry.matches(updatedAt, expectedKeywords)) {
+            return entry.keywords;
+        }
+
+        Entry fresh = new Entry(updatedAt, expectedKeywords, KeywordSet.parse(expectedKeywords));
+        if (entries.size() >= maxEntries) {
+            evictSome();
+        }
+        entries.put(questionId, fresh);
+        return fresh.keywords;
+    }
+
+    public void invalidate(Long questionId) {
+        if (questionId != null) {
+            entries.remove(questionId);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @EventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        invalidate(event.questionId());
+    }
+
+    // Cheap bound: drop a tenth of the entries; hot questions are recompiled on next use
+    private void evictSome() {
+        int toRemove = Math.max(1, maxEntries / 10);
+        Iterator<Long> it = entries.keySet().iterator();
+        while (it.hasNext() && toRemove-- > 0) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final LocalDateTime stamp;
+        private final String source;
+        private final KeywordSet keywords;
+
+        Entry(LocalDateTime stamp, String source, KeywordSet keywords) {
+            this.stamp = stamp;
+            this.source = source;
+            this.keywords = keywords;
+        }
+
+        boolean matches(LocalDateTime updatedAt, String expectedKeywords) {
+            return Objects.equals(stamp, updatedAt) && Objects.equals(source, expectedKeywords);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.interview.platform.analysis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a question's comma separated {@code expectedKeywords}.
+ *
+ * Keywords keep the existing "substring of the lowercased answer" semantics;
+ * a keyword listed twice counts twice and an empty entry always matches.
+ */
+public final class KeywordSet {
+
+    public static final KeywordSet NONE = new KeywordSet(null, new int[0], 0, 0);
+
+    private final LexiconAutomaton automaton;
+    private final int[] weights;
+    private final int total;
+    private final int alwaysMatched;
+
+    private KeywordSet(LexiconAutomaton automaton, int[] weights, int total, int alwaysMatched) {
+        this.automaton = automaton;
+        this.weights = weights;
+        this.total = total;
+        this.alwaysMatched = alwaysMatched;
+    }
+
+    public static KeywordSet parse(String expectedKeywords) {
+        if (expectedKeywords == null || expectedKeywords.isEmpty()) {
+            return NONE;
+        }
+
+        String[] parts = expectedKeywords.split(",");
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        int empty = 0;
+        for (String part : parts) {
+            String keyword = lowerCase(part).trim();
+            if (keyword.isEmpty()) {
+                empty++;
+            } else {
+                counts.merge(keyword, 1, Integer::sum);
+            }
+        }
+
+        List<String> patterns = new ArrayList<>(counts.keySet());
+        int[] weights = counts.values().stream().mapToInt(Integer::intValue).toArray();
+        LexiconAutomaton automaton = patterns.isEmpty() ? null : LexiconAutomaton.compile(patterns, false);
+        return new KeywordSet(automaton, weights, parts.length, empty);
+    }
+
+    /** Lowercase char by char, matching how {@link TranscriptScanner} folds the transcript. */
+    static String lowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    LexiconAutomaton getAutomaton() {
+        return automaton;
+    }
+
+    int weightOf(int patternId) {
+        return weights[patternId];
+    }
+
+    int getAlwaysMatched() {
+        return alwaysMatched;
+    }
+}
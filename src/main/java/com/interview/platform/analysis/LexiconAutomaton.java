@@ -0,0 +1,192 @@
+package com.interview.platform.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable multi-pattern matcher (Aho-Corasick) over lowercased characters.
+ *
+ * The goto/failure functions are flattened into a single DFA table indexed by
+ * a compact character class, so matching every pattern at once costs one
+ * table lookup per input character regardless of how many patterns exist.
+ * Instances are safe to share between threads.
+ */
+public final class LexiconAutomaton {
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final boolean wordBounded;
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+
+    // Character classes: 0 = not used by any pattern
+    private final int[] asciiClasses = new int[128];
+    private final char[] otherChars;
+    private final int[] otherClasses;
+    private final int width;
+
+    private final int[] delta;
+    private final int[][] outputs;
+
+    private LexiconAutomaton(List<String> patterns, boolean wordBounded) {
+        this.wordBounded = wordBounded;
+        this.patternLengths = new int[patterns.size()];
+
+        // Assign a class to each distinct character that appears in a pattern
+        TreeSet<Character> alphabet = new TreeSet<>();
+        int maxLength = 0;
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            patternLengths[i] = pattern.length();
+            maxLength = Math.max(maxLength, pattern.length());
+            for (int j = 0; j < pattern.length(); j++) {
+                alphabet.add(pattern.charAt(j));
+            }
+        }
+        this.maxPatternLength = maxLength;
+
+        List<Character> others = new ArrayList<>();
+        int nextClass = 1;
+        int[] otherClassList = new int[alphabet.size()];
+        for (char c : alphabet) {
+            if (c < 128) {
+                asciiClasses[c] = nextClass++;
+            } else {
+                otherClassList[others.size()] = nextClass++;
+                others.add(c);
+            }
+        }
+        this.otherChars = new char[others.size()];
+        for (int i = 0; i < others.size(); i++) {
+            otherChars[i] = others.get(i);
+        }
+        this.otherClasses = Arrays.copyOf(otherClassList, others.size());
+        this.width = nextClass;
+
+        // Build the trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> ownMatches = new ArrayList<>();
+        gotoTable.add(newRow());
+        ownMatches.add(new ArrayList<>());
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            int state = 0;
+            for (int j = 0; j < pattern.length(); j++) {
+                int cls = classOf(pattern.charAt(j));
+                int next = gotoTable.get(state)[cls];
+                if (next < 0) {
+                    next = gotoTable.size();
+                    gotoTable.get(state)[cls] = next;
+                    gotoTable.add(newRow());
+                    ownMatches.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            ownMatches.get(state).add(i);
+        }
+
+        // Breadth-first pass: resolve failure links into direct DFA transitions
+        int states = gotoTable.size();
+        int[] fail = new int[states];
+        this.delta = new int[states * width];
+        this.outputs = new int[states][];
+        outputs[0] = toArray(ownMatches.get(0), NO_MATCHES);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int[] root = gotoTable.get(0);
+        for (int cls = 0; cls < width; cls++) {
+            int next = root[cls];
+            if (next > 0) {
+                fail[next] = 0;
+                delta[cls] = next;
+                queue.add(next);
+            } else {
+                delta[cls] = 0;
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = merge(ownMatches.get(state), outputs[fail[state]]);
+            int[] row = gotoTable.get(state);
+            for (int cls = 0; cls < width; cls++) {
+                int next = row[cls];
+                if (next > 0) {
+                    fail[next] = delta[fail[state] * width + cls];
+                    delta[state * width + cls] = next;
+                    queue.add(next);
+                } else {
+                    delta[state * width + cls] = delta[fail[state] * width + cls];
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile lowercased, non-empty patterns. When {@code wordBounded} is set a
+     * match only counts if it is not preceded or followed by a word character
+     * (the same rule as a {@code \bpattern\b} regex).
+     */
+    public static LexiconAutomaton compile(List<String> patterns, boolean wordBounded) {
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("Lexicon patterns must be non-empty");
+            }
+        }
+        return new LexiconAutomaton(patterns, wordBounded);
+    }
+
+    public int step(int state, char lowerChar) {
+        return delta[state * width + classOf(lowerChar)];
+    }
+
+    /** Pattern ids that end at the given state (shared array, do not modify). */
+    public int[] matchesAt(int state) {
+        return outputs[state];
+    }
+
+    public int patternLength(int patternId) {
+        return patternLengths[patternId];
+    }
+
+    public int patternCount() {
+        return patternLengths.length;
+    }
+
+    public int maxPatternLength() {
+        return maxPatternLength;
+    }
+
+    public boolean isWordBounded() {
+        return wordBounded;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        int idx = Arrays.binarySearch(otherChars, c);
+        return idx >= 0 ? otherClasses[idx] : 0;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] toArray(List<Integer> ids, int[] empty) {
+        if (ids.isEmpty()) return empty;
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] merge(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) return inherited;
+        int[] merged = Arrays.copyOf(toArray(own, NO_MATCHES), own.size() + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+        return merged;
+    }
+}
@@ -0,0 +1,75 @@
+package com.interview.platform.analysis;
+
+import java.util.List;
+
+/**
+ * Every value AnalysisService stores for an answer, computed by
+ * {@link AnswerScoring#score}.
+ */
+public final class ScoreCard {
+
+    private final int fillerCount;
+    private final int wordsPerMinute;
+    private final double contentScore;
+    private final double communicationScore;
+    private final double confidenceScore;
+    private final double overallScore;
+    private final List<String> strengths;
+    private final List<String> weaknesses;
+    private final List<String> tips;
+
+    ScoreCard(int fillerCount, int wordsPerMinute, double contentScore, double communicationScore,
+              double confidenceScore, double overallScore,
+              List<String> strengths, List<String> weaknesses, List<String> tips) {
+        this.fillerCount = fillerCount;
+        this.wordsPerMinute = wordsPerMinute;
+        this.contentScore = contentScore;
+        this.communicationScore = communicationScore;
+        this.confidenceScore = confidenceScore;
+        this.overallScore = overallScore;
+        this.strengths = strengths;
+        this.weaknesses = weaknesses;
+        this.tips = tips;
+    }
+
+    public int getFillerCount() {
+        return fillerCount;
+    }
+
+    public int getWordsPerMinute() {
+        return wordsPerMinute;
+    }
+
+    public double getContentScore() {
+        return contentScore;
+    }
+
+    /** Content score is the keyword score, stored as a percentage. */
+    public double getKeywordMatchPercentage() {
+        return contentScore * 10;
+    }
+
+    public double getCommunicationScore() {
+        return communicationScore;
+    }
+
+    public double getConfidenceScore() {
+        return confidenceScore;
+    }
+
+    public double getOverallScore() {
+        return overallScore;
+    }
+
+    public List<String> getStrengths() {
+        return strengths;
+    }
+
+    public List<String> getWeaknesses() {
+        return weaknesses;
+    }
+
+    public List<String> getTips() {
+        return tips;
+    }
+}
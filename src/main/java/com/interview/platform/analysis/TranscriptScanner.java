@@ -0,0 +1,150 @@
+package com.interview.platform.analysis;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Single-pass lexical scanner for answer transcripts.
+ *
+ * Filler words, word count and keyword hits are all produced while walking the
+ * transcript once, using precompiled automata instead of one regex/contains
+ * scan per lexicon entry. The scanner itself is stateless; per-transcript state
+ * lives in a {@link Cursor}, which can also be fed a transcript in pieces.
+ */
+@Component
+public class TranscriptScanner {
+
+    public static final List<String> DEFAULT_FILLERS = List.of(
+            "um", "uh", "like", "you know", "basically", "actually",
+            "sort of", "kind of", "literally");
+
+    private final LexiconAutomaton fillers;
+
+    public TranscriptScanner() {
+        this(DEFAULT_FILLERS);
+    }
+
+    public TranscriptScanner(List<String> fillerWords) {
+        this.fillers = LexiconAutomaton.compile(fillerWords, true);
+    }
+
+    public TranscriptStats scan(CharSequence text, KeywordSet keywords) {
+        Cursor cursor = open(keywords);
+        if (text != null) {
+            cursor.feed(text);
+        }
+        return cursor.finish();
+    }
+
+    public Cursor open(KeywordSet keywords) {
+        return new Cursor(fillers, keywords != null ? keywords : KeywordSet.NONE);
+    }
+
+    // Same definition of "word character" as java.util.regex \b
+    static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    // Same set as the regex \s used to split words
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Incremental scan state for one transcript. Not thread-safe.
+     */
+    public static final class Cursor {
+
+        private final LexiconAutomaton fillers;
+        private final LexiconAutomaton keywords;
+        private final KeywordSet keywordSet;
+
+        // Ring buffer of recent characters, for the left word-boundary check
+        private final char[] history;
+        private long position;
+
+        private int fillerState;
+        private int keywordState;
+        private boolean inWord;
+
+        private int wordCount;
+        private int fillerCount;
+        // Fillers ending at the previous character, waiting on the right boundary
+        private int pendingFillers;
+
+        private final boolean[] keywordHit;
+        private int keywordMatches;
+
+        private Cursor(LexiconAutomaton fillers, KeywordSet keywordSet) {
+            this.fillers = fillers;
+            this.keywordSet = keywordSet;
+            this.keywords = keywordSet.getAutomaton();
+            this.history = new char[fillers.maxPatternLength() + 1];
+            this.keywordHit = new boolean[keywords != null ? keywords.patternCount() : 0];
+            this.keywordMatches = keywordSet.getAlwaysMatched();
+        }
+
+        public Cursor feed(CharSequence chunk) {
+            for (int i = 0, n = chunk.length(); i < n; i++) {
+                accept(Character.toLowerCase(chunk.charAt(i)));
+            }
+            return this;
+        }
+
+        private void accept(char c) {
+            boolean word = isWordChar(c);
+            if (pendingFillers > 0) {
+                if (!word) {
+                    fillerCount += pendingFillers;
+                }
+                pendingFillers = 0;
+            }
+
+            boolean space = isSpace(c);
+            if (!space && !inWord) {
+                wordCount++;
+            }
+            inWord = !space;
+
+            history[(int) (position % history.length)] = c;
+
+            fillerState = fillers.step(fillerState, c);
+            for (int id : fillers.matchesAt(fillerState)) {
+                long before = position - fillers.patternLength(id);
+                if (before < 0 || !isWordChar(history[(int) (before % history.length)])) {
+                    pendingFillers++;
+                }
+            }
+
+            if (keywords != null) {
+                keywordState = keywords.step(keywordState, c);
+                for (int id : keywords.matchesAt(keywordState)) {
+                    if (!keywordHit[id]) {
+                        keywordHit[id] = true;
+                        keywordMatches += keywordSet.weightOf(id);
+                    }
+                }
+            }
+
+            position++;
+        }
+
+        /** Counts so far, treating the text fed until now as the complete transcript. */
+        public TranscriptStats snapshot() {
+            return new TranscriptStats(wordCount, fillerCount + pendingFillers,
+                    keywordMatches, keywordSet.getTotal());
+        }
+
+        /** End of transcript: fillers at the very end satisfy the right boundary. */
+        public TranscriptStats finish() {
+            fillerCount += pendingFillers;
+            pendingFillers = 0;
+            return snapshot();
+        }
+
+        public long length() {
+            return position;
+        }
+    }
+}
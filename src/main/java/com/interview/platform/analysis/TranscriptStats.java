@@ -0,0 +1,41 @@
+package com.interview.platform.analysis;
+
+/**
+ * Lexical counts gathered from one pass over a transcript.
+ */
+public final class TranscriptStats {
+
+    private final int wordCount;
+    private final int fillerCount;
+    private final int keywordMatches;
+    private final int keywordTotal;
+
+    public TranscriptStats(int wordCount, int fillerCount, int keywordMatches, int keywordTotal) {
+        this.wordCount = wordCount;
+        this.fillerCount = fillerCount;
+        this.keywordMatches = keywordMatches;
+        this.keywordTotal = keywordTotal;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getFillerCount() {
+        return fillerCount;
+    }
+
+    public int getKeywordMatches() {
+        return keywordMatches;
+    }
+
+    public int getKeywordTotal() {
+        return keywordTotal;
+    }
+
+    /** Share of expected keywords found, on a 0-10 scale (5.0 when the question has none). */
+    public double keywordScore() {
+        if (keywordTotal == 0) return 5.0;
+        return ((double) keywordMatches / keywordTotal) * 10.0;
+    }
+}
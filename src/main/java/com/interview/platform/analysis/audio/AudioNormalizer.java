@@ -0,0 +1,284 @@
+package com.interview.platform.analysis.audio;
+
+import org.apache.tika.Tika;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+/**
+ * Shrinks WAV uploads before they are stored and sent for transcription:
+ * channels are downmixed to mono, the rate is brought down to at most
+ * {@code audio.normalize.sample-rate} as 16-bit PCM, and leading/trailing
+ * silence is trimmed. Input and output go through fixed buffers, so memory
+ * does not grow with the recording.
+ *
+ * Other formats (WebM/Ogg from MediaRecorder) have no pure-Java decoder here
+ * and are passed through unchanged.
+ */
+@Component
+public class AudioNormalizer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FRAME_MILLIS = 20;
+    private static final int HEADER_SIZE = 44;
+    private static final Set<String> WAV_TYPES = Set.of("audio/vnd.wave", "audio/wav", "audio/x-wav", "audio/wave");
+
+    @Value("${audio.normalize.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${audio.normalize.sample-rate:16000}")
+    private int targetRate = 16000;
+
+    @Value("${audio.normalize.silence-threshold-db:-45}")
+    private double silenceThresholdDb = -45;
+
+    // Kept either side of the speech so word onsets and tails are not clipped
+    @Value("${audio.normalize.padding-ms:200}")
+    private int paddingMillis = 200;
+
+    private final Tika tika = new Tika();
+
+    /**
+     * Normalize an upload of {@code size} bytes into a temporary WAV. Returns
+     * null, having read at most the header, when normalization is disabled or
+     * the upload is not decodable WAV; also null when the result would not be
+     * smaller or contains no speech. The caller then uses the original bytes.
+     */
+    public NormalizedAudio normalize(InputStream upload, long size) throws IOException {
+        if (!enabled) {
+            return null;
+        }
+        InputStream in = new BufferedInputStream(upload, BUFFER_SIZE);
+        String type = tika.detect(in);
+        if (!WAV_TYPES.contains(type)) {
+            System.out.println("ℹ️ " + type + " upload stored as recorded");
+            return null;
+        }
+        WavHeader header = WavHeader.read(in, size);
+        if (header == null) {
+            return null;
+        }
+
+        Path out = Files.createTempFile("normalized-", ".wav");
+        NormalizedAudio result;
+        try {
+            result = convert(in, header, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(out);
+            throw e;
+        }
+        if (result == null || result.size() >= size) {
+            Files.deleteIfExists(out);
+            return null;
+        }
+        System.out.println("🎚️ Normalized WAV " + size / 1024 + " KB → " + result.size() / 1024 + " KB, "
+                + result.originalDurationMillis() + " ms → " + result.durationMillis() + " ms");
+        return result;
+    }
+
+    /**
+     * Duration of a WAV file from its header, or null for other formats.
+     */
+    public Long probeDurationMillis(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WavHeader header = WavHeader.read(channel);
+            return header != null ? header.getDurationMillis() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private NormalizedAudio convert(InputStream in, WavHeader header, Path out) throws IOException {
+        int channels = header.getChannels();
+        int blockAlign = header.getBlockAlign();
+        int outRate = Math.min(header.getSampleRate(), targetRate);
+
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.WRITE)) {
+            SilenceTrimmer trimmer = new SilenceTrimmer(channel, outRate);
+            Downsampler downsampler = new Downsampler((double) header.getSampleRate() / outRate, trimmer);
+
+            byte[] bytes = new byte[BUFFER_SIZE - BUFFER_SIZE % blockAlign];
+            ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            long remaining = header.getDataLength() - header.getDataLength() % blockAlign;
+            int carry = 0;
+
+            while (remaining > 0) {
+                int read = in.read(bytes, carry, (int) Math.min(bytes.length - carry, remaining));
+                if (read < 0) break;
+                remaining -= read;
+
+                int filled = carry + read;
+                int usable = filled - filled % blockAlign;
+                buf.clear().limit(usable);
+                while (buf.hasRemaining()) {
+                    double sum = 0;
+                    for (int c = 0; c < channels; c++) {
+                        sum += header.readSample(buf);
+                    }
+                    downsampler.add(sum / channels);
+                }
+                // A partial sample frame waits for the next read
+                carry = filled - usable;
+                System.arraycopy(bytes, usable, bytes, 0, carry);
+            }
+
+            long dataBytes = trimmer.finish();
+            if (dataBytes < 0) {
+                return null;
+            }
+            channel.truncate(HEADER_SIZE + dataBytes);
+            ByteBuffer wav = WavHeader.pcm16Header(1, outRate, dataBytes);
+            while (wav.hasRemaining()) {
+                channel.write(wav, wav.position());
+            }
+            return new NormalizedAudio(out, HEADER_SIZE + dataBytes, dataBytes / 2 * 1000 / outRate,
+                    header.getDurationMillis());
+        }
+    }
+
+    /**
+     * Area-averaging rate converter: each output sample is the mean of the
+     * input samples it covers. The box average acts as the anti-aliasing
+     * filter, which is plenty for speech going to a recognizer.
+     */
+    private static final class Downsampler {
+        private final double step;
+        private final SilenceTrimmer sink;
+        private double boundary;
+        private long index;
+        private double sum;
+        private int count;
+
+        Downsampler(double step, SilenceTrimmer sink) {
+            this.step = step;
+            this.sink = sink;
+            this.boundary = step;
+        }
+
+        void add(double sample) throws IOException {
+            sum += sample;
+            count++;
+            if (++index >= boundary) {
+                sink.add(sum / count);
+                boundary += step;
+                sum = 0;
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * Writes 16-bit samples after the header slot, dropping frames before the
+     * first loud one and remembering where the last loud one ended so the
+     * silent tail can be cut off by truncating the file.
+     */
+    private final class SilenceTrimmer {
+        private final FileChannel channel;
+        private final short[] frame;
+        private final short[] lead;
+        private final int padBytes;
+        private final double threshold;
+        private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private int frameFill;
+        private int leadFill;
+        private boolean voiced;
+        private long written;
+        private long flushed;
+        private long lastVoicedEnd;
+
+        SilenceTrimmer(FileChannel channel, int rate) {
+            this.channel = channel;
+            this.frame = new short[Math.max(1, rate * FRAME_MILLIS / 1000)];
+            int padSamples = (int) ((long) rate * paddingMillis / 1000);
+            this.lead = new short[padSamples];
+            this.padBytes = padSamples * 2;
+            // Mean square of a full-scale-normalized frame at the dBFS threshold
+            this.threshold = Math.pow(10, silenceThresholdDb / 10);
+        }
+
+        void add(double sample) throws IOException {
+            double clamped = Math.max(-1.0, Math.min(1.0, sample));
+            frame[frameFill++] = (short) Math.round(clamped * 32767);
+            if (frameFill == frame.length) {
+                endFrame();
+            }
+        }
+
+        /**
+         * Flush and return the number of sample bytes to keep, or -1 when the
+         * recording never rose above the silence threshold.
+         */
+        long finish() throws IOException {
+            if (frameFill > 0) {
+                endFrame();
+            }
+            flush();
+            return voiced ? Math.min(written, lastVoicedEnd + padBytes) : -1;
+        }
+
+        private void endFrame() throws IOException {
+            double energy = 0;
+            for (int i = 0; i < frameFill; i++) {
+                double s = frame[i] / 32768.0;
+                energy += s * s;
+            }
+            boolean loud = energy / frameFill >= threshold;
+
+            if (!voiced) {
+                if (!loud) {
+                    keepLead();
+                    frameFill = 0;
+                    return;
+                }
+                voiced = true;
+                write(lead, leadFill);
+            }
+            write(frame, frameFill);
+            if (loud) {
+                lastVoicedEnd = written;
+            }
+            frameFill = 0;
+        }
+
+        // Slide the most recent silent samples into the lead-in window
+        private void keepLead() {
+            if (lead.length == 0) return;
+            if (frameFill >= lead.length) {
+                System.arraycopy(frame, frameFill - lead.length, lead, 0, lead.length);
+                leadFill = lead.length;
+                return;
+            }
+            int keep = Math.min(leadFill, lead.length - frameFill);
+            System.arraycopy(lead, leadFill - keep, lead, 0, keep);
+            System.arraycopy(frame, 0, lead, keep, frameFill);
+            leadFill = keep + frameFill;
+        }
+
+        private void write(short[] samples, int length) throws IOException {
+            for (int i = 0; i < length; i++) {
+                if (!out.hasRemaining()) flush();
+                out.putShort(samples[i]);
+            }
+            written += length * 2L;
+        }
+
+        private void flush() throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                flushed += channel.write(out, HEADER_SIZE + flushed);
+            }
+            out.clear();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.interview.platform.analysis.audio;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Temporary 16-bit mono WAV produced by {@link AudioNormalizer}. Closing it
+ * deletes the file.
+ */
+public record NormalizedAudio(Path file, long size, long durationMillis, long originalDurationMillis)
+        implements AutoCloseable {
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,223 @@
+package com.interview.platform.analysis.audio;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Frame-energy pause detector for WAV recordings.
+ *
+ * The file is streamed through a fixed per-thread buffer, so memory stays
+ * constant however large the upload is. Samples are downmixed to mono and
+ * grouped into short frames; a frame is speech when its energy is above a
+ * threshold that follows the recording's noise floor. Speaking rate is
+ * estimated from energy peaks (a rough syllable count) per window.
+ */
+@Component
+public class PauseDetector {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(
+            () -> ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+
+    private static final int FRAME_MILLIS = 20;
+    private static final int RATE_WINDOW_FRAMES = 100;      // 2 seconds
+    private static final double PEAK_HYSTERESIS_DB = 3.0;
+    private static final double MIN_THRESHOLD_DB = -55.0;
+    private static final double MAX_THRESHOLD_DB = -25.0;
+    private static final double FLOOR_RISE = 0.0005;
+
+    private final int minPauseMillis;
+    private final double marginDb;
+
+    public PauseDetector() {
+        this(400, 12.0);
+    }
+
+    public PauseDetector(int minPauseMillis, double marginDb) {
+        this.minPauseMillis = minPauseMillis;
+        this.marginDb = marginDb;
+    }
+
+    /**
+     * Analyse a WAV file. Returns null when the file is not PCM/float WAV.
+     */
+    public PauseStats analyze(Path wavFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(wavFile, StandardOpenOption.READ)) {
+            WavHeader header = WavHeader.read(channel);
+            if (header == null) {
+                return null;
+            }
+            return analyze(channel, header);
+        }
+    }
+
+    PauseStats analyze(FileChannel channel, WavHeader header) throws IOException {
+        int channels = header.getChannels();
+        int blockAlign = header.getBlockAlign();
+        int samplesPerFrame = Math.max(1, header.getSampleRate() * FRAME_MILLIS / 1000);
+        boolean pcm16 = header.getFormat() == WavHeader.FORMAT_PCM && header.getBitsPerSample() == 16;
+
+        FrameTracker tracker = new FrameTracker(FRAME_MILLIS, minPauseMillis / FRAME_MILLIS, marginDb);
+        ByteBuffer buf = BUFFERS.get();
+        buf.clear();
+
+        long position = header.getDataOffset();
+        long remaining = header.getDataLength() - header.getDataLength() % blockAlign;
+        double frameEnergy = 0;
+        int frameFill = 0;
+
+        while (remaining > 0) {
+            if (buf.remaining() > remaining) {
+                buf.limit(buf.position() + (int) remaining);
+            }
+            int read = channel.read(buf, position);
+            if (read < 0) break;
+            position += read;
+            remaining -= read;
+            buf.flip();
+
+            while (buf.remaining() >= blockAlign) {
+                double mono = 0;
+                if (pcm16) {
+                    for (int c = 0; c < channels; c++) mono += buf.getShort();
+                    mono /= 32768.0 * channels;
+                } else {
+                    for (int c = 0; c < channels; c++) mono += header.readSample(buf);
+                    mono /= channels;
+                }
+                frameEnergy += mono * mono;
+                if (++frameFill == samplesPerFrame) {
+                    tracker.frame(frameEnergy / samplesPerFrame);
+                    frameEnergy = 0;
+                    frameFill = 0;
+                }
+            }
+            buf.compact();
+        }
+        if (frameFill > 0) {
+            tracker.frame(frameEnergy / frameFill);
+        }
+        return tracker.result(header.getDurationMillis());
+    }
+
+    /**
+     * Per-frame state machine: speech/silence runs, noise floor and peak
+     * picking. Fed one mean-square energy value per frame.
+     */
+    private static final class FrameTracker {
+
+        private final int frameMillis;
+        private final int minPauseFrames;
+        private final double marginDb;
+
+        private double floorDb = Double.NaN;
+        private long speechFrames;
+        private long silentFrames;
+        private boolean seenSpeech;
+        private int silentRun;
+        private int pauseCount;
+        private int longestPause;
+
+        // Peak picking with hysteresis on the dB envelope
+        private boolean rising = true;
+        private double peakDb = Double.NEGATIVE_INFINITY;
+        private double valleyDb = Double.POSITIVE_INFINITY;
+
+        // Current rate window and Welford accumulators across windows
+        private int windowFrames;
+        private int windowSpeech;
+        private int windowPeaks;
+        private int rateWindows;
+        private double rateMean;
+        private double rateM2;
+
+        FrameTracker(int frameMillis, int minPauseFrames, double marginDb) {
+            this.frameMillis = frameMillis;
+            this.minPauseFrames = Math.max(1, minPauseFrames);
+            this.marginDb = marginDb;
+        }
+
+        void frame(double meanSquare) {
+            double db = 10.0 * Math.log10(meanSquare + 1e-12);
+
+            // Floor drops immediately and rises slowly, so speech barely moves it
+            if (Double.isNaN(floorDb) || db < floorDb) {
+                floorDb = db;
+            } else {
+                floorDb += (db - floorDb) * FLOOR_RISE;
+            }
+            double threshold = Math.min(MAX_THRESHOLD_DB, Math.max(MIN_THRESHOLD_DB, floorDb + marginDb));
+            boolean speech = db >= threshold;
+
+            if (speech) {
+                speechFrames++;
+                if (seenSpeech && silentRun >= minPauseFrames) {
+                    pauseCount++;
+                    longestPause = Math.max(longestPause, silentRun);
+                }
+                seenSpeech = true;
+                silentRun = 0;
+                windowSpeech++;
+            } else {
+                silentFrames++;
+                silentRun++;
+            }
+
+            if (rising) {
+                if (db > peakDb) {
+                    peakDb = db;
+                } else if (db < peakDb - PEAK_HYSTERESIS_DB) {
+                    if (peakDb >= threshold) windowPeaks++;
+                    rising = false;
+                    valleyDb = db;
+                }
+            } else {
+                if (db < valleyDb) {
+                    valleyDb = db;
+                } else if (db > valleyDb + PEAK_HYSTERESIS_DB) {
+                    rising = true;
+                    peakDb = db;
+                }
+            }
+
+            if (++windowFrames == RATE_WINDOW_FRAMES) {
+                closeWindow();
+            }
+        }
+
+        // Windows that are mostly silence say nothing about speaking rate
+        private void closeWindow() {
+            if (windowSpeech * 2 >= windowFrames) {
+                double rate = windowPeaks / (windowSpeech * frameMillis / 1000.0);
+                rateWindows++;
+                double delta = rate - rateMean;
+                rateMean += delta / rateWindows;
+                rateM2 += delta * (rate - rateMean);
+            }
+            windowFrames = 0;
+            windowSpeech = 0;
+            windowPeaks = 0;
+        }
+
+        PauseStats result(long durationMillis) {
+            if (windowFrames > 0) {
+                closeWindow();
+            }
+            double variance = rateWindows > 1 ? rateM2 / (rateWindows - 1) : 0.0;
+            return new PauseStats(
+                    durationMillis,
+                    speechFrames * frameMillis,
+                    silentFrames * frameMillis,
+                    pauseCount,
+                    (long) longestPause * frameMillis,
+                    rateMean,
+                    variance);
+        }
+    }
+}
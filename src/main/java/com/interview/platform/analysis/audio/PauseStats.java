@@ -0,0 +1,59 @@
+package com.interview.platform.analysis.audio;
+
+/**
+ * Pause and rhythm features extracted from one recording.
+ */
+public final class PauseStats {
+
+    private final long durationMillis;
+    private final long speechMillis;
+    private final long totalSilenceMillis;
+    private final int pauseCount;
+    private final long longestPauseMillis;
+    private final double speakingRateMean;
+    private final double speakingRateVariance;
+
+    public PauseStats(long durationMillis, long speechMillis, long totalSilenceMillis, int pauseCount,
+                      long longestPauseMillis, double speakingRateMean, double speakingRateVariance) {
+        this.durationMillis = durationMillis;
+        this.speechMillis = speechMillis;
+        this.totalSilenceMillis = totalSilenceMillis;
+        this.pauseCount = pauseCount;
+        this.longestPauseMillis = longestPauseMillis;
+        this.speakingRateMean = speakingRateMean;
+        this.speakingRateVariance = speakingRateVariance;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /** Time spent above the silence threshold. */
+    public long getSpeechMillis() {
+        return speechMillis;
+    }
+
+    /** All time below the silence threshold, including leading and trailing silence. */
+    public long getTotalSilenceMillis() {
+        return totalSilenceMillis;
+    }
+
+    /** Silent gaps of at least the minimum pause length between two stretches of speech. */
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    public long getLongestPauseMillis() {
+        return longestPauseMillis;
+    }
+
+    /** Mean energy peaks (roughly syllables) per second of speech. */
+    public double getSpeakingRateMean() {
+        return speakingRateMean;
+    }
+
+    /** Variance of the speaking rate across windows; high values mean uneven delivery. */
+    public double getSpeakingRateVariance() {
+        return speakingRateVariance;
+    }
+}
@@ -0,0 +1,208 @@
+package com.interview.platform.analysis.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RIFF/WAVE header fields needed to stream PCM samples out of a file.
+ */
+public final class WavHeader {
+
+    public static final int FORMAT_PCM = 1;
+    public static final int FORMAT_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private final int format;
+    private final int channels;
+    private final int sampleRate;
+    private final int bitsPerSample;
+    private final int blockAlign;
+    private final long dataOffset;
+    private final long dataLength;
+
+    public WavHeader(int format, int channels, int sampleRate, int bitsPerSample, long dataOffset, long dataLength) {
+        this.format = format;
+        this.channels = channels;
+        this.sampleRate = sampleRate;
+        this.bitsPerSample = bitsPerSample;
+        this.blockAlign = channels * (bitsPerSample / 8);
+        this.dataOffset = dataOffset;
+        this.dataLength = dataLength;
+    }
+
+    /**
+     * Parse the header at the start of {@code channel}. Returns null when the
+     * file is not a WAV we can decode (e.g. WebM/Ogg from browser recorders).
+     * The channel position is left unspecified.
+     */
+    public static WavHeader read(FileChannel channel) throws IOException {
+        return parse((buf, position, length) -> readFully(channel, buf, position, length), channel.size());
+    }
+
+    /**
+     * Parse the header from the start of {@code in}, which holds
+     * {@code streamSize} bytes. On success the stream is left at the first
+     * sample; returns null when it is not a WAV we can decode.
+     */
+    public static WavHeader read(InputStream in, long streamSize) throws IOException {
+        long[] consumed = {0};
+        return parse((buf, position, length) -> {
+            // Chunks are visited front to back, so skipping forward is enough
+            long skip = position - consumed[0];
+            if (skip < 0) return false;
+            try {
+                in.skipNBytes(skip);
+            } catch (EOFException e) {
+                return false;
+            }
+            consumed[0] = position;
+            byte[] bytes = in.readNBytes(length);
+            consumed[0] += bytes.length;
+            if (bytes.length < length) return false;
+            buf.clear();
+            buf.put(bytes).flip();
+            return true;
+        }, streamSize);
+    }
+
+    private static WavHeader parse(Source source, long fileSize) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (!source.read(buf, 0, 12)) return null;
+        if (!"RIFF".equals(fourCC(buf, 0)) || !"WAVE".equals(fourCC(buf, 8))) return null;
+
+        int format = -1, channels = 0, sampleRate = 0, bits = 0;
+        long pos = 12;
+        // A handful of chunks (fmt, LIST, fact, ...) precede the data
+        for (int i = 0; i < 32 && pos + 8 <= fileSize; i++) {
+            if (!source.read(buf, pos, 8)) return null;
+            String id = fourCC(buf, 0);
+            long size = buf.getInt(4) & 0xFFFFFFFFL;
+            long body = pos + 8;
+
+            if ("fmt ".equals(id)) {
+                if (size < 16 || !source.read(buf, body, 16)) return null;
+                format = buf.getShort(0) & 0xFFFF;
+                channels = buf.getShort(2) & 0xFFFF;
+                sampleRate = buf.getInt(4);
+                bits = buf.getShort(14) & 0xFFFF;
+                if (format == FORMAT_EXTENSIBLE && size >= 40 && source.read(buf, body + 24, 2)) {
+                    format = buf.getShort(0) & 0xFFFF; // first two bytes of the sub-format GUID
+                }
+            } else if ("data".equals(id)) {
+                if (format < 0) return null;
+                // Streamed recordings often leave the size as 0 or 0xFFFFFFFF
+                long available = fileSize - body;
+                long length = (size == 0 || size == 0xFFFFFFFFL || size > available) ? available : size;
+                WavHeader header = new WavHeader(format, channels, sampleRate, bits, body, length);
+                return header.isDecodable() ? header : null;
+            }
+            pos = body + size + (size & 1);
+        }
+        return null;
+    }
+
+    public boolean isDecodable() {
+        if (channels <= 0 || sampleRate <= 0) return false;
+        if (format == FORMAT_PCM) {
+            return bitsPerSample == 8 || bitsPerSample == 16 || bitsPerSample == 24 || bitsPerSample == 32;
+        }
+        return format == FORMAT_FLOAT && bitsPerSample == 32;
+    }
+
+    /**
+     * Decode the sample starting at the buffer's position (little endian) to
+     * [-1, 1] and advance the position.
+     */
+    public double readSample(ByteBuffer buf) {
+        if (format == FORMAT_FLOAT) {
+            return buf.getFloat();
+        }
+        switch (bitsPerSample) {
+            case 8:
+                return ((buf.get() & 0xFF) - 128) / 128.0;
+            case 16:
+                return buf.getShort() / 32768.0;
+            case 24: {
+                int b0 = buf.get() & 0xFF, b1 = buf.get() & 0xFF, b2 = buf.get();
+                return ((b2 << 16) | (b1 << 8) | b0) / 8388608.0;
+            }
+            default:
+                return buf.getInt() / 2147483648.0;
+        }
+    }
+
+    public long getDurationMillis() {
+        long frames = dataLength / blockAlign;
+        return frames * 1000L / sampleRate;
+    }
+
+    public int getFormat() {
+        return format;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getBitsPerSample() {
+        return bitsPerSample;
+    }
+
+    public int getBlockAlign() {
+        return blockAlign;
+    }
+
+    public long getDataOffset() {
+        return dataOffset;
+    }
+
+    public long getDataLength() {
+        return dataLength;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buf, long position, int length) throws IOException {
+        buf.clear().limit(length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) return false;
+        }
+        buf.flip();
+        return true;
+    }
+
+    /**
+     * Canonical 44-byte header for 16-bit PCM; {@code dataLength} is the size
+     * of the sample data that follows.
+     */
+    public static ByteBuffer pcm16Header(int channels, int sampleRate, long dataLength) {
+        ByteBuffer buf = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        int blockAlign = channels * 2;
+        buf.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt((int) (36 + dataLength));
+        buf.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        buf.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+        buf.putShort((short) FORMAT_PCM).putShort((short) channels).putInt(sampleRate)
+                .putInt(sampleRate * blockAlign).putShort((short) blockAlign).putShort((short) 16);
+        buf.put("data".getBytes(StandardCharsets.US_ASCII)).putInt((int) dataLength);
+        return buf.flip();
+    }
+
+    // Positional read of exactly length bytes into buf (flipped), false at end of input
+    private interface Source {
+        boolean read(ByteBuffer buf, long position, int length) throws IOException;
+    }
+
+    private static String fourCC(ByteBuffer buf, int offset) {
+        byte[] id = new byte[4];
+        for (int i = 0; i < 4; i++) id[i] = buf.get(offset + i);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+}
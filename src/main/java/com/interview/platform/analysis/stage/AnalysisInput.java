@@ -0,0 +1,75 @@
+package com.interview.platform.analysis.stage;
+
+import com.interview.platform.analysis.TranscriptStats;
+
+import java.time.LocalDateTime;
+
+/**
+ * Plain snapshot of an answer, safe to hand to stages on other threads.
+ */
+public final class AnalysisInput {
+
+    private final Long answerId;
+    private final String transcription;
+    private final int durationSeconds;
+    private final Long questionId;
+    private final LocalDateTime questionUpdatedAt;
+    private final String expectedKeywords;
+    private final String audioPath;
+    private final TranscriptStats precomputedStats;
+
+    public AnalysisInput(Long answerId, String transcription, int durationSeconds, Long questionId,
+                         LocalDateTime questionUpdatedAt, String expectedKeywords, String audioPath) {
+        this(answerId, transcription, durationSeconds, questionId, questionUpdatedAt, expectedKeywords,
+                audioPath, null);
+    }
+
+    /**
+     * @param precomputedStats lexical counts already accumulated while the
+     *                         transcript streamed in (live answers), or null
+     */
+    public AnalysisInput(Long answerId, String transcription, int durationSeconds, Long questionId,
+                         LocalDateTime questionUpdatedAt, String expectedKeywords, String audioPath,
+                         TranscriptStats precomputedStats) {
+        this.answerId = answerId;
+        this.transcription = transcription;
+        this.durationSeconds = durationSeconds;
+        this.questionId = questionId;
+        this.questionUpdatedAt = questionUpdatedAt;
+        this.expectedKeywords = expectedKeywords;
+        this.audioPath = audioPath;
+        this.precomputedStats = precomputedStats;
+    }
+
+    public Long getAnswerId() {
+        return answerId;
+    }
+
+    public String getTranscription() {
+        return transcription;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public LocalDateTime getQuestionUpdatedAt() {
+        return questionUpdatedAt;
+    }
+
+    public String getExpectedKeywords() {
+        return expectedKeywords;
+    }
+
+    public String getAudioPath() {
+        return audioPath;
+    }
+
+    public TranscriptStats getPrecomputedStats() {
+        return precomputedStats;
+    }
+}
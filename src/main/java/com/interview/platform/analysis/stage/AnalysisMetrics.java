@@ -0,0 +1,39 @@
+package com.interview.platform.analysis.stage;
+
+import com.interview.platform.analysis.AnswerScoring;
+import com.interview.platform.analysis.TranscriptStats;
+
+/**
+ * Merged output of all stages for one answer. Only touched by the thread
+ * running the pipeline, after every stage has completed.
+ */
+public class AnalysisMetrics {
+
+    private TranscriptStats transcriptStats = new TranscriptStats(0, 0, 0, 0);
+    private double confidenceScore = AnswerScoring.DEFAULT_CONFIDENCE;
+    private int pauseCount;
+
+    public TranscriptStats getTranscriptStats() {
+        return transcriptStats;
+    }
+
+    public void setTranscriptStats(TranscriptStats transcriptStats) {
+        this.transcriptStats = transcriptStats;
+    }
+
+    public double getConfidenceScore() {
+        return confidenceScore;
+    }
+
+    public void setConfidenceScore(double confidenceScore) {
+        this.confidenceScore = confidenceScore;
+    }
+
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    public void setPauseCount(int pauseCount) {
+        this.pauseCount = pauseCount;
+    }
+}
@@ -0,0 +1,153 @@
+package com.interview.platform.analysis.stage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs every {@link AnalyzerStage} for an answer and merges their results.
+ *
+ * The first stage runs on the calling thread while the others run on the
+ * shared {@code analysisStageExecutor}, so wall time tracks the slowest stage
+ * rather than the sum. Each stage is timed into the
+ * {@code analysis.stage.duration} histogram, tagged by stage and outcome.
+ * A stage still running at the timeout is interrupted, so a stage that
+ * blocks should respond to interruption to give its thread back.
+ */
+@Component
+public class AnalysisPipeline {
+
+    private static final String STAGE_TIMER = "analysis.stage.duration";
+    private static final String PIPELINE_TIMER = "analysis.pipeline.duration";
+
+    @Autowired
+    private List<AnalyzerStage> stages;
+
+    @Autowired
+    @Qualifier("analysisStageExecutor")
+    private ThreadPoolTaskExecutor stageExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${analysis.stages.timeout-ms:30000}")
+    private long stageTimeoutMs;
+
+    public AnalysisMetrics run(AnalysisInput input) {
+        long started = System.nanoTime();
+
+        // Plain FutureTasks rather than CompletableFutures: cancelling one interrupts its worker
+        List<Future<StageResult>> pending = new ArrayList<>();
+        for (int i = 1; i < stages.size(); i++) {
+            AnalyzerStage stage = stages.get(i);
+            pending.add(stageExecutor.submit(() -> timed(stage, input)));
+        }
+
+        List<StageResult> results = new ArrayList<>();
+        results.add(runInline(stages.get(0), input));
+
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(stageTimeoutMs);
+        for (int i = 0; i < pending.size(); i++) {
+            results.add(await(stages.get(i + 1), pending.get(i), deadline));
+        }
+
+        // Merge in stage order so later stages can refine earlier ones
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        for (StageResult result : results) {
+            result.applyTo(metrics);
+        }
+
+        meterRegistry.timer(PIPELINE_TIMER).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return metrics;
+    }
+
+    // ✅ Per-stage latency summary for the admin panel (milliseconds)
+    public Map<String, Map<String, Object>> getStageTimings() {
+        Map<String, Map<String, Object>> timings = new LinkedHashMap<>();
+        for (AnalyzerStage stage : stages) {
+            Timer timer = meterRegistry.find(STAGE_TIMER).tags("stage", stage.getName(), "outcome", "success").timer();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", timer != null ? timer.count() : 0L);
+            if (timer != null && timer.count() > 0) {
+                summary.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+                summary.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+                for (ValueAtPercentile p : timer.takeSnapshot().percentileValues()) {
+                    summary.put("p" + Math.round(p.percentile() * 100) + "Ms", p.value(TimeUnit.MILLISECONDS));
+                }
+            }
+            timings.put(stage.getName(), summary);
+        }
+        return timings;
+    }
+
+    private StageResult runInline(AnalyzerStage stage, AnalysisInput input) {
+        try {
+            return timed(stage, input);
+        } catch (CompletionException e) {
+            return failed(stage, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private StageResult await(AnalyzerStage stage, Future<StageResult> future, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return failed(stage, new RuntimeException("Stage '" + stage.getName() + "' timed out after " + stageTimeoutMs + "ms"));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            return failed(stage, cause != null ? cause : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for stage '" + stage.getName() + "'", e);
+        }
+    }
+
+    private StageResult failed(AnalyzerStage stage, Throwable cause) {
+        if (!stage.isOptional()) {
+            throw new RuntimeException("Analysis stage '" + stage.getName() + "' failed: " + cause.getMessage(), cause);
+        }
+        System.err.println("WARN: optional analysis stage '" + stage.getName() + "' skipped: " + cause.getMessage());
+        return StageResult.NONE;
+    }
+
+    private StageResult timed(AnalyzerStage stage, AnalysisInput input) {
+        long started = System.nanoTime();
+        String outcome = "success";
+        try {
+            StageResult result = stage.analyze(input);
+            return result != null ? result : StageResult.NONE;
+        } catch (Exception e) {
+            outcome = "error";
+            throw new CompletionException(e);
+        } finally {
+            stageTimer(stage.getName(), outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer stageTimer(String stage, String outcome) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Latency of a single answer-analysis stage")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
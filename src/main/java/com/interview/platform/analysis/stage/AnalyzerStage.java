@@ -0,0 +1,25 @@
+package com.interview.platform.analysis.stage;
+
+/**
+ * One independent piece of answer analysis (lexical metrics, audio features, ...).
+ *
+ * Stages are Spring beans picked up by {@link AnalysisPipeline} and run
+ * concurrently, so a stage must only read its {@link AnalysisInput} and must not
+ * touch JPA entities. What it computes is returned as a {@link StageResult} and
+ * merged into the shared {@link AnalysisMetrics} after all stages finish.
+ */
+public interface AnalyzerStage {
+
+    /** Short name used in logs and as the {@code stage} metric tag. */
+    String getName();
+
+    StageResult analyze(AnalysisInput input) throws Exception;
+
+    /**
+     * Optional stages may fail or time out without failing the analysis; their
+     * metrics then keep the defaults in {@link AnalysisMetrics}.
+     */
+    default boolean isOptional() {
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.interview.platform.analysis.stage;
+
+import com.interview.platform.analysis.AnswerScoring;
+import com.interview.platform.analysis.audio.PauseDetector;
+import com.interview.platform.analysis.audio.PauseStats;
+import com.interview.platform.storage.BlobStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Confidence score and pause count from the recorded audio. Text-only answers
+ * and recordings we cannot decode keep the default confidence.
+ */
+@Component
+@Order(20)
+public class ConfidenceStage implements AnalyzerStage {
+
+    @Autowired
+    private PauseDetector pauseDetector;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Override
+    public String getName() {
+        return "confidence";
+    }
+
+    @Override
+    public StageResult analyze(AnalysisInput input) throws Exception {
+        Optional<Path> audio = blobStore.resolve(input.getAudioPath());
+        if (audio.isEmpty()) {
+            return metrics -> metrics.setConfidenceScore(AnswerScoring.DEFAULT_CONFIDENCE);
+        }
+
+        PauseStats pauses = pauseDetector.analyze(audio.get());
+        if (pauses == null) {
+            return metrics -> metrics.setConfidenceScore(AnswerScoring.DEFAULT_CONFIDENCE);
+        }
+
+        double confidence = AnswerScoring.confidenceScore(pauses);
+        return metrics -> {
+            metrics.setConfidenceScore(confidence);
+            metrics.setPauseCount(pauses.getPauseCount());
+        };
+    }
+
+    @Override
+    public boolean isOptional() {
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.interview.platform.analysis.stage;
+
+import com.interview.platform.analysis.KeywordIndexCache;
+import com.interview.platform.analysis.KeywordSet;
+import com.interview.platform.analysis.TranscriptScanner;
+import com.interview.platform.analysis.TranscriptStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Filler words, word count (for WPM) and keyword coverage. These share a
+ * single pass over the transcript, so they stay one stage rather than three
+ * stages that would each re-read the text.
+ */
+@Component
+@Order(10)
+public class LexicalStage implements AnalyzerStage {
+
+    @Autowired
+    private TranscriptScanner transcriptScanner;
+
+    @Autowired
+    private KeywordIndexCache keywordIndexCache;
+
+    @Override
+    public String getName() {
+        return "lexical";
+    }
+
+    @Override
+    public StageResult analyze(AnalysisInput input) {
+        // Live answers were scanned chunk by chunk as they arrived
+        if (input.getPrecomputedStats() != null) {
+            TranscriptStats stats = input.getPrecomputedStats();
+            return metrics -> metrics.setTranscriptStats(stats);
+        }
+
+        KeywordSet keywords = keywordIndexCache.forQuestion(
+                input.getQuestionId(), input.getQuestionUpdatedAt(), input.getExpectedKeywords());
+        TranscriptStats stats = transcriptScanner.scan(input.getTranscription(), keywords);
+        return metrics -> metrics.setTranscriptStats(stats);
+    }
+}
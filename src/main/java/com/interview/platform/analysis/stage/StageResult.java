@@ -0,0 +1,12 @@
+package com.interview.platform.analysis.stage;
+
+/**
+ * Output of a stage, applied to the merged metrics on the calling thread.
+ */
+@FunctionalInterface
+public interface StageResult {
+
+    StageResult NONE = metrics -> { };
+
+    void applyTo(AnalysisMetrics metrics);
+}
@@ -0,0 +1,70 @@
+package com.interview.platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${analysis.async.core-pool-size:4}")
+    private int corePoolSize;
+
+    @Value("${analysis.async.max-pool-size:8}")
+    private int maxPoolSize;
+
+    @Value("${analysis.async.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${analysis.stages.pool-size:0}")
+    private int stagePoolSize;
+
+    @Value("${assemblyai.upload.concurrency:16}")
+    private int uploadConcurrency;
+
+    // ✅ Bounded pool for transcription + scoring; submissions beyond the queue are rejected
+    @Bean(name = "analysisExecutor")
+    public ThreadPoolTaskExecutor analysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // ✅ Shared pool for analyzer stages; when saturated the caller runs the stage itself
+    @Bean(name = "analysisStageExecutor")
+    public ThreadPoolTaskExecutor analysisStageExecutor() {
+        int threads = stagePoolSize > 0 ? stagePoolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("analysis-stage-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // ✅ Threads that stream uploads to the speech-to-text provider while the request thread
+    // writes the same bytes to disk; no queue, a busy pool means upload after saving instead
+    @Bean(name = "speechUploadExecutor")
+    public ThreadPoolTaskExecutor speechUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadConcurrency);
+        executor.setMaxPoolSize(uploadConcurrency);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("speech-upload-");
+        executor.initialize();
+        return executor;
+    }
+}
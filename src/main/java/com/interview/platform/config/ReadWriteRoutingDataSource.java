@@ -0,0 +1,64 @@
+package com.interview.platform.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the
+ * replica pool and everything else to the primary.
+ *
+ * Reads stay on the primary when:
+ * - the signed-in user committed a write within the read-your-writes window
+ *   (see {@link ReadYourWritesTracker});
+ * - the replica refused a connection recently. The replica is retried after
+ *   {@code retryAfterMillis}.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * The proxy defers the real getConnection() until the first statement runs,
+ * and by then the transaction's read-only flag has been bound.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadYourWritesTracker tracker;
+    private final long retryAfterNanos;
+    private final AtomicLong replicaDownUntil = new AtomicLong(System.nanoTime());
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker,
+                                      long retryAfterMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.tracker = tracker;
+        this.retryAfterNanos = retryAfterMillis * 1_000_000L;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaDownUntil.set(System.nanoTime() + retryAfterNanos);
+                System.out.println("⚠️ Read replica unavailable, reading from primary: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Routed connections use the pools' own credentials");
+    }
+
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && System.nanoTime() - replicaDownUntil.get() >= 0
+                && !tracker.currentUserWroteRecently();
+    }
+}
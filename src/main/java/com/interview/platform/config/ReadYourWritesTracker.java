@@ -0,0 +1,80 @@
+package com.interview.platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers which users committed a write in the last few seconds, so their
+ * own reads stay on the primary until the replica has had time to catch up.
+ * Services call {@link #recordCurrentUserWrite()} after writes the user will
+ * immediately look for, such as a submitted answer.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    // Expired entries are swept every this many writes
+    private static final int SWEEP_EVERY = 1024;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSinceSweep = new AtomicInteger();
+
+    public ReadYourWritesTracker(@Value("${datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    // Opens the window for the signed-in user once the current transaction commits
+    public void recordCurrentUserWrite() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(user);
+                }
+            });
+        } else {
+            recordWrite(user);
+        }
+    }
+
+    public void recordWrite(String user) {
+        long now = System.nanoTime();
+        lastWrite.put(user, now);
+        if (writesSinceSweep.incrementAndGet() >= SWEEP_EVERY) {
+            writesSinceSweep.set(0);
+            lastWrite.values().removeIf(at -> now - at >= windowNanos);
+        }
+    }
+
+    public boolean wroteRecently(String user) {
+        Long at = lastWrite.get(user);
+        return at != null && System.nanoTime() - at < windowNanos;
+    }
+
+    public boolean currentUserWroteRecently() {
+        String user = currentUser();
+        return user != null && wroteRecently(user);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
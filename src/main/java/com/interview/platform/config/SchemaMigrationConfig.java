@@ -0,0 +1,28 @@
+package com.interview.platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Runs schema migrations before Hibernate starts, so ddl-auto=validate checks the migrated schema
+@Configuration
+@ConditionalOnProperty(name = "schema.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    public SchemaMigrator schemaMigrator(DataSource dataSource,
+                                         @Value("${schema.migrations.location:classpath:db/migration}") String location) {
+        return new SchemaMigrator(dataSource, location);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class EntityManagerFactoryAfterMigrations extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryAfterMigrations() {
+            super("schemaMigrator");
+        }
+    }
+}
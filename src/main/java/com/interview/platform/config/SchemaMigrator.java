@@ -0,0 +1,167 @@
+package com.interview.platform.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Applies versioned SQL scripts ({@code V<n>__<description>.sql}) in order and
+ * records each one in {@code schema_version} with a checksum, so a script runs
+ * exactly once per database and editing one after it shipped fails startup
+ * instead of silently diverging. Same file layout as Flyway.
+ *
+ * A database created by the old {@code ddl-auto=update} setup already has the
+ * V1 tables; it is baselined at V1 and only later scripts run against it. V1
+ * is therefore frozen at the schema that setup produced, and every later
+ * table, column or index belongs in V2 onwards.
+ *
+ * Migrations run once on startup from a single instance; they are not
+ * guarded against two instances migrating the same database at once.
+ */
+public class SchemaMigrator {
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // A table V1 creates; if it exists without schema_version, the schema came from ddl-auto
+    private static final String BASELINE_MARKER_TABLE = "users";
+
+    private final DataSource dataSource;
+    private final String location;
+    private final JdbcTemplate jdbcTemplate;
+
+    record Migration(int version, String description, Resource script, String checksum) {
+    }
+
+    public SchemaMigrator(DataSource dataSource, String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // Returns how many scripts were applied
+    public int migrate() {
+        List<Migration> migrations = discover();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INT NOT NULL PRIMARY KEY, " +
+                "description VARCHAR(200) NOT NULL, " +
+                "checksum VARCHAR(64) NOT NULL, " +
+                "baselined BOOLEAN NOT NULL, " +
+                "applied_at TIMESTAMP NOT NULL)");
+
+        Map<Integer, String> applied = new HashMap<>();
+        jdbcTemplate.query("SELECT version, checksum FROM schema_version",
+                (ResultSet rs) -> { applied.put(rs.getInt(1), rs.getString(2)); });
+
+        if (applied.isEmpty() && !migrations.isEmpty() && tableExists(BASELINE_MARKER_TABLE)) {
+            Migration baseline = migrations.get(0);
+            record(baseline, true);
+            applied.put(baseline.version(), baseline.checksum());
+            System.out.println("🗄️ Existing schema baselined at V" + baseline.version());
+        }
+
+        int count = 0;
+        for (Migration migration : migrations) {
+            String checksum = applied.get(migration.version());
+            if (checksum != null) {
+                if (!checksum.equals(migration.checksum())) {
+                    throw new IllegalStateException("Migration V" + migration.version()
+                            + " was changed after it was applied; add a new migration instead");
+                }
+                continue;
+            }
+            apply(migration);
+            count++;
+        }
+        System.out.println("🗄️ Schema at V" + (migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version())
+                + " (" + count + " migration(s) applied)");
+        return count;
+    }
+
+    private void apply(Migration migration) {
+        System.out.println("🗄️ Applying V" + migration.version() + " " + migration.description());
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.script(), StandardCharsets.UTF_8));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Migration V" + migration.version() + " failed", e);
+        }
+        record(migration, false);
+    }
+
+    private void record(Migration migration, boolean baselined) {
+        jdbcTemplate.update("INSERT INTO schema_version (version, description, checksum, baselined, applied_at) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                migration.version(), migration.description(), migration.checksum(), baselined,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private boolean tableExists(String table) {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(), "%",
+                     new String[]{"TABLE"})) {
+            while (tables.next()) {
+                if (table.equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read database metadata", e);
+        }
+    }
+
+    private List<Migration> discover() {
+        try {
+            Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(location + "/V*__*.sql");
+            List<Migration> migrations = Stream.of(scripts)
+                    .map(SchemaMigrator::toMigration)
+                    .sorted(Comparator.comparingInt(Migration::version))
+                    .toList();
+            for (int i = 1; i < migrations.size(); i++) {
+                if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                    throw new IllegalStateException("Two migrations share version V" + migrations.get(i).version());
+                }
+            }
+            return migrations;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not list migrations under " + location, e);
+        }
+    }
+
+    private static Migration toMigration(Resource script) {
+        Matcher matcher = SCRIPT_NAME.matcher(String.valueOf(script.getFilename()));
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Migration file name must look like V1__description.sql: "
+                    + script.getFilename());
+        }
+        try {
+            // Line endings are normalised so a checkout on Windows computes the same checksum
+            String sql = new String(script.getContentAsByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sql.getBytes(StandardCharsets.UTF_8));
+            return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), script,
+                    HexFormat.of().formatHex(digest));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not read migration " + script.getFilename(), e);
+        }
+    }
+}
@@ -54,6 +54,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/admin/**").permitAll()
                 .requestMatchers("/api/questions/**").permitAll()
                 .requestMatchers("/api/interview/**").permitAll()
+                // ✅ Speech-to-text provider callback, authenticated by its shared secret header
+                .requestMatchers("/api/speech/webhook").permitAll()
                 // ✅ Allow SPA/static entry points
                 .requestMatchers("/", "/index.html", "/login.html", "/register.html", "/dashboard.html", "/admin.html", "/practice.html", "/practice-video.html", "/favicon.ico").permitAll()
                 // ✅ Explicitly allow root-level static assets used by pages
@@ -1,19 +1,28 @@
 package com.interview.platform.controller;
 
+import com.interview.platform.analysis.stage.AnalysisPipeline;
 import com.interview.platform.dto.ApiResponse;
+import com.interview.platform.model.InterviewSession;
 import com.interview.platform.model.Question;
 import com.interview.platform.model.User;
 import com.interview.platform.repository.UserRepository;
 import com.interview.platform.repository.QuestionRepository;
 import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.service.AdminListingService;
+import com.interview.platform.service.AdminStatsService;
+import com.interview.platform.service.DashboardService;
+import com.interview.platform.service.QuestionImportService;
 import com.interview.platform.service.QuestionService;
+import com.interview.platform.service.RescoreJobService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -32,27 +41,29 @@ public class AdminController {
     @Autowired
     private QuestionService questionService;
 
-    // ==================== DASHBOARD STATS ====================
-    @GetMapping("/stats")
-    public ResponseEntity<ApiResponse> getAdminStats() {
-        try {
-            Map<String, Object> stats = new HashMap<>();
+    @Autowired
+    private RescoreJobService rescoreJobService;
 
-            stats.put("totalUsers", userRepository.count());
-            stats.put("totalQuestions", questionRepository.count());
-            stats.put("totalSessions", sessionRepository.count());
-            stats.put("activeQuestions", questionRepository.findByIsActiveTrue().size());
+    @Autowired
+    private AdminStatsService adminStatsService;
 
-            // Calculate average score
-            double avgScore = sessionRepository.findAll().stream()
-                    .filter(s -> s.getOverallScore() != null)
-                    .mapToDouble(s -> s.getOverallScore())
-                    .average()
-                    .orElse(0.0);
+    @Autowired
+    private AdminListingService adminListingService;
+
+    @Autowired
+    private QuestionImportService questionImportService;
+
+    @Autowired
+    private DashboardService dashboardService;
 
-            stats.put("averageScore", avgScore);
+    @Autowired
+    private AnalysisPipeline analysisPipeline;
 
-            return ResponseEntity.ok(new ApiResponse(true, "Dashboard stats retrieved", stats));
+    // ==================== DASHBOARD STATS ====================
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse> getAdminStats() {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Dashboard stats retrieved", adminStatsService.getDashboardStats()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching stats: " + e.getMessage()));
@@ -61,10 +72,17 @@ public class AdminController {
 
     // ==================== USER MANAGEMENT ====================
     @GetMapping("/users")
-    public ResponseEntity<ApiResponse> getAllUsers() {
+    public ResponseEntity<ApiResponse> getAllUsers(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String industry,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         try {
-            List<User> users = userRepository.findAll();
-            return ResponseEntity.ok(new ApiResponse(true, "Users retrieved", users));
+            return ResponseEntity.ok(new ApiResponse(true, "Users retrieved",
+                    adminListingService.listUsers(cursor, limit, order, role, industry, from, to)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching users: " + e.getMessage()));
@@ -92,6 +110,8 @@ public class AdminController {
     public ResponseEntity<ApiResponse> deleteUser(@PathVariable Long id) {
         try {
             userRepository.deleteById(id);
+            adminStatsService.invalidate();
+            dashboardService.invalidateAll();
             return ResponseEntity.ok(new ApiResponse(true, "User deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -122,11 +142,7 @@ public class AdminController {
     @GetMapping("/questions/by-category")
     public ResponseEntity<ApiResponse> getQuestionsByCategory() {
         try {
-            List<Question> allQuestions = questionRepository.findAll();
-            Map<String, Long> categoryCount = allQuestions.stream()
-                    .collect(Collectors.groupingBy(Question::getCategory, Collectors.counting()));
-
-            return ResponseEntity.ok(new ApiResponse(true, "Category stats", categoryCount));
+            return ResponseEntity.ok(new ApiResponse(true, "Category stats", adminStatsService.getQuestionsByCategory()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching categories: " + e.getMessage()));
@@ -146,7 +162,8 @@ public class AdminController {
             question.setExpectedKeywords(updatedQuestion.getExpectedKeywords());
             question.setTips(updatedQuestion.getTips());
 
-            questionRepository.save(question);
+            questionService.updateQuestion(question);
+            adminStatsService.invalidate();
             return ResponseEntity.ok(new ApiResponse(true, "Question updated successfully", question));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -157,10 +174,8 @@ public class AdminController {
     @DeleteMapping("/questions/{id}")
     public ResponseEntity<ApiResponse> deactivateQuestion(@PathVariable Long id) {
         try {
-            Question question = questionRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Question not found"));
-            question.setIsActive(false);
-            questionRepository.save(question);
+            questionService.setQuestionActive(id, false);
+            adminStatsService.invalidate();
             return ResponseEntity.ok(new ApiResponse(true, "Question deactivated"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -171,10 +186,8 @@ public class AdminController {
     @PutMapping("/questions/{id}/activate")
     public ResponseEntity<ApiResponse> activateQuestion(@PathVariable Long id) {
         try {
-            Question question = questionRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Question not found"));
-            question.setIsActive(true);
-            questionRepository.save(question);
+            questionService.setQuestionActive(id, true);
+            adminStatsService.invalidate();
             return ResponseEntity.ok(new ApiResponse(true, "Question activated"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -182,11 +195,46 @@ public class AdminController {
         }
     }
 
+    // Raw CSV (header row) or NDJSON body, streamed; ?format= wins over the Content-Type
+    @PostMapping("/questions/import")
+    public ResponseEntity<ApiResponse> importQuestions(@RequestParam(required = false) String format,
+                                                       HttpServletRequest request) {
+        try {
+            QuestionImportService.Format importFormat = importFormat(format, request.getContentType());
+            var report = questionImportService.importQuestions(request.getInputStream(), importFormat);
+            adminStatsService.invalidate();
+            return ResponseEntity.ok(new ApiResponse(true, "Questions imported", report));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Error importing questions: " + e.getMessage()));
+        }
+    }
+
+    private static QuestionImportService.Format importFormat(String format, String contentType) {
+        String type = format != null ? format : contentType != null ? contentType : "";
+        type = type.toLowerCase(Locale.ROOT);
+        if (type.contains("csv")) {
+            return QuestionImportService.Format.CSV;
+        }
+        if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json-seq")) {
+            return QuestionImportService.Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import format '" + type + "' (use csv or ndjson)");
+    }
+
     // ==================== SESSION MANAGEMENT ====================
     @GetMapping("/sessions")
-    public ResponseEntity<ApiResponse> getAllSessions() {
+    public ResponseEntity<ApiResponse> getAllSessions(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) InterviewSession.Status status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         try {
-            return ResponseEntity.ok(new ApiResponse(true, "Sessions retrieved", sessionRepository.findAll()));
+            return ResponseEntity.ok(new ApiResponse(true, "Sessions retrieved",
+                    adminListingService.listSessions(cursor, limit, order, status, userId, from, to)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching sessions: " + e.getMessage()));
@@ -201,22 +249,7 @@ public class AdminController {
     @GetMapping("/sessions/stats")
     public ResponseEntity<ApiResponse> getSessionStats() {
         try {
-            Map<String, Object> stats = new HashMap<>();
-
-            long total = sessionRepository.count();
-            long completed = sessionRepository.findAll().stream()
-                    .filter(s -> "Completed".equalsIgnoreCase(s.getStatus().toString()))
-                    .count();
-            long inProgress = sessionRepository.findAll().stream()
-                    .filter(s -> "InProgress".equalsIgnoreCase(s.getStatus().toString()))
-                    .count();
-
-            stats.put("total", total);
-            stats.put("completed", completed);
-            stats.put("inProgress", inProgress);
-            stats.put("abandoned", total - completed - inProgress);
-
-            return ResponseEntity.ok(new ApiResponse(true, "Session stats retrieved", stats));
+            return ResponseEntity.ok(new ApiResponse(true, "Session stats retrieved", adminStatsService.getSessionStats()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching session stats: " + e.getMessage()));
@@ -227,12 +260,7 @@ public class AdminController {
     @GetMapping("/analytics/users-by-industry")
     public ResponseEntity<ApiResponse> getUsersByIndustry() {
         try {
-            Map<String, Long> industryStats = userRepository.findAll().stream()
-                    .collect(Collectors.groupingBy(
-                            u -> Optional.ofNullable(u.getIndustry()).orElse("Not Specified"),
-                            Collectors.counting()
-                    ));
-            return ResponseEntity.ok(new ApiResponse(true, "Industry analytics retrieved", industryStats));
+            return ResponseEntity.ok(new ApiResponse(true, "Industry analytics retrieved", adminStatsService.getUsersByIndustry()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching industry analytics: " + e.getMessage()));
@@ -242,12 +270,7 @@ public class AdminController {
     @GetMapping("/analytics/users-by-experience")
     public ResponseEntity<ApiResponse> getUsersByExperience() {
         try {
-            Map<String, Long> expStats = userRepository.findAll().stream()
-                    .collect(Collectors.groupingBy(
-                            u -> Optional.ofNullable(u.getExperienceLevel()).orElse("Not Specified"),
-                            Collectors.counting()
-                    ));
-            return ResponseEntity.ok(new ApiResponse(true, "Experience analytics retrieved", expStats));
+            return ResponseEntity.ok(new ApiResponse(true, "Experience analytics retrieved", adminStatsService.getUsersByExperience()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching experience analytics: " + e.getMessage()));
@@ -257,17 +280,40 @@ public class AdminController {
     @GetMapping("/analytics/platform-usage")
     public ResponseEntity<ApiResponse> getPlatformUsage() {
         try {
-            Map<String, Object> usage = new HashMap<>();
-            usage.put("totalUsers", userRepository.count());
-            usage.put("totalSessions", sessionRepository.count());
-            usage.put("totalQuestions", questionRepository.count());
-            usage.put("activeQuestions", questionRepository.findByIsActiveTrue().size());
-            usage.put("monthlyActiveUsers", userRepository.count());
-
-            return ResponseEntity.ok(new ApiResponse(true, "Platform usage retrieved", usage));
+            return ResponseEntity.ok(new ApiResponse(true, "Platform usage retrieved", adminStatsService.getPlatformUsage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Error fetching platform usage: " + e.getMessage()));
         }
     }
+
+    @GetMapping("/analytics/analysis-stages")
+    public ResponseEntity<ApiResponse> getAnalysisStageTimings() {
+        return ResponseEntity.ok(new ApiResponse(true, "Analysis stage timings", analysisPipeline.getStageTimings()));
+    }
+
+    // ==================== RE-SCORING ====================
+    @PostMapping("/rescore")
+    public ResponseEntity<ApiResponse> startRescore() {
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Re-score job running", rescoreJobService.start()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Error starting re-score job: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/rescore")
+    public ResponseEntity<ApiResponse> getRescoreStatus() {
+        return rescoreJobService.getLatestJob()
+                .map(job -> ResponseEntity.ok(new ApiResponse(true, "Re-score job status", job)))
+                .orElseGet(() -> ResponseEntity.ok(new ApiResponse(true, "No re-score job has run yet")));
+    }
+
+    @PostMapping("/rescore/cancel")
+    public ResponseEntity<ApiResponse> cancelRescore() {
+        return rescoreJobService.cancel()
+                .map(job -> ResponseEntity.ok(new ApiResponse(true, "Re-score job cancelled", job)))
+                .orElseGet(() -> ResponseEntity.badRequest().body(new ApiResponse(false, "No re-score job is running")));
+    }
 }
@@ -1,15 +1,26 @@
 package com.interview.platform.controller;
 
+import com.interview.platform.dto.AnalysisJobDTO;
 import com.interview.platform.dto.ApiResponse;
 import com.interview.platform.dto.FeedbackDTO;
+import com.interview.platform.dto.LiveFeedbackDTO;
+import com.interview.platform.dto.PendingTranscriptionDTO;
 import com.interview.platform.dto.SessionDTO;
 import com.interview.platform.model.InterviewAnswer;
 import com.interview.platform.model.InterviewSession;
 import com.interview.platform.model.User;
+import com.interview.platform.service.AnalysisJobService;
 import com.interview.platform.service.AnalysisService;
+import com.interview.platform.service.IngestedAudio;
 import com.interview.platform.service.InterviewService;
+import com.interview.platform.service.LiveAnswerService;
+import com.interview.platform.service.SpeechResilience;
 import com.interview.platform.service.SpeechToTextService;
 import com.interview.platform.service.UserService;
+import com.interview.platform.storage.BlobResponseWriter;
+import com.interview.platform.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,7 +29,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -38,6 +52,18 @@ public class InterviewController {
     @Autowired
     private SpeechToTextService speechToTextService;
 
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private LiveAnswerService liveAnswerService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private BlobResponseWriter blobResponseWriter;
+
     // ====================== START INTERVIEW ======================
     @PostMapping("/start")
     public ResponseEntity<ApiResponse> startInterview(
@@ -94,9 +120,6 @@ public class InterviewController {
             // 🧠 Analyze answer
             FeedbackDTO feedback = analysisService.analyzeAnswer(answer);
 
-            // 🔁 Handle post-analysis processing
-            postAnalysisProcessing(sessionId);
-
             System.out.println("=== END SUBMIT TEXT ANSWER ===");
             return ResponseEntity.ok(new ApiResponse(true, "Answer submitted and analyzed", feedback));
 
@@ -119,11 +142,27 @@ public class InterviewController {
         try {
             System.out.println("=== SUBMIT AUDIO ANSWER ===");
             String finalTranscription;
+            String audioPath = null;
+            Integer audioSeconds = null;
 
             // 🎙 If audio provided → transcribe
             if (audioFile != null && !audioFile.isEmpty()) {
-                String audioPath = speechToTextService.saveAudioFile(audioFile, sessionId, questionId);
-                finalTranscription = speechToTextService.transcribeAudio(audioFile);
+                // One read of the upload: saved, hashed and streamed to speech-to-text together
+                IngestedAudio ingested = speechToTextService.ingestAudio(audioFile);
+                audioPath = ingested.audio().path();
+                audioSeconds = ingested.audio().durationSeconds();
+                try {
+                    finalTranscription = speechToTextService.awaitTranscription(ingested.transcription());
+                } catch (Exception e) {
+                    if (!SpeechResilience.isTransient(e)) throw e;
+                    // ⏸️ Speech-to-text is down or slow: keep the answer, transcribe it later
+                    InterviewAnswer answer = interviewService.saveAnswer(
+                            sessionId, questionId, null, audioPath, null, audioSeconds != null ? audioSeconds : 0);
+                    PendingTranscriptionDTO pending = analysisJobService.defer(
+                            answer.getAnswerId(), sessionId, ingested.audio(), e);
+                    return ResponseEntity.status(HttpStatus.ACCEPTED)
+                            .body(new ApiResponse(true, "Answer saved; feedback will follow once transcription completes", pending));
+                }
                 System.out.println("✅ Audio transcribed: " + finalTranscription);
             }
             // ✍️ If manual text provided
@@ -136,19 +175,16 @@ public class InterviewController {
                         .body(new ApiResponse(false, "Either audio file or transcription required"));
             }
 
-            // ⏱ Estimate duration
-            int duration = estimateDuration(finalTranscription);
+            // ⏱ Duration from the WAV header; estimated from the text for other formats
+            int duration = audioSeconds != null ? audioSeconds : interviewService.estimateDuration(finalTranscription);
 
-            // 💾 Save answer
+            // 💾 Save answer (audio path is needed for pause detection)
             InterviewAnswer answer = interviewService.saveAnswer(
-                    sessionId, questionId, null, null, finalTranscription, duration);
+                    sessionId, questionId, null, audioPath, finalTranscription, duration);
 
             // 🧠 Analyze
             FeedbackDTO feedback = analysisService.analyzeAnswer(answer);
 
-            // 🔁 Handle post-analysis processing
-            postAnalysisProcessing(sessionId);
-
             System.out.println("=== END SUBMIT AUDIO ANSWER ===");
             return ResponseEntity.ok(new ApiResponse(true, "Answer submitted and analyzed", feedback));
         } catch (Exception e) {
@@ -159,6 +195,229 @@ public class InterviewController {
         }
     }
 
+    // ====================== ASYNC SUBMISSION ======================
+    @PostMapping("/submit-answer-async")
+    public ResponseEntity<ApiResponse> submitAnswerAsync(
+            @RequestParam Long sessionId,
+            @RequestParam Long questionId,
+            @RequestParam String transcription,
+            @RequestParam Integer duration,
+            Authentication authentication) {
+        try {
+            AnalysisJobDTO job = analysisJobService.submitText(sessionId, questionId, transcription, duration);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "Answer accepted for analysis", job));
+        } catch (AnalysisJobService.AnalysisQueueFullException e) {
+            return queueFull(e);
+        } catch (Exception e) {
+            System.err.println("ERROR queueing answer: " + e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to submit answer: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/submit-answer-with-audio-async")
+    public ResponseEntity<ApiResponse> submitAnswerWithAudioAsync(
+            @RequestParam Long sessionId,
+            @RequestParam Long questionId,
+            @RequestParam(required = false) MultipartFile audioFile,
+            @RequestParam(required = false) String transcription,
+            Authentication authentication) {
+        try {
+            AnalysisJobDTO job;
+            if (audioFile != null && !audioFile.isEmpty()) {
+                job = analysisJobService.submitAudio(sessionId, questionId, audioFile);
+            } else if (transcription != null && !transcription.isEmpty()) {
+                job = analysisJobService.submitText(sessionId, questionId, transcription,
+                        interviewService.estimateDuration(transcription));
+            } else {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse(false, "Either audio file or transcription required"));
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "Answer accepted for analysis", job));
+        } catch (AnalysisJobService.AnalysisQueueFullException e) {
+            return queueFull(e);
+        } catch (Exception e) {
+            System.err.println("ERROR queueing audio answer: " + e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to submit audio answer: " + e.getMessage()));
+        }
+    }
+
+    // Only the answer's owner sees the job (and the feedback it carries); anyone else gets 404
+    @GetMapping("/analysis-jobs/{jobId}")
+    public ResponseEntity<ApiResponse> getAnalysisJob(@PathVariable String jobId, Authentication authentication) {
+        return analysisJobService.getJob(jobId)
+                .filter(job -> isAnswerOwner(job.getAnswerId(), authentication))
+                .map(job -> {
+                    boolean finished = AnalysisJobService.JobStatus.COMPLETED.name().equals(job.getStatus())
+                            || AnalysisJobService.JobStatus.DEFERRED.name().equals(job.getStatus())
+                            || AnalysisJobService.JobStatus.FAILED.name().equals(job.getStatus());
+                    return ResponseEntity.status(finished ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                            .body(new ApiResponse(true, "Analysis job " + job.getStatus(), job));
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse(false, "Analysis job not found")));
+    }
+
+    private boolean isAnswerOwner(Long answerId, Authentication authentication) {
+        if (authentication == null || answerId == null) {
+            return false;
+        }
+        try {
+            InterviewAnswer answer = interviewService.getAnswerById(answerId);
+            return answer.getUser() != null && authentication.getName().equals(answer.getUser().getEmail());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // ====================== LIVE FEEDBACK ======================
+    // A live answer is only visible to the owner of its session; anyone else gets 404
+    @PostMapping("/live/start")
+    public ResponseEntity<ApiResponse> startLiveAnswer(
+            @RequestParam Long sessionId,
+            @RequestParam Long questionId,
+            Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return liveUnauthorized();
+        }
+        try {
+            LiveFeedbackDTO live = liveAnswerService.start(authentication.getName(), sessionId, questionId);
+            return ResponseEntity.ok(new ApiResponse(true, "Live answer started", live));
+        } catch (LiveAnswerService.LiveAnswerNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("ERROR starting live answer: " + e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to start live answer: " + e.getMessage()));
+        }
+    }
+
+    // Partial transcript from the recognizer, appended as sent (include the spaces between phrases);
+    // counts are updated from this chunk only
+    @PostMapping("/live/{liveId}/chunk")
+    public ResponseEntity<ApiResponse> appendLiveChunk(
+            @PathVariable String liveId,
+            @RequestParam String text,
+            @RequestParam(required = false) Integer elapsedSeconds,
+            Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return liveUnauthorized();
+        }
+        try {
+            LiveFeedbackDTO update = liveAnswerService.appendChunk(authentication.getName(), liveId, text,
+                    elapsedSeconds);
+            return ResponseEntity.ok(new ApiResponse(true, "Chunk received", update));
+        } catch (LiveAnswerService.LiveAnswerNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to process chunk: " + e.getMessage()));
+        }
+    }
+
+    // Server-sent events: "feedback" after every chunk, "submitted" with the final feedback
+    @GetMapping("/live/{liveId}/stream")
+    public ResponseEntity<?> streamLiveFeedback(@PathVariable String liveId, Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return liveUnauthorized();
+        }
+        return liveAnswerService.subscribe(authentication.getName(), liveId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse(false, "Live answer not found or expired")));
+    }
+
+    @PostMapping("/live/{liveId}/submit")
+    public ResponseEntity<ApiResponse> submitLiveAnswer(
+            @PathVariable String liveId,
+            @RequestParam(required = false) Integer duration,
+            Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return liveUnauthorized();
+        }
+        try {
+            FeedbackDTO feedback = liveAnswerService.submit(authentication.getName(), liveId, duration);
+            return ResponseEntity.ok(new ApiResponse(true, "Answer submitted and analyzed", feedback));
+        } catch (LiveAnswerService.LiveAnswerNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("ERROR submitting live answer: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to submit live answer: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<ApiResponse> liveUnauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse(false, "Authentication required"));
+    }
+
+    // ====================== ANSWER FEEDBACK ======================
+    // Works for every submission path, including answers deferred while speech-to-text was down
+    @GetMapping("/answers/{answerId}/feedback")
+    public ResponseEntity<ApiResponse> getAnswerFeedback(@PathVariable Long answerId, Authentication authentication) {
+        try {
+            InterviewAnswer answer = interviewService.getAnswerById(answerId);
+            if (authentication == null || answer.getUser() == null
+                    || !authentication.getName().equals(answer.getUser().getEmail())) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse(false, "Answer not found with ID: " + answerId));
+            }
+
+            Optional<FeedbackDTO> feedback = analysisService.getFeedback(answer);
+            if (feedback.isPresent()) {
+                return ResponseEntity.ok(new ApiResponse(true, "Feedback retrieved", feedback.get()));
+            }
+            return analysisJobService.getDeferred(answerId)
+                    .map(pending -> ResponseEntity.status("Failed".equals(pending.getStatus())
+                                    ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                            .body(new ApiResponse(true, "Transcription " + pending.getStatus().toLowerCase(), pending)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                            .body(new ApiResponse(true, "Analysis in progress")));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // ====================== ANSWER RECORDING ======================
+    // Playback of the stored recording; honours Range so the player can seek
+    @GetMapping("/answers/{answerId}/audio")
+    public void downloadAnswerAudio(@PathVariable Long answerId, Authentication authentication,
+                                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            writeError(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+            return;
+        }
+
+        InterviewAnswer answer;
+        try {
+            answer = interviewService.getAnswerById(answerId);
+        } catch (RuntimeException e) {
+            writeError(response, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+        if (answer.getUser() == null || !authentication.getName().equals(answer.getUser().getEmail())) {
+            writeError(response, HttpServletResponse.SC_NOT_FOUND, "Answer not found with ID: " + answerId);
+            return;
+        }
+
+        Optional<Path> file = blobStore.resolve(answer.getAudioPath());
+        if (file.isEmpty()) {
+            writeError(response, HttpServletResponse.SC_NOT_FOUND, "No recording stored for this answer");
+            return;
+        }
+        blobResponseWriter.send(file.get(), blobStore.keyOf(file.get()), request, response);
+    }
+
     // ====================== COMPLETE SESSION ======================
     @PostMapping("/complete/{sessionId}")
     public ResponseEntity<ApiResponse> completeInterview(@PathVariable Long sessionId) {
@@ -200,24 +459,17 @@ public class InterviewController {
 
     // ====================== HELPER METHODS ======================
 
-    // Estimate answer duration
-    private int estimateDuration(String text) {
-        int wordCount = text.split("\\s+").length;
-        return (int) ((wordCount / 150.0) * 60); // Approx 150 WPM
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message.replace("\"", "'") + "\"}");
     }
 
-    // Post-analysis handler: updates progress + recalculates session score
-    private void postAnalysisProcessing(Long sessionId) {
-        try {
-            System.out.println("=== POST ANALYSIS PROCESSING ===");
-            interviewService.updateSessionProgress(sessionId);
-            System.out.println("Progress updated. Recalculating session score...");
-            interviewService.recalculateSessionScore(sessionId);
-            System.out.println("✅ Session score recalculated successfully!");
-        } catch (Exception e) {
-            System.err.println("ERROR during post-analysis processing: " + e.getMessage());
-            e.printStackTrace();
-        }
+    // Bounded analysis queue is saturated → ask the client to back off
+    private ResponseEntity<ApiResponse> queueFull(AnalysisJobService.AnalysisQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(new ApiResponse(false, e.getMessage(), e.getJob()));
     }
 
     // Convert Entity → DTO
@@ -3,11 +3,14 @@ package com.interview.platform.controller;
 import com.interview.platform.dto.ApiResponse;
 import com.interview.platform.dto.QuestionDTO;
 import com.interview.platform.model.Question;
+import com.interview.platform.service.QuestionCatalog;
 import com.interview.platform.service.QuestionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,12 +24,17 @@ public class QuestionController {
     @Autowired
     private QuestionService questionService;
 
-    // ✅ GET ALL
+    // ✅ GET ALL (served from the catalog cache; If-None-Match with the current ETag gets a 304)
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllQuestions() {
-        List<Question> questions = questionService.getAllQuestions();
-        List<QuestionDTO> dtos = questions.stream().map(this::convertToDTO).collect(Collectors.toList());
-        return ResponseEntity.ok(new ApiResponse(true, "Questions retrieved", dtos));
+    public ResponseEntity<ApiResponse> getAllQuestions(WebRequest request) {
+        QuestionCatalog.Snapshot catalog = questionService.getCatalog();
+        if (request.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse(true, "Questions retrieved", catalog.dtos()));
     }
 
     // ✅ GET BY ID
@@ -63,7 +71,7 @@ public class QuestionController {
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse> updateQuestion(@PathVariable Long id, @RequestBody QuestionDTO dto) {
         try {
-            Question existing = questionService.getQuestionById(id);
+            Question existing = questionService.getQuestionForEdit(id);
             existing.setQuestionText(dto.getQuestionText());
             existing.setCategory(dto.getCategory());
             existing.setSubcategory(dto.getSubcategory());
@@ -93,15 +101,7 @@ public class QuestionController {
 
     // 🔁 Convert Entity → DTO
     private QuestionDTO convertToDTO(Question question) {
-        QuestionDTO dto = new QuestionDTO();
-        dto.setQuestionId(question.getQuestionId());
-        dto.setQuestionText(question.getQuestionText());
-        dto.setCategory(question.getCategory());
-        dto.setSubcategory(question.getSubcategory());
-        dto.setDifficulty(question.getDifficulty() != null ? question.getDifficulty().toString() : null);
-        dto.setTips(question.getTips());
-        dto.setIdealDuration(question.getIdealDuration());
-        return dto;
+        return QuestionCatalog.toDTO(question);
     }
 
     // 🔁 Convert DTO → Entity
@@ -1,10 +1,22 @@
 package com.interview.platform.controller;
 
+import com.interview.platform.dto.ApiResponse;
+import com.interview.platform.service.AssemblyAiClient;
+import com.interview.platform.service.IngestedAudio;
 import com.interview.platform.service.SpeechToTextService;
+import com.interview.platform.service.StoredAudio;
+import com.interview.platform.service.TranscriptPoller;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/speech")
 public class SpeechController {
@@ -12,22 +24,56 @@ public class SpeechController {
     @Autowired
     private SpeechToTextService speechService;
 
+    @Autowired
+    private AssemblyAiClient assemblyAiClient;
+
+    @Autowired
+    private TranscriptPoller transcriptPoller;
+
     @PostMapping("/transcribe")
     public String transcribeAudio(
             @RequestParam("audioFile") MultipartFile audioFile,
             @RequestParam("sessionId") Long sessionId,
             @RequestParam("questionId") Long questionId) throws Exception {
 
-        // Save the audio locally
-        String savedPath = speechService.saveAudioFile(audioFile, sessionId, questionId);
+        // Save the audio locally while it streams to speech-to-text (cached by content hash)
+        IngestedAudio ingested = speechService.ingestAudio(audioFile);
+        StoredAudio saved = ingested.audio();
 
         // Get the transcription text
-        String transcription = speechService.transcribeAudio(audioFile);
+        String transcription = speechService.awaitTranscription(ingested.transcription());
 
         return """
             ✅ Audio saved: %s
             🗣️ Transcription:
             %s
-        """.formatted(savedPath, transcription);
+        """.formatted(saved.path(), transcription);
+    }
+
+    // ✅ AssemblyAI completion callback (see assemblyai.webhook.*); lets the poller skip waiting
+    @PostMapping("/webhook")
+    public ResponseEntity<ApiResponse> transcriptWebhook(
+            @RequestBody Map<String, Object> payload,
+            HttpServletRequest request) {
+        String secret = assemblyAiClient.getWebhookSecret();
+        if (secret == null || secret.isBlank()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(false, "Webhook not enabled"));
+        }
+        String provided = request.getHeader(assemblyAiClient.getWebhookSecretHeader());
+        if (provided == null || !MessageDigest.isEqual(
+                provided.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse(false, "Invalid webhook secret"));
+        }
+
+        Object transcriptId = payload.get("transcript_id");
+        if (transcriptId == null) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "transcript_id is required"));
+        }
+        boolean tracked = transcriptPoller.onCompletionCallback(
+                transcriptId.toString(), String.valueOf(payload.get("status")));
+        // Always 200 so AssemblyAI does not retry callbacks for ids we no longer wait on
+        return ResponseEntity.ok(new ApiResponse(true, tracked ? "Callback accepted" : "Transcript not pending"));
     }
 }
@@ -0,0 +1,126 @@
+package com.interview.platform.controller;
+
+import com.interview.platform.dto.ApiResponse;
+import com.interview.platform.dto.ChunkedUploadDTO;
+import com.interview.platform.service.AnalysisJobService;
+import com.interview.platform.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+// Resumable uploads for recordings too large to send in one multipart request
+@RestController
+@RequestMapping("/api/interview/uploads")
+@CrossOrigin(origins = "*")
+public class UploadController {
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    // ====================== START UPLOAD ======================
+    @PostMapping
+    public ResponseEntity<ApiResponse> initUpload(
+            @RequestParam Long sessionId,
+            @RequestParam Long questionId,
+            @RequestParam(defaultValue = "audio") String kind,
+            @RequestParam long totalSize,
+            @RequestParam(required = false) String contentType,
+            Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return unauthorized();
+        }
+        try {
+            ChunkedUploadDTO upload = chunkedUploadService.init(authentication.getName(), sessionId, questionId,
+                    kind, totalSize, contentType);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse(true, "Upload started", upload));
+        } catch (Exception e) {
+            return error(e, "start upload");
+        }
+    }
+
+    // ====================== UPLOAD CHUNK ======================
+    // Raw bytes of one chunk; offset must be a multiple of the chunk size from init
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request,
+            Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return unauthorized();
+        }
+        try {
+            ChunkedUploadDTO upload = chunkedUploadService.writeChunk(authentication.getName(), uploadId, offset,
+                    request.getContentLengthLong(), request.getInputStream());
+            return ResponseEntity.ok(new ApiResponse(true, "Chunk stored", upload));
+        } catch (Exception e) {
+            return error(e, "store chunk");
+        }
+    }
+
+    // ====================== UPLOAD STATUS ======================
+    // Clients resume from nextOffset after a dropped connection
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse> getUpload(@PathVariable String uploadId, Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return unauthorized();
+        }
+        try {
+            return ResponseEntity.ok(new ApiResponse(true, "Upload status",
+                    chunkedUploadService.getStatus(authentication.getName(), uploadId)));
+        } catch (Exception e) {
+            return error(e, "read upload");
+        }
+    }
+
+    // ====================== FINISH UPLOAD ======================
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse> completeUpload(
+            @PathVariable String uploadId,
+            @RequestParam(required = false) String transcription,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) String sha256,
+            Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return unauthorized();
+        }
+        try {
+            ChunkedUploadDTO upload = chunkedUploadService.complete(authentication.getName(), uploadId,
+                    transcription, duration, sha256);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "Answer accepted for analysis", upload));
+        } catch (Exception e) {
+            return error(e, "complete upload");
+        }
+    }
+
+    private ResponseEntity<ApiResponse> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse(false, "Authentication required"));
+    }
+
+    private ResponseEntity<ApiResponse> error(Exception e, String action) {
+        if (e instanceof ChunkedUploadService.UploadNotFoundException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        }
+        if (e instanceof AnalysisJobService.AnalysisQueueFullException full) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(new ApiResponse(false, full.getMessage(), full.getJob()));
+        }
+        if (e instanceof IllegalStateException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse(false, e.getMessage()));
+        }
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+        System.err.println("ERROR: failed to " + action + ": " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to " + action + ": " + e.getMessage()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.platform.dto;
+
+import com.interview.platform.model.InterviewSession;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// One row of the admin session listing, read as a projection (no answers, no user entity)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminSessionRowDTO {
+    private Long sessionId;
+    private Long userId;
+    private String userEmail;
+    private InterviewSession.SessionType sessionType;
+    private InterviewSession.Status status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Integer totalQuestions;
+    private Integer questionsAnswered;
+    private Double overallScore;
+}
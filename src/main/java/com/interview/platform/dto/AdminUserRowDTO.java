@@ -0,0 +1,22 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// One row of the admin user listing, read as a projection (no password, no lazy collections)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminUserRowDTO {
+    private Long userId;
+    private String fullName;
+    private String email;
+    private String industry;
+    private String experienceLevel;
+    private String role;
+    private Boolean enabled;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastLogin;
+}
@@ -0,0 +1,18 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisJobDTO {
+    private String jobId;
+    private Long answerId;
+    private String status;
+    private String submittedAt;
+    private String completedAt;
+    private String error;
+    private FeedbackDTO feedback;
+}
@@ -0,0 +1,22 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Just the columns needed to re-score an answer, read without loading entities
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerScoringRow {
+    private Long answerId;
+    private Long sessionId;
+    private String transcription;
+    private Integer duration;
+    private Long questionId;
+    private String expectedKeywords;
+    private LocalDateTime questionUpdatedAt;
+    private Long analysisId;
+    private Double confidenceScore;    // audio-derived, kept as-is when re-scoring text
+}
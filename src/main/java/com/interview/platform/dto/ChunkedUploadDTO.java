@@ -0,0 +1,24 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadDTO {
+    private String uploadId;
+    private String kind;
+    private String status;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Long receivedBytes;
+    // Offset of the first chunk still missing; null once everything has arrived
+    private Long nextOffset;
+    private Integer missingChunks;
+    private String contentHash;
+    private Long answerId;
+    private String expiresAt;
+    private AnalysisJobDTO job;
+}
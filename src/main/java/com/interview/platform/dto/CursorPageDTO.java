@@ -0,0 +1,16 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+// A page of a keyset listing; pass nextCursor back as ?cursor= for the next page (null = last page)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private Long nextCursor;
+    private int limit;
+}
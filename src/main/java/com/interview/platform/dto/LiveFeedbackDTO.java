@@ -0,0 +1,23 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running counts for an answer that is still being spoken
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveFeedbackDTO {
+    private String liveId;
+    private Long sessionId;
+    private Long questionId;
+    private long sequence;              // increases with every chunk; clients drop older updates
+    private int wordCount;
+    private int fillerCount;
+    private int wordsPerMinute;
+    private int keywordMatches;
+    private int keywordTotal;
+    private double keywordCoverage;     // percentage of expected keywords heard so far
+    private int elapsedSeconds;
+}
@@ -0,0 +1,16 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTranscriptionDTO {
+    private Long answerId;
+    private String status;
+    private Integer attempts;
+    private String nextAttemptAt;
+    private String lastError;
+}
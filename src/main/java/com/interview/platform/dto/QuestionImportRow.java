@@ -0,0 +1,22 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One question as it appears in an import file (CSV column / NDJSON field names)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionImportRow {
+    private Long questionId;          // present = update that question (or create it with this id)
+    private String questionText;
+    private String category;
+    private String subcategory;
+    private String difficulty;
+    private String expectedKeywords;
+    private Integer idealDuration;
+    private String tips;
+    private String sampleAnswer;
+    private Boolean isActive;
+}
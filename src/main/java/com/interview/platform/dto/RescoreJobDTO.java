@@ -0,0 +1,22 @@
+package com.interview.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RescoreJobDTO {
+    private Long jobId;
+    private String status;
+    private Long lastAnswerId;
+    private Long processedCount;
+    private Long totalAnswers;
+    private Double percentComplete;
+    private Double rowsPerSecond;
+    private String startedAt;
+    private String updatedAt;
+    private String finishedAt;
+    private String errorMessage;
+}
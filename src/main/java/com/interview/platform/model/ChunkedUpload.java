@@ -0,0 +1,85 @@
+package com.interview.platform.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Resumable upload of an answer recording, assembled chunk by chunk in a staging file
+@Entity
+@Table(name = "chunked_uploads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUpload {
+
+    @Id
+    @Column(name = "upload_id", length = 36)
+    private String uploadId;
+
+    @Column(name = "owner_email", nullable = false)
+    private String ownerEmail;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", length = 10)
+    private Kind kind;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    // Bitmap of received chunks (java.util.BitSet byte layout)
+    @Column(name = "received_chunks", length = 1024)
+    private byte[] receivedChunks;
+
+    @Column(name = "received_bytes")
+    private Long receivedBytes = 0L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Status status = Status.Open;
+
+    // Set once the assembled file is in the blob store, so a retried finalize skips that step
+    @Column(name = "blob_location", length = 500)
+    private String blobLocation;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "duration_millis")
+    private Long durationMillis;
+
+    @Column(name = "answer_id")
+    private Long answerId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Kind {
+        Audio, Video
+    }
+
+    public enum Status {
+        Open, Completing, Completed
+    }
+}
@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "interview_sessions")
+@Table(name = "interview_sessions", indexes = {
+        @Index(name = "idx_sessions_status", columnList = "status"),
+        @Index(name = "idx_sessions_start_time", columnList = "start_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +45,14 @@ public class InterviewSession {
     @Column(name = "overall_score")
     private Double overallScore = 0.0;
     
+    // Running aggregates behind overallScore, bumped in place as answers are scored.
+    // Null on sessions created before they existed; the first score rebuilds them.
+    @Column(name = "score_sum")
+    private Double scoreSum = 0.0;
+    
+    @Column(name = "scored_answers")
+    private Integer scoredAnswers = 0;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private Status status = Status.InProgress;
@@ -0,0 +1,70 @@
+package com.interview.platform.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Answer whose recording is saved but could not be transcribed yet; retried until speech-to-text recovers
+@Entity
+@Table(name = "pending_transcriptions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTranscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "pending_id")
+    private Long pendingId;
+
+    @Column(name = "answer_id", nullable = false, unique = true)
+    private Long answerId;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "audio_path", nullable = false, length = 500)
+    private String audioPath;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "audio_size")
+    private Long audioSize;
+
+    @Column(name = "duration_millis")
+    private Long durationMillis;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Status status = Status.Pending;
+
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    // Also used as a lease: pushed forward while an attempt is running
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Two instances draining the queue cannot both claim the same row
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        Pending, Failed
+    }
+}
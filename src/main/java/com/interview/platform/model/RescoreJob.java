@@ -0,0 +1,56 @@
+package com.interview.platform.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rescore_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RescoreJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Status status = Status.Running;
+
+    // Keyset checkpoint: every answer with a smaller or equal id has been re-scored
+    @Column(name = "last_answer_id")
+    private Long lastAnswerId = 0L;
+
+    @Column(name = "processed_count")
+    private Long processedCount = 0L;
+
+    @Column(name = "total_answers")
+    private Long totalAnswers = 0L;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+        updatedAt = startedAt;
+    }
+
+    public enum Status {
+        Running, Completed, Cancelled, Failed
+    }
+}
@@ -0,0 +1,35 @@
+package com.interview.platform.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Persistent tier of the transcription cache: one row per distinct recording
+@Entity
+@Table(name = "transcription_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptionCacheEntry {
+
+    // Hex SHA-256 of the audio bytes
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "transcription", columnDefinition = "TEXT")
+    private String transcription;
+
+    @Column(name = "audio_size")
+    private Long audioSize;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
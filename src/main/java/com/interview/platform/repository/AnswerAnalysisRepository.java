@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +14,9 @@ public interface AnswerAnalysisRepository extends JpaRepository<AnswerAnalysis,
     
     @Query("SELECT AVG(a.overallScore) FROM AnswerAnalysis a JOIN a.answer ans WHERE ans.user = :user")
     Double findAverageScoreByUser(@Param("user") User user);
+    
+    // {count, sum} of scored answers in a session, for rebuilding its running aggregates
+    @Query("SELECT COUNT(a.overallScore), COALESCE(SUM(a.overallScore), 0.0) FROM AnswerAnalysis a " +
+           "WHERE a.answer.session.sessionId = :sessionId")
+    List<Object[]> sumScoresBySession(@Param("sessionId") Long sessionId);
 }
@@ -0,0 +1,12 @@
+package com.interview.platform.repository;
+
+import com.interview.platform.model.ChunkedUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChunkedUploadRepository extends JpaRepository<ChunkedUpload, String> {
+    List<ChunkedUpload> findByExpiresAtBefore(LocalDateTime cutoff);
+}
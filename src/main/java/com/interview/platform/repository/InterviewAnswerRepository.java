@@ -1,6 +1,8 @@
 package com.interview.platform.repository;
 
+import com.interview.platform.dto.AnswerScoringRow;
 import com.interview.platform.model.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,4 +19,16 @@ public interface InterviewAnswerRepository extends JpaRepository<InterviewAnswer
     @Query("SELECT a FROM InterviewAnswer a WHERE a.user = :user AND a.question = :question ORDER BY a.answeredAt DESC")
     List<InterviewAnswer> findByUserAndQuestionOrderByAnsweredAtDesc(@Param("user") User user, 
                                                                        @Param("question") Question question);
+
+    // Categories the user has answered most, most answers first
+    @Query("SELECT q.category FROM InterviewAnswer a JOIN a.question q WHERE a.user.userId = :userId " +
+           "GROUP BY q.category ORDER BY COUNT(a) DESC, q.category")
+    List<String> findTopCategoriesByUser(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset page for batch re-scoring: next analyzed answers after the checkpoint id, as flat rows
+    @Query("SELECT new com.interview.platform.dto.AnswerScoringRow(a.answerId, a.session.sessionId, a.transcription, " +
+           "a.duration, q.questionId, q.expectedKeywords, q.updatedAt, an.analysisId, an.confidenceScore) " +
+           "FROM InterviewAnswer a JOIN a.question q JOIN a.analysis an " +
+           "WHERE a.answerId > :afterId ORDER BY a.answerId")
+    List<AnswerScoringRow> findScoringRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,10 +1,14 @@
 package com.interview.platform.repository;
 
+import com.interview.platform.dto.AdminSessionRowDTO;
 import com.interview.platform.model.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -21,4 +25,72 @@ public interface InterviewSessionRepository extends JpaRepository<InterviewSessi
     Double findAverageScoreByUser(@Param("user") User user);
     Long countByUser(User user);
 
+    @Query("SELECT AVG(s.overallScore) FROM InterviewSession s WHERE s.overallScore IS NOT NULL")
+    Double findAverageOverallScore();
+
+    // {status, count} per session status
+    @Query("SELECT s.status, COUNT(s) FROM InterviewSession s GROUP BY s.status")
+    List<Object[]> countByStatus();
+
+    // Dashboard: the user's newest sessions, each row also carrying the user's totals. Window aggregates
+    // are computed before LIMIT, so one index range scan on (user_id, start_time) yields both. Columns:
+    // {session_id, session_type, start_time, total_questions, questions_answered, overall_score, status,
+    //  total_sessions, average_score (completed sessions), questions_answered_total}
+    @Query(value = "SELECT session_id, session_type, start_time, total_questions, questions_answered, " +
+           "overall_score, status, COUNT(*) OVER () AS total_sessions, " +
+           "AVG(CASE WHEN status = 'Completed' THEN overall_score END) OVER () AS average_score, " +
+           "SUM(COALESCE(questions_answered, 0)) OVER () AS questions_answered_total " +
+           "FROM interview_sessions WHERE user_id = :userId ORDER BY start_time DESC, session_id DESC " +
+           "LIMIT :limit", nativeQuery = true)
+    List<Object[]> findDashboardRows(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // Keyset listing for the admin panel: rows after the cursor id, null filters match everything
+    String ADMIN_ROW = "SELECT new com.interview.platform.dto.AdminSessionRowDTO(s.sessionId, u.userId, u.email, " +
+            "s.sessionType, s.status, s.startTime, s.endTime, s.totalQuestions, s.questionsAnswered, s.overallScore) " +
+            "FROM InterviewSession s JOIN s.user u " +
+            "WHERE (:status IS NULL OR s.status = :status) AND (:userId IS NULL OR u.userId = :userId) " +
+            "AND (:from IS NULL OR s.startTime >= :from) AND (:to IS NULL OR s.startTime < :to) ";
+
+    @Query(ADMIN_ROW + "AND s.sessionId > :cursor ORDER BY s.sessionId ASC")
+    List<AdminSessionRowDTO> findAdminRowsAfter(@Param("cursor") Long cursor,
+                                                @Param("status") InterviewSession.Status status,
+                                                @Param("userId") Long userId,
+                                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                Pageable pageable);
+
+    @Query(ADMIN_ROW + "AND s.sessionId < :cursor ORDER BY s.sessionId DESC")
+    List<AdminSessionRowDTO> findAdminRowsBefore(@Param("cursor") Long cursor,
+                                                 @Param("status") InterviewSession.Status status,
+                                                 @Param("userId") Long userId,
+                                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                 Pageable pageable);
+
+    // Atomic in-place updates: concurrent submissions to one session serialize on the row lock
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.questionsAnswered = COALESCE(s.questionsAnswered, 0) + :delta " +
+           "WHERE s.sessionId = :sessionId")
+    int addQuestionsAnswered(@Param("sessionId") Long sessionId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.status = :status, s.endTime = :endTime WHERE s.sessionId = :sessionId")
+    int markCompleted(@Param("sessionId") Long sessionId, @Param("status") InterviewSession.Status status,
+                      @Param("endTime") LocalDateTime endTime);
+
+    // overall_score is assigned first so it reads the pre-update sum and count on every database
+    // (MySQL applies SET assignments left to right). Native because HQL would cast the parameters.
+    @Modifying
+    @Query(value = "UPDATE interview_sessions SET " +
+           "overall_score = (score_sum + :scoreDelta) / (scored_answers + :countDelta), " +
+           "score_sum = score_sum + :scoreDelta, " +
+           "scored_answers = scored_answers + :countDelta " +
+           "WHERE session_id = :sessionId AND score_sum IS NOT NULL AND scored_answers IS NOT NULL " +
+           "AND scored_answers + :countDelta > 0", nativeQuery = true)
+    int addScore(@Param("sessionId") Long sessionId, @Param("scoreDelta") double scoreDelta,
+                 @Param("countDelta") int countDelta);
+
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.scoreSum = :scoreSum, s.scoredAnswers = :scoredAnswers, " +
+           "s.overallScore = :overallScore WHERE s.sessionId = :sessionId")
+    int setScoreAggregates(@Param("sessionId") Long sessionId, @Param("scoreSum") double scoreSum,
+                           @Param("scoredAnswers") int scoredAnswers, @Param("overallScore") double overallScore);
 }
@@ -0,0 +1,18 @@
+package com.interview.platform.repository;
+
+import com.interview.platform.model.PendingTranscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PendingTranscriptionRepository extends JpaRepository<PendingTranscription, Long> {
+    List<PendingTranscription> findTop20ByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            PendingTranscription.Status status, LocalDateTime now);
+
+    Optional<PendingTranscription> findByAnswerId(Long answerId);
+
+    long countByStatus(PendingTranscription.Status status);
+}
@@ -1,10 +1,8 @@
 package com.interview.platform.repository;
 
 import com.interview.platform.model.Question;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -15,12 +13,13 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByDifficulty(Question.Difficulty difficulty);
     List<Question> findByCategoryAndDifficulty(String category, Question.Difficulty difficulty);
     List<Question> findByIsActiveTrue();
+    long countByIsActiveTrue();
 
-    // ✅ Random questions by category
-    @Query(value = "SELECT * FROM questions WHERE category = :category AND is_active = true ORDER BY RAND()", nativeQuery = true)
-    List<Question> findRandomQuestionsByCategory(@Param("category") String category, Pageable pageable);
+    // {category, count} per category
+    @Query("SELECT q.category, COUNT(q) FROM Question q GROUP BY q.category")
+    List<Object[]> countByCategory();
 
-    // ✅ Random questions from all categories
-    @Query(value = "SELECT * FROM questions WHERE is_active = true ORDER BY RAND()", nativeQuery = true)
-    List<Question> findRandomQuestions(Pageable pageable);
+    // {id, category, difficulty} of every active question, for the in-memory sampling index
+    @Query("SELECT q.questionId, q.category, q.difficulty FROM Question q WHERE q.isActive = true")
+    List<Object[]> findActiveSamplingRows();
 }
@@ -0,0 +1,12 @@
+package com.interview.platform.repository;
+
+import com.interview.platform.model.RescoreJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface RescoreJobRepository extends JpaRepository<RescoreJob, Long> {
+    Optional<RescoreJob> findFirstByStatusOrderByJobIdDesc(RescoreJob.Status status);
+    Optional<RescoreJob> findFirstByOrderByJobIdDesc();
+}
@@ -0,0 +1,19 @@
+package com.interview.platform.repository;
+
+import com.interview.platform.model.TranscriptionCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+@Repository
+public interface TranscriptionCacheRepository extends JpaRepository<TranscriptionCacheEntry, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TranscriptionCacheEntry e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,10 +1,13 @@
 package com.interview.platform.repository;
 
+import com.interview.platform.dto.AdminUserRowDTO;
 import com.interview.platform.model.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findByIndustry(String industry);
+
+    // {industry, count} per industry, null included
+    @Query("SELECT u.industry, COUNT(u) FROM User u GROUP BY u.industry")
+    List<Object[]> countByIndustry();
+
+    // {experienceLevel, count} per level, null included
+    @Query("SELECT u.experienceLevel, COUNT(u) FROM User u GROUP BY u.experienceLevel")
+    List<Object[]> countByExperienceLevel();
+
+    // Keyset listing for the admin panel: rows after the cursor id, null filters match everything
+    String ADMIN_ROW = "SELECT new com.interview.platform.dto.AdminUserRowDTO(u.userId, u.fullName, u.email, " +
+            "u.industry, u.experienceLevel, u.role, u.enabled, u.createdAt, u.lastLogin) FROM User u " +
+            "WHERE (:role IS NULL OR u.role = :role) AND (:industry IS NULL OR u.industry = :industry) " +
+            "AND (:from IS NULL OR u.createdAt >= :from) AND (:to IS NULL OR u.createdAt < :to) ";
+
+    @Query(ADMIN_ROW + "AND u.userId > :cursor ORDER BY u.userId ASC")
+    List<AdminUserRowDTO> findAdminRowsAfter(@Param("cursor") Long cursor, @Param("role") String role,
+                                             @Param("industry") String industry,
+                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                             Pageable pageable);
+
+    @Query(ADMIN_ROW + "AND u.userId < :cursor ORDER BY u.userId DESC")
+    List<AdminUserRowDTO> findAdminRowsBefore(@Param("cursor") Long cursor, @Param("role") String role,
+                                              @Param("industry") String industry,
+                                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                              Pageable pageable);
 }
@@ -0,0 +1,105 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.AdminSessionRowDTO;
+import com.interview.platform.dto.AdminUserRowDTO;
+import com.interview.platform.dto.CursorPageDTO;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor (keyset) listings of users and sessions for the admin panel.
+ *
+ * Rows are DTO projections ordered by primary key. A page asks for the rows
+ * past the last id of the previous page, so the database seeks straight to
+ * it instead of counting through an OFFSET, and every page costs the same
+ * however deep the admin has scrolled. Ids grow with creation time, so
+ * "desc" lists newest first.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdminListingService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Value("${admin.listing.max-page-size:200}")
+    private int maxPageSize;
+
+    public CursorPageDTO<AdminUserRowDTO> listUsers(Long cursor, int limit, String order, String role,
+                                                    String industry, LocalDate from, LocalDate to) {
+        int size = pageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<AdminUserRowDTO> rows = descending(order)
+                ? userRepository.findAdminRowsBefore(cursor != null ? cursor : Long.MAX_VALUE,
+                        blankToNull(role), blankToNull(industry), startOf(from), endOf(to), page)
+                : userRepository.findAdminRowsAfter(cursor != null ? cursor : 0L,
+                        blankToNull(role), blankToNull(industry), startOf(from), endOf(to), page);
+        return toPage(rows, size, AdminUserRowDTO::getUserId);
+    }
+
+    public CursorPageDTO<AdminSessionRowDTO> listSessions(Long cursor, int limit, String order,
+                                                          InterviewSession.Status status, Long userId,
+                                                          LocalDate from, LocalDate to) {
+        int size = pageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<AdminSessionRowDTO> rows = descending(order)
+                ? sessionRepository.findAdminRowsBefore(cursor != null ? cursor : Long.MAX_VALUE,
+                        status, userId, startOf(from), endOf(to), page)
+                : sessionRepository.findAdminRowsAfter(cursor != null ? cursor : 0L,
+                        status, userId, startOf(from), endOf(to), page);
+        return toPage(rows, size, AdminSessionRowDTO::getSessionId);
+    }
+
+    // One extra row is fetched to learn whether another page exists
+    private static <T> CursorPageDTO<T> toPage(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null, size);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPageDTO<>(List.copyOf(items), idOf.apply(items.get(size - 1)), size);
+    }
+
+    private int pageSize(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static boolean descending(String order) {
+        if (order == null || order.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        if (order.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        throw new IllegalArgumentException("order must be asc or desc");
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static LocalDateTime startOf(LocalDate from) {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    // "to" is inclusive of the whole day
+    private static LocalDateTime endOf(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+}
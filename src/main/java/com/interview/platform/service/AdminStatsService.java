@@ -0,0 +1,135 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.repository.QuestionRepository;
+import com.interview.platform.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Admin dashboard numbers, computed with COUNT/AVG/GROUP BY in the database
+ * so neither response time nor heap use depends on table size.
+ *
+ * Results are cached per statistic for {@code admin.stats.cache-ttl-seconds};
+ * concurrent requests for an expired entry wait for a single recomputation.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdminStatsService {
+
+    private static final String NOT_SPECIFIED = "Not Specified";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Value("${admin.stats.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    private record Cached(Object value, long expiresAt) {
+    }
+
+    // ✅ Headline numbers for the admin dashboard
+    public Map<String, Object> getDashboardStats() {
+        return cached("dashboard", () -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalUsers", userRepository.count());
+            stats.put("totalQuestions", questionRepository.count());
+            stats.put("totalSessions", sessionRepository.count());
+            stats.put("activeQuestions", questionRepository.countByIsActiveTrue());
+            Double avgScore = sessionRepository.findAverageOverallScore();
+            stats.put("averageScore", avgScore != null ? avgScore : 0.0);
+            return stats;
+        });
+    }
+
+    // ✅ Session counts by status (one GROUP BY)
+    public Map<String, Object> getSessionStats() {
+        return cached("sessions", () -> {
+            Map<InterviewSession.Status, Long> byStatus = new HashMap<>();
+            long total = 0;
+            for (Object[] row : sessionRepository.countByStatus()) {
+                long count = ((Number) row[1]).longValue();
+                if (row[0] != null) {
+                    byStatus.put((InterviewSession.Status) row[0], count);
+                }
+                total += count;
+            }
+            long completed = byStatus.getOrDefault(InterviewSession.Status.Completed, 0L);
+            long inProgress = byStatus.getOrDefault(InterviewSession.Status.InProgress, 0L);
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("total", total);
+            stats.put("completed", completed);
+            stats.put("inProgress", inProgress);
+            stats.put("abandoned", total - completed - inProgress);
+            return stats;
+        });
+    }
+
+    public Map<String, Long> getUsersByIndustry() {
+        return cached("users-by-industry", () -> grouped(userRepository.countByIndustry()));
+    }
+
+    public Map<String, Long> getUsersByExperience() {
+        return cached("users-by-experience", () -> grouped(userRepository.countByExperienceLevel()));
+    }
+
+    public Map<String, Long> getQuestionsByCategory() {
+        return cached("questions-by-category", () -> grouped(questionRepository.countByCategory()));
+    }
+
+    public Map<String, Object> getPlatformUsage() {
+        return cached("platform-usage", () -> {
+            Map<String, Object> usage = new HashMap<>();
+            usage.put("totalUsers", userRepository.count());
+            usage.put("totalSessions", sessionRepository.count());
+            usage.put("totalQuestions", questionRepository.count());
+            usage.put("activeQuestions", questionRepository.countByIsActiveTrue());
+            usage.put("monthlyActiveUsers", userRepository.count());
+            return usage;
+        });
+    }
+
+    // Admin writes call this so their own change shows up straight away
+    public void invalidate() {
+        cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> loader) {
+        long now = System.nanoTime();
+        // compute() holds the entry's lock, so one request reloads while the others wait for it
+        Cached entry = cache.compute(key, (k, existing) ->
+                existing != null && now - existing.expiresAt() < 0
+                        ? existing
+                        : new Cached(loader.get(), System.nanoTime() + cacheTtlSeconds * 1_000_000_000L));
+        return (T) entry.value();
+    }
+
+    // {label, count} rows; null and blank labels are reported as "Not Specified"
+    private static Map<String, Long> grouped(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            String label = row[0] == null || row[0].toString().isBlank() ? NOT_SPECIFIED : row[0].toString();
+            counts.merge(label, ((Number) row[1]).longValue(), Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,392 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.AnalysisJobDTO;
+import com.interview.platform.dto.FeedbackDTO;
+import com.interview.platform.dto.PendingTranscriptionDTO;
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.PendingTranscription;
+import com.interview.platform.repository.PendingTranscriptionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs transcription and scoring off the request thread.
+ *
+ * The answer is persisted before the job is queued, so a caller only waits for
+ * the insert; transcription, analysis and session updates happen on the bounded
+ * {@code analysisExecutor}. Job state is kept in memory for a retention window.
+ *
+ * When speech-to-text is down, refusing calls or too slow, the answer is not
+ * failed: it is written to {@code pending_transcriptions} and retried with
+ * backoff by {@link #drainDeferred()} once the provider accepts calls again,
+ * which also survives a restart.
+ */
+@Service
+public class AnalysisJobService {
+
+    public enum JobStatus {
+        QUEUED, TRANSCRIBING, ANALYZING, COMPLETED, DEFERRED, FAILED
+    }
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private SpeechToTextService speechToTextService;
+
+    @Autowired
+    private SpeechResilience speechResilience;
+
+    @Autowired
+    private PendingTranscriptionRepository pendingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("analysisExecutor")
+    private ThreadPoolTaskExecutor analysisExecutor;
+
+    @Value("${analysis.async.job-retention-minutes:30}")
+    private long jobRetentionMinutes;
+
+    @Value("${assemblyai.retry.base-delay-seconds:30}")
+    private long retryBaseDelaySeconds;
+
+    @Value("${assemblyai.retry.max-delay-seconds:1800}")
+    private long retryMaxDelaySeconds;
+
+    @Value("${assemblyai.retry.max-attempts:20}")
+    private int retryMaxAttempts;
+
+    // Longer than the poller's max wait, so a running attempt is never picked up twice
+    @Value("${assemblyai.retry.lease-seconds:900}")
+    private long retryLeaseSeconds;
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong deferredCount = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("speech.deferred.pending", deferredCount, AtomicLong::get)
+                .description("Answers waiting for speech-to-text to recover")
+                .register(meterRegistry);
+    }
+
+    // ✅ Queue a typed answer for analysis
+    public AnalysisJobDTO submitText(Long sessionId, Long questionId, String transcription, Integer duration) {
+        return submitText(sessionId, questionId, transcription, duration, null);
+    }
+
+    // Typed answer that comes with a stored video recording
+    public AnalysisJobDTO submitText(Long sessionId, Long questionId, String transcription, Integer duration,
+                                     String videoPath) {
+        InterviewAnswer answer = interviewService.saveAnswer(
+                sessionId, questionId, videoPath, null, transcription, duration);
+        return enqueue(new AnalysisJob(answer.getAnswerId(), sessionId, null));
+    }
+
+    // ✅ Save the recording now, transcribe and analyze it later
+    public AnalysisJobDTO submitAudio(Long sessionId, Long questionId, MultipartFile audioFile) throws Exception {
+        return submitRecording(sessionId, questionId, speechToTextService.saveAudioFile(audioFile), false);
+    }
+
+    // ✅ Transcribe and analyze a recording already in the blob store (the provider takes video as well)
+    public AnalysisJobDTO submitRecording(Long sessionId, Long questionId, StoredAudio recording, boolean video) {
+        Integer seconds = recording.durationSeconds();
+        InterviewAnswer answer = interviewService.saveAnswer(sessionId, questionId,
+                video ? recording.path() : null, video ? null : recording.path(), null, seconds != null ? seconds : 0);
+        return enqueue(new AnalysisJob(answer.getAnswerId(), sessionId, recording));
+    }
+
+    public Optional<AnalysisJobDTO> getJob(String jobId) {
+        AnalysisJob job = jobs.get(jobId);
+        return job != null ? Optional.of(job.toDTO()) : Optional.empty();
+    }
+
+    private AnalysisJobDTO enqueue(AnalysisJob job) {
+        jobs.put(job.jobId, job);
+        try {
+            analysisExecutor.execute(() -> process(job));
+        } catch (RejectedExecutionException e) {
+            // Nothing will ever analyze this answer, so don't leave it behind
+            jobs.remove(job.jobId);
+            interviewService.deleteAnswer(job.answerId);
+            job.fail("Analysis queue is full, please retry shortly");
+            throw new AnalysisQueueFullException(job.toDTO());
+        }
+        return job.toDTO();
+    }
+
+    private void process(AnalysisJob job) {
+        if (job.audio == null) {
+            analyze(job);
+            return;
+        }
+        job.status = JobStatus.TRANSCRIBING;
+        transcribeAndAnalyze(job.answerId, job.audio, () -> job.status = JobStatus.ANALYZING)
+                .whenComplete((feedback, error) -> {
+                    if (error == null) {
+                        job.complete(feedback);
+                    } else if (SpeechResilience.isTransient(error)) {
+                        try {
+                            defer(job.answerId, job.sessionId, job.audio, error);
+                            job.defer("Transcription deferred: " + unwrap(error).getMessage());
+                        } catch (Exception e) {
+                            fail(job, e);
+                        }
+                    } else {
+                        fail(job, unwrap(error));
+                    }
+                });
+    }
+
+    private void analyze(AnalysisJob job) {
+        try {
+            job.status = JobStatus.ANALYZING;
+            job.complete(analysisService.analyzeAnswer(job.answerId));
+        } catch (Exception e) {
+            fail(job, e);
+        }
+    }
+
+    // The worker is released while AssemblyAI works; the poller resumes on the analysis pool
+    private CompletableFuture<FeedbackDTO> transcribeAndAnalyze(Long answerId, StoredAudio audio,
+                                                             Runnable onTranscribed) {
+        CompletableFuture<FeedbackDTO> result = new CompletableFuture<>();
+        CompletableFuture<String> transcription;
+        try {
+            transcription = speechToTextService.transcribeAudioAsync(audio);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        transcription.whenCompleteAsync((text, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            try {
+                Integer seconds = audio.durationSeconds();
+                interviewService.updateTranscription(answerId, text,
+                        seconds != null ? seconds : interviewService.estimateDuration(text));
+                onTranscribed.run();
+                result.complete(analysisService.analyzeAnswer(answerId));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }, this::resume);
+        return result;
+    }
+
+    // ✅ Keep an answer whose transcription failed transiently; drainDeferred retries it
+    public PendingTranscriptionDTO defer(Long answerId, Long sessionId, StoredAudio audio, Throwable reason) {
+        PendingTranscription pending = pendingRepository.findByAnswerId(answerId).orElse(null);
+        if (pending == null) {
+            pending = new PendingTranscription();
+            pending.setAnswerId(answerId);
+            pending.setSessionId(sessionId);
+            pending.setAudioPath(audio.path());
+            pending.setContentHash(audio.contentHash());
+            pending.setAudioSize(audio.size());
+            pending.setDurationMillis(audio.durationMillis());
+            deferredCount.incrementAndGet();
+        }
+        pending.setStatus(PendingTranscription.Status.Pending);
+        pending.setLastError(abbreviate(unwrap(reason).getMessage()));
+        pending.setNextAttemptAt(LocalDateTime.now().plusSeconds(retryDelaySeconds(pending.getAttempts())));
+        pending = pendingRepository.save(pending);
+
+        System.out.println("⏸️ Transcription of answer " + answerId + " deferred: " + pending.getLastError());
+        return toDTO(pending);
+    }
+
+    public Optional<PendingTranscriptionDTO> getDeferred(Long answerId) {
+        return pendingRepository.findByAnswerId(answerId).map(this::toDTO);
+    }
+
+    // ✅ Retry deferred transcriptions that are due, as long as the provider accepts calls
+    @Scheduled(fixedDelayString = "${assemblyai.retry.poll-interval-ms:15000}")
+    public void drainDeferred() {
+        deferredCount.set(pendingRepository.countByStatus(PendingTranscription.Status.Pending));
+        if (!speechResilience.isCallPermitted()) {
+            return;
+        }
+
+        List<PendingTranscription> due = pendingRepository
+                .findTop20ByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                        PendingTranscription.Status.Pending, LocalDateTime.now());
+        for (PendingTranscription pending : due) {
+            if (!speechResilience.isCallPermitted()) {
+                break;
+            }
+            PendingTranscription claimed;
+            try {
+                pending.setAttempts(pending.getAttempts() + 1);
+                pending.setNextAttemptAt(LocalDateTime.now().plusSeconds(retryLeaseSeconds));
+                claimed = pendingRepository.save(pending);
+            } catch (OptimisticLockingFailureException e) {
+                continue;   // another instance took it
+            }
+
+            StoredAudio audio = new StoredAudio(claimed.getAudioPath(), claimed.getContentHash(),
+                    claimed.getAudioSize() != null ? claimed.getAudioSize() : 0L, claimed.getDurationMillis());
+            transcribeAndAnalyze(claimed.getAnswerId(), audio, () -> { })
+                    .whenComplete((feedback, error) -> finishDeferred(claimed, error));
+        }
+    }
+
+    private void finishDeferred(PendingTranscription pending, Throwable error) {
+        try {
+            if (error == null) {
+                pendingRepository.delete(pending);
+                deferredCount.decrementAndGet();
+                System.out.println("✅ Deferred transcription of answer " + pending.getAnswerId() + " completed");
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if (cause instanceof SpeechResilience.SpeechUnavailableException) {
+                // Refused before reaching the provider; does not count as an attempt
+                pending.setAttempts(pending.getAttempts() - 1);
+            }
+            pending.setLastError(abbreviate(cause.getMessage()));
+            if (!SpeechResilience.isTransient(cause) || pending.getAttempts() >= retryMaxAttempts) {
+                pending.setStatus(PendingTranscription.Status.Failed);
+                deferredCount.decrementAndGet();
+                System.err.println("ERROR: giving up on transcription of answer " + pending.getAnswerId()
+                        + " after " + pending.getAttempts() + " attempts: " + cause.getMessage());
+            } else {
+                pending.setNextAttemptAt(LocalDateTime.now().plusSeconds(retryDelaySeconds(pending.getAttempts())));
+            }
+            pendingRepository.save(pending);
+        } catch (Exception e) {
+            // The lease runs out and the row is retried
+            System.err.println("ERROR updating deferred transcription " + pending.getPendingId() + ": " + e.getMessage());
+        }
+    }
+
+    private long retryDelaySeconds(int attempts) {
+        long delay = retryBaseDelaySeconds << Math.min(attempts, 16);
+        return Math.min(delay, retryMaxDelaySeconds);
+    }
+
+    // Back onto the analysis pool; if it is saturated, finish on the poller thread rather than lose the job
+    private void resume(Runnable continuation) {
+        try {
+            analysisExecutor.execute(continuation);
+        } catch (RejectedExecutionException e) {
+            continuation.run();
+        }
+    }
+
+    private PendingTranscriptionDTO toDTO(PendingTranscription pending) {
+        return new PendingTranscriptionDTO(pending.getAnswerId(), pending.getStatus().name(), pending.getAttempts(),
+                pending.getNextAttemptAt() != null ? pending.getNextAttemptAt().toString() : null,
+                pending.getLastError());
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 497) + "...";
+    }
+
+    private void fail(AnalysisJob job, Throwable e) {
+        System.err.println("ERROR in analysis job " + job.jobId + ": " + e.getMessage());
+        e.printStackTrace();
+        job.fail(e.getMessage());
+    }
+
+    // ✅ Drop finished jobs once callers have had time to collect them
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMinutes(jobRetentionMinutes));
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    /**
+     * Thrown when the bounded executor cannot take another job.
+     */
+    public static class AnalysisQueueFullException extends RuntimeException {
+        private final AnalysisJobDTO job;
+
+        public AnalysisQueueFullException(AnalysisJobDTO job) {
+            super(job.getError());
+            this.job = job;
+        }
+
+        public AnalysisJobDTO getJob() {
+            return job;
+        }
+    }
+
+    private static class AnalysisJob {
+        private final String jobId = UUID.randomUUID().toString();
+        private final Long answerId;
+        private final Long sessionId;
+        private final StoredAudio audio;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile FeedbackDTO feedback;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        AnalysisJob(Long answerId, Long sessionId, StoredAudio audio) {
+            this.answerId = answerId;
+            this.sessionId = sessionId;
+            this.audio = audio;
+        }
+
+        void complete(FeedbackDTO result) {
+            feedback = result;
+            completedAt = LocalDateTime.now();
+            status = JobStatus.COMPLETED;
+        }
+
+        void fail(String message) {
+            error = message;
+            completedAt = LocalDateTime.now();
+            status = JobStatus.FAILED;
+        }
+
+        // Handed to the durable queue; progress is then read from the answer's feedback endpoint
+        void defer(String message) {
+            error = message;
+            completedAt = LocalDateTime.now();
+            status = JobStatus.DEFERRED;
+        }
+
+        AnalysisJobDTO toDTO() {
+            return new AnalysisJobDTO(jobId, answerId, status.name(), submittedAt.toString(),
+                    completedAt != null ? completedAt.toString() : null, error, feedback);
+        }
+    }
+}
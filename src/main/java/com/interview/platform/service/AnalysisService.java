@@ -1,17 +1,24 @@
 package com.interview.platform.service;
 
+import com.interview.platform.analysis.AnswerScoring;
+import com.interview.platform.analysis.ScoreCard;
+import com.interview.platform.analysis.TranscriptStats;
+import com.interview.platform.analysis.stage.AnalysisInput;
+import com.interview.platform.analysis.stage.AnalysisMetrics;
+import com.interview.platform.analysis.stage.AnalysisPipeline;
 import com.interview.platform.dto.FeedbackDTO;
 import com.interview.platform.model.AnswerAnalysis;
 import com.interview.platform.model.InterviewAnswer;
 import com.interview.platform.model.Question;
 import com.interview.platform.repository.AnswerAnalysisRepository;
+import com.interview.platform.repository.InterviewAnswerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.ArrayList;
+
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -20,7 +27,31 @@ public class AnalysisService {
     @Autowired
     private AnswerAnalysisRepository analysisRepository;
     
+    @Autowired
+    private InterviewAnswerRepository answerRepository;
+    
+    @Autowired
+    private AnalysisPipeline analysisPipeline;
+    
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private DashboardService dashboardService;
+    
+    // Used by background jobs, which only hold the answer id
+    public FeedbackDTO analyzeAnswer(Long answerId) {
+        InterviewAnswer answer = answerRepository.findById(answerId)
+                .orElseThrow(() -> new RuntimeException("Answer not found with ID: " + answerId));
+        return analyzeAnswer(answer);
+    }
+    
     public FeedbackDTO analyzeAnswer(InterviewAnswer answer) {
+        return analyzeAnswer(answer, null);
+    }
+    
+    // Live answers pass the lexical stats accumulated while they streamed in
+    public FeedbackDTO analyzeAnswer(InterviewAnswer answer, TranscriptStats precomputedStats) {
         String transcription = answer.getTranscription();
         Integer duration = answer.getDuration();
         Question question = answer.getQuestion();
@@ -33,71 +64,64 @@ public class AnalysisService {
         // Handle null/empty transcription
         if (transcription == null || transcription.trim().isEmpty()) {
             System.err.println("ERROR: Transcription is null or empty!");
-            transcription = "No answer provided";
-        }
-        
-        // Handle null duration
-        if (duration == null || duration == 0) {
-            duration = 60; // Default 1 minute
+            precomputedStats = null;    // scored as the placeholder text instead
         }
-        
-        // Perform analysis
-        int fillerCount = countFillerWords(transcription);
-        int wpm = calculateWordsPerMinute(transcription, duration);
-        double keywordScore = calculateKeywordMatch(transcription, question != null ? question.getExpectedKeywords() : "");
-        
-        System.out.println("Filler words: " + fillerCount);
-        System.out.println("WPM: " + wpm);
-        System.out.println("Keyword score: " + keywordScore);
-        
-        // Calculate scores
-        double communicationScore = calculateCommunicationScore(fillerCount, wpm);
-        double contentScore = keywordScore;
-        double confidenceScore = 7.5; // Placeholder
-        
-        double overallScore = (contentScore * 0.4) + (communicationScore * 0.35) + (confidenceScore * 0.25);
-        
-        System.out.println("Content Score: " + contentScore);
-        System.out.println("Communication Score: " + communicationScore);
-        System.out.println("Overall Score: " + overallScore);
-        
-        // Generate feedback
-        List<String> strengths = generateStrengths(communicationScore, contentScore);
-        List<String> weaknesses = generateWeaknesses(fillerCount, wpm, keywordScore);
-        List<String> tips = generateTips(fillerCount, keywordScore);
-        
-        // Save analysis
-        AnswerAnalysis analysis = new AnswerAnalysis();
+        transcription = AnswerScoring.normalizeTranscription(transcription);
+        
+        // Handle null duration (default 1 minute)
+        int durationSeconds = AnswerScoring.normalizeDuration(duration);
+        
+        // Run analyzer stages (lexical, confidence, ...) and merge their metrics
+        AnalysisInput input = new AnalysisInput(answer.getAnswerId(), transcription, durationSeconds,
+                question != null ? question.getQuestionId() : null,
+                question != null ? question.getUpdatedAt() : null,
+                question != null ? question.getExpectedKeywords() : null,
+                answer.getAudioPath(), precomputedStats);
+        AnalysisMetrics metrics = analysisPipeline.run(input);
+        ScoreCard card = AnswerScoring.score(metrics.getTranscriptStats(), durationSeconds, metrics.getConfidenceScore());
+        
+        System.out.println("Filler words: " + card.getFillerCount());
+        System.out.println("WPM: " + card.getWordsPerMinute());
+        System.out.println("Content Score: " + card.getContentScore());
+        System.out.println("Communication Score: " + card.getCommunicationScore());
+        System.out.println("Overall Score: " + card.getOverallScore());
+        
+        // Save analysis (re-analysis overwrites the answer's existing row)
+        AnswerAnalysis analysis = answer.getAnalysis() != null ? answer.getAnalysis() : new AnswerAnalysis();
+        Double previousScore = analysis.getAnalysisId() != null ? analysis.getOverallScore() : null;
         analysis.setAnswer(answer);
-        analysis.setContentScore(contentScore);
-        analysis.setCommunicationScore(communicationScore);
-        analysis.setConfidenceScore(confidenceScore);
-        analysis.setOverallScore(overallScore);
-        analysis.setWordsPerMinute(wpm);
-        analysis.setFillerWordCount(fillerCount);
-        analysis.setKeywordMatchPercentage(keywordScore * 10);
-        analysis.setStrengths(String.join("|", strengths));
-        analysis.setWeaknesses(String.join("|", weaknesses));
-        analysis.setImprovementTips(String.join("|", tips));
+        analysis.setContentScore(card.getContentScore());
+        analysis.setCommunicationScore(card.getCommunicationScore());
+        analysis.setConfidenceScore(card.getConfidenceScore());
+        analysis.setOverallScore(card.getOverallScore());
+        analysis.setWordsPerMinute(card.getWordsPerMinute());
+        analysis.setFillerWordCount(card.getFillerCount());
+        analysis.setPauseCount(metrics.getPauseCount());
+        analysis.setKeywordMatchPercentage(card.getKeywordMatchPercentage());
+        analysis.setStrengths(String.join("|", card.getStrengths()));
+        analysis.setWeaknesses(String.join("|", card.getWeaknesses()));
+        analysis.setImprovementTips(String.join("|", card.getTips()));
         
         analysisRepository.save(analysis);
+        answer.setAnalysis(analysis);
         
-        // Update session score
-        updateSessionScore(answer.getSession().getSessionId());
+        // Update session score in the same transaction as the analysis
+        interviewService.recordAnswerScore(answer.getSession().getSessionId(), previousScore, card.getOverallScore());
+        dashboardService.invalidate(answer.getUser().getUserId());
         
         // Create DTO
         FeedbackDTO feedback = new FeedbackDTO();
         feedback.setAnswerId(answer.getAnswerId());
-        feedback.setOverallScore(overallScore);
-        feedback.setContentScore(contentScore);
-        feedback.setCommunicationScore(communicationScore);
-        feedback.setConfidenceScore(confidenceScore);
-        feedback.setWordsPerMinute(wpm);
-        feedback.setFillerWordCount(fillerCount);
-        feedback.setKeywordMatchPercentage(keywordScore * 10);
-        feedback.setStrengths(strengths);
-        feedback.setWeaknesses(weaknesses);
-        feedback.setTips(tips);
+        feedback.setOverallScore(card.getOverallScore());
+        feedback.setContentScore(card.getContentScore());
+        feedback.setCommunicationScore(card.getCommunicationScore());
+        feedback.setConfidenceScore(card.getConfidenceScore());
+        feedback.setWordsPerMinute(card.getWordsPerMinute());
+        feedback.setFillerWordCount(card.getFillerCount());
+        feedback.setKeywordMatchPercentage(card.getKeywordMatchPercentage());
+        feedback.setStrengths(card.getStrengths());
+        feedback.setWeaknesses(card.getWeaknesses());
+        feedback.setTips(card.getTips());
         feedback.setTranscription(transcription);
         
         System.out.println("=== ANALYSIS COMPLETE ===");
@@ -105,120 +129,28 @@ public class AnalysisService {
         return feedback;
     }
     
-    private void updateSessionScore(Long sessionId) {
-        // This should be called to update the session's overall score
-        // Add logic to calculate average score of all answers in the session
+    // Feedback stored for an answer that has already been analyzed
+    @Transactional(readOnly = true)
+    public Optional<FeedbackDTO> getFeedback(InterviewAnswer answer) {
+        return analysisRepository.findByAnswer(answer).map(analysis -> {
+            FeedbackDTO feedback = new FeedbackDTO();
+            feedback.setAnswerId(answer.getAnswerId());
+            feedback.setOverallScore(analysis.getOverallScore());
+            feedback.setContentScore(analysis.getContentScore());
+            feedback.setCommunicationScore(analysis.getCommunicationScore());
+            feedback.setConfidenceScore(analysis.getConfidenceScore());
+            feedback.setWordsPerMinute(analysis.getWordsPerMinute());
+            feedback.setFillerWordCount(analysis.getFillerWordCount());
+            feedback.setKeywordMatchPercentage(analysis.getKeywordMatchPercentage());
+            feedback.setStrengths(splitList(analysis.getStrengths()));
+            feedback.setWeaknesses(splitList(analysis.getWeaknesses()));
+            feedback.setTips(splitList(analysis.getImprovementTips()));
+            feedback.setTranscription(answer.getTranscription());
+            return feedback;
+        });
     }
     
-    private int countFillerWords(String text) {
-        if (text == null || text.isEmpty()) return 0;
-        
-        String[] fillers = {"\\bum\\b", "\\buh\\b", "\\blike\\b", "\\byou know\\b", 
-                           "\\bbasically\\b", "\\bactually\\b", "\\bsort of\\b", 
-                           "\\bkind of\\b", "\\bliterally\\b"};
-        int count = 0;
-        String lowerText = text.toLowerCase();
-        
-        for (String filler : fillers) {
-            Pattern pattern = Pattern.compile(filler);
-            Matcher matcher = pattern.matcher(lowerText);
-            while (matcher.find()) {
-                count++;
-            }
-        }
-        return count;
-    }
-    
-    private int calculateWordsPerMinute(String text, Integer durationSeconds) {
-        if (text == null || text.isEmpty() || durationSeconds == null || durationSeconds == 0) 
-            return 0;
-        
-        int wordCount = text.trim().split("\\s+").length;
-        double minutes = durationSeconds / 60.0;
-        return (int) (wordCount / minutes);
-    }
-    
-    private double calculateKeywordMatch(String answer, String keywords) {
-        if (answer == null || keywords == null || keywords.isEmpty()) return 5.0;
-        
-        String[] keywordArray = keywords.split(",");
-        int matches = 0;
-        String lowerAnswer = answer.toLowerCase();
-        
-        for (String keyword : keywordArray) {
-            if (lowerAnswer.contains(keyword.toLowerCase().trim())) {
-                matches++;
-            }
-        }
-        
-        double percentage = ((double) matches / keywordArray.length);
-        return percentage * 10.0; // Convert to 0-10 scale
-    }
-    
-    private double calculateCommunicationScore(int fillerCount, int wpm) {
-        double score = 10.0;
-        
-        // Penalize for filler words
-        score -= Math.min(fillerCount * 0.2, 4.0);
-        
-        // Penalize for too fast or too slow speech
-        if (wpm > 0) {
-            if (wpm < 100 || wpm > 180) {
-                score -= 2.0;
-            }
-        }
-        
-        return Math.max(score, 0.0);
-    }
-    
-    private List<String> generateStrengths(double communicationScore, double contentScore) {
-        List<String> strengths = new ArrayList<>();
-        
-        if (communicationScore >= 7.0) {
-            strengths.add("Clear and confident communication");
-        }
-        if (contentScore >= 7.0) {
-            strengths.add("Good coverage of key concepts");
-        }
-        if (strengths.isEmpty()) {
-            strengths.add("Completed the answer");
-        }
-        
-        return strengths;
-    }
-    
-    private List<String> generateWeaknesses(int fillerCount, int wpm, double keywordScore) {
-        List<String> weaknesses = new ArrayList<>();
-        
-        if (fillerCount > 5) {
-            weaknesses.add("Too many filler words detected (" + fillerCount + ")");
-        }
-        if (wpm > 180) {
-            weaknesses.add("Speaking too fast (" + wpm + " words/min)");
-        } else if (wpm < 100 && wpm > 0) {
-            weaknesses.add("Speaking too slowly (" + wpm + " words/min)");
-        }
-        if (keywordScore < 50) {
-            weaknesses.add("Missing important keywords in answer");
-        }
-        if (weaknesses.isEmpty()) {
-            weaknesses.add("Keep practicing for improvement");
-        }
-        
-        return weaknesses;
-    }
-    
-    private List<String> generateTips(int fillerCount, double keywordScore) {
-        List<String> tips = new ArrayList<>();
-        
-        if (fillerCount > 5) {
-            tips.add("Practice answering without filler words by pausing instead");
-        }
-        if (keywordScore < 50) {
-            tips.add("Review the expected answer and include key concepts");
-        }
-        tips.add("Practice this question multiple times to improve");
-        
-        return tips;
+    private static List<String> splitList(String joined) {
+        return joined == null || joined.isEmpty() ? List.of() : Arrays.asList(joined.split("\\|"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.interview.platform.service;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.FileEntity;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Thin wrapper over the AssemblyAI REST API, on the pooled speechHttpClient.
+ */
+@Component
+public class AssemblyAiClient {
+
+    @Value("${assemblyai.api.key:}")
+    private String apiKey;
+
+    @Value("${assemblyai.api.base-url:https://api.assemblyai.com/v2}")
+    private String baseUrl;
+
+    // When set, AssemblyAI calls us back instead of waiting to be polled
+    @Value("${assemblyai.webhook.url:}")
+    private String webhookUrl;
+
+    @Value("${assemblyai.webhook.secret-header:X-Webhook-Secret}")
+    private String webhookSecretHeader;
+
+    @Value("${assemblyai.webhook.secret:}")
+    private String webhookSecret;
+
+    @Autowired
+    @Qualifier("speechHttpClient")
+    private CloseableHttpClient httpClient;
+
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.trim().isEmpty();
+    }
+
+    /**
+     * Upload a saved audio file, streaming it from disk
+     */
+    public String upload(Path audioPath) throws IOException {
+        HttpPost upload = new HttpPost(baseUrl + "/upload");
+        upload.setHeader(HttpHeaders.AUTHORIZATION, apiKey);
+        // FileEntity copies through a small fixed buffer with a known Content-Length
+        upload.setEntity(new FileEntity(audioPath.toFile(), ContentType.APPLICATION_OCTET_STREAM));
+        return execute(upload).getString("upload_url");
+    }
+
+    /**
+     * Upload request whose body is read from {@code body} as it is sent. Call
+     * {@code cancel()} on the returned request to abort it from another thread.
+     */
+    public HttpPost prepareUpload(InputStream body, long length) {
+        HttpPost upload = new HttpPost(baseUrl + "/upload");
+        upload.setHeader(HttpHeaders.AUTHORIZATION, apiKey);
+        upload.setEntity(new InputStreamEntity(body, length, ContentType.APPLICATION_OCTET_STREAM));
+        return upload;
+    }
+
+    public String upload(HttpPost preparedUpload) throws IOException {
+        return execute(preparedUpload).getString("upload_url");
+    }
+
+    /**
+     * Create a transcription request and return the transcript ID
+     */
+    public String requestTranscription(String audioUrl) throws IOException {
+        JSONObject requestJson = new JSONObject();
+        requestJson.put("audio_url", audioUrl);
+        requestJson.put("language_code", "en_us");
+        requestJson.put("punctuate", true);
+        if (webhookUrl != null && !webhookUrl.isBlank()) {
+            requestJson.put("webhook_url", webhookUrl);
+            if (webhookSecret != null && !webhookSecret.isBlank()) {
+                requestJson.put("webhook_auth_header_name", webhookSecretHeader);
+                requestJson.put("webhook_auth_header_value", webhookSecret);
+            }
+        }
+
+        HttpPost request = new HttpPost(baseUrl + "/transcript");
+        request.setHeader(HttpHeaders.AUTHORIZATION, apiKey);
+        request.setEntity(new StringEntity(requestJson.toString(), ContentType.APPLICATION_JSON));
+        return execute(request).getString("id");
+    }
+
+    /**
+     * Current state of a transcript: status is queued, processing, completed or error
+     */
+    public JSONObject getTranscript(String transcriptId) throws IOException {
+        HttpGet poll = new HttpGet(baseUrl + "/transcript/" + transcriptId);
+        poll.setHeader(HttpHeaders.AUTHORIZATION, apiKey);
+        return execute(poll);
+    }
+
+    public String getWebhookSecretHeader() {
+        return webhookSecretHeader;
+    }
+
+    public String getWebhookSecret() {
+        return webhookSecret;
+    }
+
+    /**
+     * Send a request on the pooled client and parse the JSON body. The
+     * response is fully consumed so the connection goes back to the pool.
+     */
+    private JSONObject execute(ClassicHttpRequest request) throws IOException {
+        return httpClient.execute(request, response -> {
+            String body = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : "";
+            if (response.getCode() >= 300) {
+                throw new IOException("AssemblyAI " + request.getMethod() + " " + request.getRequestUri()
+                        + " returned " + response.getCode() + ": " + abbreviate(body));
+            }
+            return new JSONObject(body);
+        });
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 200 ? body.substring(0, 200) + "..." : body;
+    }
+}
@@ -0,0 +1,308 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.AnalysisJobDTO;
+import com.interview.platform.dto.ChunkedUploadDTO;
+import com.interview.platform.model.ChunkedUpload;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.repository.ChunkedUploadRepository;
+import com.interview.platform.storage.BlobStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable, chunked uploads of answer recordings.
+ *
+ * The server fixes the chunk size at init. Each chunk is PUT at its byte
+ * offset and written in place into a staging file with positional writes,
+ * so chunks can arrive in any order, in parallel, or more than once. Only
+ * a chunk that was fully written and synced is marked as received; a client
+ * that lost its connection asks for the status and resends from
+ * {@code nextOffset}. Finalizing moves the assembled file into the blob
+ * store and queues transcription and analysis.
+ *
+ * Staging files live on this instance's disk, so an upload has to stay on
+ * the instance that started it.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ChunkedUploadRepository uploadRepository;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private SpeechToTextService speechToTextService;
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${upload.chunked.chunk-size-bytes:5242880}")
+    private int chunkSize;
+
+    @Value("${upload.chunked.max-size-bytes:2147483648}")
+    private long maxSize;
+
+    @Value("${upload.chunked.expiry-hours:24}")
+    private long expiryHours;
+
+    // Serializes bitmap updates and finalize per upload
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    // ✅ Start an upload; the response says which chunk size to use
+    public ChunkedUploadDTO init(String ownerEmail, Long sessionId, Long questionId, String kind,
+                                 long totalSize, String contentType) {
+        if (totalSize <= 0 || totalSize > maxSize) {
+            throw new IllegalArgumentException("Upload size must be between 1 and " + maxSize + " bytes");
+        }
+        long chunkCount = (totalSize + chunkSize - 1) / chunkSize;
+        if (chunkCount > 1024 * 8) {
+            throw new IllegalArgumentException("Upload too large for chunk size " + chunkSize);
+        }
+        InterviewSession session = interviewService.getSessionById(sessionId);
+        if (session.getUser() == null || !ownerEmail.equals(session.getUser().getEmail())) {
+            throw new UploadNotFoundException("Session not found with ID: " + sessionId);
+        }
+        questionService.getQuestionById(questionId);
+
+        ChunkedUpload upload = new ChunkedUpload();
+        upload.setUploadId(UUID.randomUUID().toString());
+        upload.setOwnerEmail(ownerEmail);
+        upload.setSessionId(sessionId);
+        upload.setQuestionId(questionId);
+        upload.setKind("video".equalsIgnoreCase(kind) ? ChunkedUpload.Kind.Video : ChunkedUpload.Kind.Audio);
+        upload.setContentType(contentType);
+        upload.setTotalSize(totalSize);
+        upload.setChunkSize(chunkSize);
+        upload.setReceivedChunks(new byte[0]);
+        upload.setExpiresAt(LocalDateTime.now().plusHours(expiryHours));
+        return toDTO(uploadRepository.save(upload), null);
+    }
+
+    // ✅ Write the chunk starting at offset; sending the same chunk again is harmless
+    public ChunkedUploadDTO writeChunk(String ownerEmail, String uploadId, long offset, long contentLength,
+                                       InputStream body) throws IOException {
+        ChunkedUpload upload = require(ownerEmail, uploadId);
+        if (upload.getStatus() != ChunkedUpload.Status.Open) {
+            throw new IllegalStateException("Upload is already " + upload.getStatus().name().toLowerCase());
+        }
+        int size = upload.getChunkSize();
+        if (offset < 0 || offset >= upload.getTotalSize() || offset % size != 0) {
+            throw new IllegalArgumentException("Offset must be a multiple of " + size + " below " + upload.getTotalSize());
+        }
+        int index = (int) (offset / size);
+        long expected = Math.min(size, upload.getTotalSize() - offset);
+        if (contentLength >= 0 && contentLength != expected) {
+            throw new IllegalArgumentException("Chunk at offset " + offset + " must be " + expected + " bytes");
+        }
+
+        writeAt(blobStore.stagingPath(stagingName(uploadId)), offset, expected, body);
+
+        synchronized (lockFor(uploadId)) {
+            // Re-read: other chunks of this upload may have been recorded meanwhile
+            upload = require(ownerEmail, uploadId);
+            if (upload.getStatus() != ChunkedUpload.Status.Open) {
+                throw new IllegalStateException("Upload is already " + upload.getStatus().name().toLowerCase());
+            }
+            BitSet received = BitSet.valueOf(upload.getReceivedChunks());
+            if (!received.get(index)) {
+                received.set(index);
+                upload.setReceivedChunks(received.toByteArray());
+                upload.setReceivedBytes(upload.getReceivedBytes() + expected);
+                upload = uploadRepository.save(upload);
+            }
+            return toDTO(upload, null);
+        }
+    }
+
+    public ChunkedUploadDTO getStatus(String ownerEmail, String uploadId) {
+        return toDTO(require(ownerEmail, uploadId), null);
+    }
+
+    /**
+     * Move the assembled recording into the blob store and queue it for
+     * analysis. Video answers that come with a typed transcription skip
+     * speech-to-text. Calling it again after success returns the same answer.
+     */
+    public ChunkedUploadDTO complete(String ownerEmail, String uploadId, String transcription, Integer duration,
+                                     String expectedSha256) throws IOException {
+        synchronized (lockFor(uploadId)) {
+            ChunkedUpload upload = require(ownerEmail, uploadId);
+            if (upload.getStatus() == ChunkedUpload.Status.Completed) {
+                return toDTO(upload, null);
+            }
+            if (!upload.getReceivedBytes().equals(upload.getTotalSize())) {
+                throw new IllegalStateException("Upload incomplete: " + upload.getReceivedBytes() + " of "
+                        + upload.getTotalSize() + " bytes received");
+            }
+            upload.setStatus(ChunkedUpload.Status.Completing);
+            upload = uploadRepository.save(upload);
+
+            try {
+                boolean video = upload.getKind() == ChunkedUpload.Kind.Video;
+                StoredAudio recording;
+                if (upload.getBlobLocation() == null) {
+                    Path staging = blobStore.stagingPath(stagingName(uploadId));
+                    // Checked against the bytes as sent: audio is normalized on the way into the store,
+                    // so the stored blob's hash is not the client's. A retry after storing was checked already.
+                    if (expectedSha256 != null && !expectedSha256.isBlank()) {
+                        String received = sha256Of(staging);
+                        if (!expectedSha256.equalsIgnoreCase(received)) {
+                            // Some chunk arrived corrupted; the client has to upload again
+                            uploadRepository.delete(upload);
+                            Files.deleteIfExists(staging);
+                            throw new IllegalStateException("Checksum mismatch: received content hashes to " + received);
+                        }
+                    }
+                    recording = speechToTextService.storeUploadedFile(staging, !video);
+                    upload.setBlobLocation(recording.path());
+                    upload.setContentHash(recording.contentHash());
+                    upload.setDurationMillis(recording.durationMillis());
+                    upload = uploadRepository.save(upload);
+                } else {
+                    // The stored blob may be trimmed, so the duration is the one recorded when it was stored
+                    recording = new StoredAudio(upload.getBlobLocation(), upload.getContentHash(), upload.getTotalSize(),
+                            upload.getDurationMillis());
+                }
+
+                AnalysisJobDTO job = video && transcription != null && !transcription.isBlank()
+                        ? analysisJobService.submitText(upload.getSessionId(), upload.getQuestionId(), transcription,
+                                duration != null ? duration : interviewService.estimateDuration(transcription),
+                                recording.path())
+                        : analysisJobService.submitRecording(upload.getSessionId(), upload.getQuestionId(),
+                                recording, video);
+
+                upload.setAnswerId(job.getAnswerId());
+                upload.setStatus(ChunkedUpload.Status.Completed);
+                upload = uploadRepository.save(upload);
+                System.out.println("✅ Chunked upload " + uploadId + " stored as " + recording.path());
+                return toDTO(upload, job);
+            } catch (IOException | RuntimeException e) {
+                // Let the client retry finalize; a stored blob is reused
+                if (upload.getStatus() == ChunkedUpload.Status.Completing && uploadRepository.existsById(uploadId)) {
+                    upload.setStatus(ChunkedUpload.Status.Open);
+                    uploadRepository.save(upload);
+                }
+                throw e;
+            }
+        }
+    }
+
+    // ✅ Drop abandoned staging files and old upload records
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgeExpired() {
+        for (ChunkedUpload upload : uploadRepository.findByExpiresAtBefore(LocalDateTime.now())) {
+            try {
+                Files.deleteIfExists(blobStore.stagingPath(stagingName(upload.getUploadId())));
+                uploadRepository.delete(upload);
+                locks.remove(upload.getUploadId());
+            } catch (Exception e) {
+                System.err.println("WARN: could not purge upload " + upload.getUploadId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeAt(Path staging, long offset, long length, InputStream body) throws IOException {
+        try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            byte[] bytes = new byte[COPY_BUFFER_SIZE];
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                int read = body.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+                if (read < 0) {
+                    throw new IOException("Chunk at offset " + offset + " ended after " + (length - remaining)
+                            + " of " + length + " bytes");
+                }
+                buf.clear().limit(read);
+                while (buf.hasRemaining()) {
+                    position += channel.write(buf, position);
+                }
+                remaining -= read;
+            }
+            if (body.read() >= 0) {
+                throw new IllegalArgumentException("Chunk at offset " + offset + " is longer than " + length + " bytes");
+            }
+            // Only durable chunks are reported as received
+            channel.force(false);
+        }
+    }
+
+    private static String sha256Of(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ChunkedUpload require(String ownerEmail, String uploadId) {
+        return uploadRepository.findById(uploadId)
+                .filter(upload -> upload.getOwnerEmail().equals(ownerEmail))
+                .orElseThrow(() -> new UploadNotFoundException("Upload not found: " + uploadId));
+    }
+
+    private Object lockFor(String uploadId) {
+        return locks.computeIfAbsent(uploadId, id -> new Object());
+    }
+
+    private static String stagingName(String uploadId) {
+        return "upload-" + uploadId + ".part";
+    }
+
+    private ChunkedUploadDTO toDTO(ChunkedUpload upload, AnalysisJobDTO job) {
+        int size = upload.getChunkSize();
+        int chunkCount = (int) ((upload.getTotalSize() + size - 1) / size);
+        BitSet received = BitSet.valueOf(upload.getReceivedChunks());
+        int firstMissing = received.nextClearBit(0);
+        Long nextOffset = firstMissing < chunkCount ? (long) firstMissing * size : null;
+        return new ChunkedUploadDTO(upload.getUploadId(), upload.getKind().name().toLowerCase(),
+                upload.getStatus().name(), upload.getTotalSize(), size, upload.getReceivedBytes(), nextOffset,
+                chunkCount - received.cardinality(), upload.getContentHash(), upload.getAnswerId(),
+                upload.getExpiresAt().toString(), job);
+    }
+
+    /**
+     * Unknown upload id, or one that belongs to someone else.
+     */
+    public static class UploadNotFoundException extends RuntimeException {
+        public UploadNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
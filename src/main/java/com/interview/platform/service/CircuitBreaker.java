@@ -0,0 +1,154 @@
+package com.interview.platform.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * CLOSED: calls go through and the last {@code windowSize} outcomes are kept;
+ * once at least {@code minimumCalls} are recorded and the failure rate reaches
+ * the threshold, the breaker opens. OPEN: calls are refused until
+ * {@code openDuration} has passed. HALF_OPEN: up to {@code halfOpenProbes}
+ * trial calls are let through; all succeeding closes the breaker, any failure
+ * opens it again.
+ *
+ * Each permit remembers the state it was issued in, so a slow call started
+ * before a transition cannot close or re-open the breaker afterwards.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Handed out by tryAcquire; report the call's outcome with exactly one of
+     * onSuccess, onFailure or release.
+     */
+    public record Permit(long generation) {
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    // All guarded by this
+    private final boolean[] outcomes;
+    private int outcomePos;
+    private int outcomeCount;
+    private int failureCount;
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDuration, TimeUnit unit, int halfOpenProbes) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, unit, halfOpenProbes, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                   long openDuration, TimeUnit unit, int halfOpenProbes, LongSupplier nanoClock) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = unit.toNanos(openDuration);
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[this.windowSize];
+    }
+
+    /**
+     * Permission to make a call, or null when the breaker refuses it.
+     */
+    public synchronized Permit tryAcquire() {
+        advanceIfOpenExpired();
+        if (state == State.OPEN) {
+            return null;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return null;
+            }
+            probesInFlight++;
+        }
+        return new Permit(generation);
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation) return;
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (++probesSucceeded >= halfOpenProbes) {
+                transition(State.CLOSED);
+            }
+        } else {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation() != generation) return;
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+        record(true);
+        if (outcomeCount >= minimumCalls && (double) failureCount / outcomeCount >= failureRateThreshold) {
+            transition(State.OPEN);
+        }
+    }
+
+    // The call ended without saying anything about the dependency (cancelled, rejected elsewhere)
+    public synchronized void release(Permit permit) {
+        if (permit.generation() == generation && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        advanceIfOpenExpired();
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return outcomeCount == 0 ? 0.0 : (double) failureCount / outcomeCount;
+    }
+
+    private void advanceIfOpenExpired() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            transition(State.HALF_OPEN);
+        }
+    }
+
+    private void record(boolean failure) {
+        if (outcomeCount == windowSize) {
+            if (outcomes[outcomePos]) failureCount--;
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomePos] = failure;
+        if (failure) failureCount++;
+        outcomePos = (outcomePos + 1) % windowSize;
+    }
+
+    private void transition(State next) {
+        System.out.println("⚡ Circuit breaker " + state + " → " + next);
+        state = next;
+        generation++;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        } else if (next == State.CLOSED) {
+            outcomePos = 0;
+            outcomeCount = 0;
+            failureCount = 0;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.DashboardDTO;
+import com.interview.platform.dto.SessionDTO;
+import com.interview.platform.model.User;
+import com.interview.platform.repository.InterviewAnswerRepository;
+import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The user dashboard read model.
+ *
+ * A cache miss costs the user lookup plus two bounded queries: the newest
+ * sessions with the user's totals attached as window aggregates, and the
+ * top answered categories. Results are cached per user (by email) until
+ * that user starts a session, submits or completes an answer, or an
+ * answer of theirs is scored; {@code dashboard.cache-ttl-seconds} bounds
+ * how long anything else can leave an entry stale.
+ *
+ * Invalidation bumps a per-user generation after the write commits, and a
+ * load only caches its result if the generation did not move meanwhile, so
+ * a read racing a write never pins the pre-write numbers. Loads read the
+ * primary: scores land from analysis threads that have no signed-in user to
+ * open a read-your-writes window, so a replica read right after the
+ * invalidation could cache the pre-score numbers for the whole TTL.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private InterviewAnswerRepository answerRepository;
+
+    @Value("${dashboard.recent-sessions:5}")
+    private int recentSessions = 5;
+
+    @Value("${dashboard.top-categories:3}")
+    private int topCategories = 3;
+
+    @Value("${dashboard.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds = 300;
+
+    @Value("${dashboard.cache-max-entries:10000}")
+    private int cacheMaxEntries = 10000;
+
+    // Keyed by email, the only thing the request carries; invalidation is by user id because
+    // writers hold lazy user proxies whose id is free but whose email would cost a query
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+    // Bumped by invalidateAll(); entries from an older epoch are ignored
+    private final AtomicLong epoch = new AtomicLong();
+
+    // Own read-write transaction, so the load is routed to the primary even under a read-only caller
+    private TransactionOperations loadTransaction = TransactionOperations.withoutTransaction();
+
+    private record Cached(DashboardDTO value, Long userId, long epoch, long generation, long expiresAt) {
+    }
+
+    private record Loaded(DashboardDTO value, Long userId, long generation) {
+    }
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction = template;
+    }
+
+    // ✅ Dashboard for the signed-in user; the cached DTO is shared, callers must not modify it
+    public DashboardDTO getDashboard(String email) {
+        long currentEpoch = epoch.get();
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(email);
+        if (cached != null && cached.epoch() == currentEpoch && cached.expiresAt() > now
+                && cached.generation() == generationOf(cached.userId())) {
+            return cached.value();
+        }
+
+        Loaded loaded = loadTransaction.execute(status -> {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // Read before the data queries, so any write they might miss shows up as a newer generation
+            long generation = generationOf(user.getUserId());
+            return new Loaded(load(user), user.getUserId(), generation);
+        });
+        DashboardDTO dashboard = loaded.value();
+
+        // A write that committed during the load has moved the generation; don't cache what may predate it
+        if (epoch.get() == currentEpoch && generationOf(loaded.userId()) == loaded.generation()) {
+            if (cache.size() >= cacheMaxEntries) {
+                cache.values().removeIf(entry -> entry.expiresAt() <= now);
+                if (cache.size() >= cacheMaxEntries) {
+                    cache.clear();
+                }
+            }
+            cache.put(email, new Cached(dashboard, loaded.userId(), currentEpoch, loaded.generation(),
+                    now + cacheTtlSeconds * 1000));
+        }
+        return dashboard;
+    }
+
+    // ✅ Drop the user's dashboard once the current transaction commits
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generations.merge(userId, 1L, Long::sum);
+                }
+            });
+        } else {
+            generations.merge(userId, 1L, Long::sum);
+        }
+    }
+
+    // ✅ Drop every dashboard (bulk score changes, deleted users)
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        cache.clear();
+    }
+
+    private long generationOf(Long userId) {
+        return generations.getOrDefault(userId, 0L);
+    }
+
+    private DashboardDTO load(User user) {
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setUserName(user.getFullName());
+        dashboard.setTotalInterviews(0);
+        dashboard.setAverageScore(0.0);
+        dashboard.setTotalQuestionsAnswered(0);
+
+        List<SessionDTO> recent = new ArrayList<>();
+        for (Object[] row : sessionRepository.findDashboardRows(user.getUserId(), recentSessions)) {
+            recent.add(toSessionDTO(row));
+            dashboard.setTotalInterviews(((Number) row[7]).intValue());
+            dashboard.setAverageScore(row[8] != null ? ((Number) row[8]).doubleValue() : 0.0);
+            dashboard.setTotalQuestionsAnswered(((Number) row[9]).intValue());
+        }
+        dashboard.setRecentSessions(recent);
+        dashboard.setTopCategories(answerRepository.findTopCategoriesByUser(
+                user.getUserId(), PageRequest.of(0, topCategories)));
+        return dashboard;
+    }
+
+    private static SessionDTO toSessionDTO(Object[] row) {
+        SessionDTO dto = new SessionDTO();
+        dto.setSessionId(((Number) row[0]).longValue());
+        dto.setSessionType(row[1] != null ? row[1].toString() : null);
+        LocalDateTime startTime = row[2] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[2];
+        dto.setStartTime(startTime != null ? startTime.toString() : null);
+        dto.setTotalQuestions(row[3] != null ? ((Number) row[3]).intValue() : null);
+        dto.setQuestionsAnswered(row[4] != null ? ((Number) row[4]).intValue() : null);
+        dto.setOverallScore(row[5] != null ? ((Number) row[5]).doubleValue() : null);
+        dto.setStatus(row[6] != null ? row[6].toString() : null);
+        return dto;
+    }
+}
@@ -0,0 +1,10 @@
+package com.interview.platform.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A recording saved by SpeechToTextService.ingestAudio, with its transcription
+ * already under way.
+ */
+public record IngestedAudio(StoredAudio audio, CompletableFuture<String> transcription) {
+}
@@ -1,5 +1,6 @@
 package com.interview.platform.service;
 
+import com.interview.platform.config.ReadYourWritesTracker;
 import com.interview.platform.model.*;
 import com.interview.platform.repository.InterviewSessionRepository;
 import com.interview.platform.repository.InterviewAnswerRepository;
@@ -10,7 +11,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -28,6 +28,12 @@ public class InterviewService {
     @Autowired
     private AnswerAnalysisRepository analysisRepository;
 
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private DashboardService dashboardService;
+
     // ✅ Create a new interview session
     public InterviewSession createSession(User user, String sessionType, String category) {
         InterviewSession session = new InterviewSession();
@@ -43,6 +49,8 @@ public class InterviewService {
         };
         session.setTotalQuestions(totalQuestions);
 
+        readYourWrites.recordCurrentUserWrite();
+        dashboardService.invalidate(user.getUserId());
         return sessionRepository.save(session);
     }
 
@@ -53,6 +61,7 @@ public class InterviewService {
     }
 
     // ✅ Get all sessions for a user
+    @Transactional(readOnly = true)
     public List<InterviewSession> getUserSessions(User user) {
         return sessionRepository.findByUserOrderByStartTimeDesc(user);
     }
@@ -73,70 +82,83 @@ public class InterviewService {
         answer.setDuration(duration);
         answer.setAnsweredAt(LocalDateTime.now());
 
+        InterviewAnswer saved = answerRepository.save(answer);
+        sessionRepository.addQuestionsAnswered(sessionId, 1);
+        readYourWrites.recordCurrentUserWrite();
+        dashboardService.invalidate(session.getUser().getUserId());
+        return saved;
+    }
+
+    // ✅ Fetch answer by ID
+    public InterviewAnswer getAnswerById(Long answerId) {
+        return answerRepository.findById(answerId)
+                .orElseThrow(() -> new RuntimeException("Answer not found with ID: " + answerId));
+    }
+
+    // ✅ Fill in the transcription once speech-to-text has finished
+    public InterviewAnswer updateTranscription(Long answerId, String transcription, Integer duration) {
+        InterviewAnswer answer = answerRepository.findById(answerId)
+                .orElseThrow(() -> new RuntimeException("Answer not found with ID: " + answerId));
+        answer.setTranscription(transcription);
+        answer.setDuration(duration);
         return answerRepository.save(answer);
     }
 
-    // ✅ Update how many questions have been answered
-    public void updateSessionProgress(Long sessionId) {
-        InterviewSession session = getSessionById(sessionId);
-        List<InterviewAnswer> answers = answerRepository.findBySession(session);
-        session.setQuestionsAnswered(answers.size());
-        sessionRepository.save(session);
+    // ✅ Remove an answer that could not be queued for analysis
+    public void deleteAnswer(Long answerId) {
+        answerRepository.findById(answerId).ifPresent(answer -> {
+            answerRepository.delete(answer);
+            sessionRepository.addQuestionsAnswered(answer.getSession().getSessionId(), -1);
+            dashboardService.invalidate(answer.getUser().getUserId());
+        });
+    }
+
+    // ✅ Estimate answer duration from the transcription (approx 150 WPM)
+    public int estimateDuration(String text) {
+        int wordCount = text.split("\\s+").length;
+        return (int) ((wordCount / 150.0) * 60);
     }
 
     // ✅ Mark session as completed
+    // Only status and end time are written: saving the loaded entity would write back its
+    // score aggregates and undo any addScore committed since it was read
     public void completeSession(Long sessionId) {
         InterviewSession session = getSessionById(sessionId);
-        session.setStatus(InterviewSession.Status.Completed);
-        session.setEndTime(LocalDateTime.now());
-        sessionRepository.save(session);
+        sessionRepository.markCompleted(sessionId, InterviewSession.Status.Completed, LocalDateTime.now());
+        readYourWrites.recordCurrentUserWrite();
+        dashboardService.invalidate(session.getUser().getUserId());
     }
 
     // ✅ Calculate user's average score across all sessions
+    @Transactional(readOnly = true)
     public Double getUserAverageScore(User user) {
         Double avg = sessionRepository.findAverageScoreByUser(user);
         return avg != null ? avg : 0.0;
     }
 
     // ✅ Count total interviews for a user
+    @Transactional(readOnly = true)
     public Integer getTotalInterviewsCount(User user) {
         Long count = sessionRepository.countByUser(user);
         return count != null ? count.intValue() : 0;
     }
 
-    // ✅ Improved: Recalculate and update overall session score from all analyzed answers
-    public void recalculateSessionScore(Long sessionId) {
-        InterviewSession session = getSessionById(sessionId);
-        List<InterviewAnswer> answers = answerRepository.findBySession(session);
-
-        if (answers == null || answers.isEmpty()) {
-            session.setOverallScore(0.0);
-            sessionRepository.save(session);
-            return;
-        }
-
-        double totalScore = 0.0;
-        int count = 0;
-
-        for (InterviewAnswer answer : answers) {
-            // ✅ Case 1: Analysis already linked in the entity
-            if (answer.getAnalysis() != null && answer.getAnalysis().getOverallScore() != null) {
-                totalScore += answer.getAnalysis().getOverallScore();
-                count++;
-            }
-            // ✅ Case 2: Try fetching from repository if not loaded
-            else {
-                Optional<AnswerAnalysis> analysisOpt = analysisRepository.findByAnswer(answer);
-                if (analysisOpt.isPresent() && analysisOpt.get().getOverallScore() != null) {
-                    totalScore += analysisOpt.get().getOverallScore();
-                    count++;
-                }
-            }
+    // ✅ Fold one answer's score into the session average in a single UPDATE.
+    // previousScore is the score being replaced when an answer is re-analyzed, else null.
+    public void recordAnswerScore(Long sessionId, Double previousScore, double score) {
+        double scoreDelta = previousScore != null ? score - previousScore : score;
+        int countDelta = previousScore != null ? 0 : 1;
+        if (sessionRepository.addScore(sessionId, scoreDelta, countDelta) == 0) {
+            // Session predates the running aggregates: rebuild them once from the analyses
+            recalculateSessionScore(sessionId);
         }
+    }
 
-        // ✅ Calculate and save the average
-        double avgScore = (count > 0) ? (totalScore / count) : 0.0;
-        session.setOverallScore(avgScore);
-        sessionRepository.save(session);
+    // ✅ Rebuild the session's score aggregates from its analyses (one aggregate query)
+    public void recalculateSessionScore(Long sessionId) {
+        Object[] row = analysisRepository.sumScoresBySession(sessionId).get(0);
+        int count = ((Number) row[0]).intValue();
+        double sum = ((Number) row[1]).doubleValue();
+        sessionRepository.setScoreAggregates(sessionId, sum, count, count > 0 ? sum / count : 0.0);
     }
 }
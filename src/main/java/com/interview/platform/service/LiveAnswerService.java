@@ -0,0 +1,260 @@
+package com.interview.platform.service;
+
+import com.interview.platform.analysis.AnswerScoring;
+import com.interview.platform.analysis.KeywordIndexCache;
+import com.interview.platform.analysis.TranscriptScanner;
+import com.interview.platform.analysis.TranscriptStats;
+import com.interview.platform.dto.FeedbackDTO;
+import com.interview.platform.dto.LiveFeedbackDTO;
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.Question;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live feedback for answers that are still being spoken.
+ *
+ * Each in-flight answer keeps a {@link TranscriptScanner.Cursor}, so a chunk
+ * only costs a scan of its own characters; filler, word and keyword counts are
+ * never recomputed over the growing transcript. Updates are pushed to any
+ * subscribed SSE streams. On submit the accumulated counts are handed to
+ * AnalysisService, which then skips its own lexical pass.
+ *
+ * A live answer belongs to the owner of its session; every call names the
+ * caller, and anyone else gets the same not-found as for an unknown id.
+ */
+@Service
+public class LiveAnswerService {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private TranscriptScanner transcriptScanner;
+
+    @Autowired
+    private KeywordIndexCache keywordIndexCache;
+
+    @Value("${analysis.live.idle-timeout-minutes:10}")
+    private long idleTimeoutMinutes;
+
+    @Value("${analysis.live.max-active:1000}")
+    private int maxActive;
+
+    @Value("${analysis.live.max-transcript-chars:100000}")
+    private int maxTranscriptChars;
+
+    private final Map<String, LiveAnswer> answers = new ConcurrentHashMap<>();
+
+    // ✅ Open a live answer for a question in one of the caller's sessions
+    public LiveFeedbackDTO start(String ownerEmail, Long sessionId, Long questionId) {
+        if (answers.size() >= maxActive) {
+            throw new IllegalStateException("Too many live answers in progress, please retry shortly");
+        }
+        InterviewSession session = interviewService.getSessionById(sessionId);
+        if (session.getUser() == null || !session.getUser().getEmail().equals(ownerEmail)) {
+            throw new LiveAnswerNotFoundException("Session not found with ID: " + sessionId);
+        }
+        Question question = questionService.getQuestionById(questionId);
+
+        LiveAnswer live = new LiveAnswer(ownerEmail, sessionId, questionId,
+                transcriptScanner.open(keywordIndexCache.forQuestion(question)));
+        answers.put(live.liveId, live);
+        return live.toDTO();
+    }
+
+    // ✅ Append the next piece of transcript and publish the updated counts
+    public LiveFeedbackDTO appendChunk(String ownerEmail, String liveId, String text, Integer elapsedSeconds) {
+        LiveAnswer live = require(ownerEmail, liveId);
+        LiveFeedbackDTO update;
+        synchronized (live) {
+            if (live.closed) {
+                throw new IllegalStateException("Live answer already submitted");
+            }
+            if (text != null && !text.isEmpty()) {
+                if (live.transcript.length() + text.length() > maxTranscriptChars) {
+                    throw new IllegalStateException("Live answer exceeds " + maxTranscriptChars + " characters");
+                }
+                // Appended as sent: a chunk may end mid-word, so the client supplies the spaces between phrases
+                live.cursor.feed(text);
+                live.transcript.append(text);
+            }
+            if (elapsedSeconds != null) {
+                live.clientElapsedSeconds = Math.max(live.clientElapsedSeconds, elapsedSeconds);
+            }
+            live.sequence++;
+            live.touch();
+            update = live.toDTO();
+        }
+        broadcast(live, "feedback", update);
+        return update;
+    }
+
+    // ✅ SSE stream of updates; the current counts are sent straight away
+    public Optional<SseEmitter> subscribe(String ownerEmail, String liveId) {
+        LiveAnswer live = answers.get(liveId);
+        if (live == null || !live.ownerEmail.equals(ownerEmail)) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(idleTimeoutMinutes));
+        emitter.onCompletion(() -> live.emitters.remove(emitter));
+        emitter.onTimeout(() -> live.emitters.remove(emitter));
+        emitter.onError(e -> live.emitters.remove(emitter));
+        live.emitters.add(emitter);
+
+        LiveFeedbackDTO current;
+        synchronized (live) {
+            current = live.toDTO();
+        }
+        send(live, emitter, "feedback", current);
+        return Optional.of(emitter);
+    }
+
+    // ✅ Persist and score the answer from the accumulated state
+    public FeedbackDTO submit(String ownerEmail, String liveId, Integer durationSeconds) {
+        LiveAnswer live = answers.get(liveId);
+        if (live == null || !live.ownerEmail.equals(ownerEmail) || !answers.remove(liveId, live)) {
+            throw new LiveAnswerNotFoundException("Live answer not found or already submitted");
+        }
+
+        TranscriptStats stats;
+        String transcription;
+        int duration;
+        synchronized (live) {
+            live.closed = true;
+            stats = live.cursor.finish();
+            transcription = live.transcript.toString();
+            duration = durationSeconds != null && durationSeconds > 0 ? durationSeconds : live.elapsedSeconds();
+        }
+
+        try {
+            InterviewAnswer answer = interviewService.saveAnswer(
+                    live.sessionId, live.questionId, null, null, transcription, Math.max(duration, 1));
+            FeedbackDTO feedback = analysisService.analyzeAnswer(answer, stats);
+
+            broadcast(live, "submitted", feedback);
+            return feedback;
+        } finally {
+            live.emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    public int getActiveCount() {
+        return answers.size();
+    }
+
+    // ✅ Drop answers that were abandoned mid-way
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(idleTimeoutMinutes);
+        answers.values().removeIf(live -> {
+            if (live.lastActivity - cutoff >= 0) {
+                return false;
+            }
+            synchronized (live) {
+                live.closed = true;
+            }
+            live.emitters.forEach(SseEmitter::complete);
+            return true;
+        });
+    }
+
+    private LiveAnswer require(String ownerEmail, String liveId) {
+        LiveAnswer live = answers.get(liveId);
+        if (live == null || !live.ownerEmail.equals(ownerEmail)) {
+            throw new LiveAnswerNotFoundException("Live answer not found or expired");
+        }
+        return live;
+    }
+
+    private void broadcast(LiveAnswer live, String event, Object data) {
+        for (SseEmitter emitter : live.emitters) {
+            send(live, emitter, event, data);
+        }
+    }
+
+    // A client that went away is just unsubscribed
+    private void send(LiveAnswer live, SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            live.emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static class LiveAnswer {
+        private final String liveId = UUID.randomUUID().toString();
+        private final String ownerEmail;
+        private final Long sessionId;
+        private final Long questionId;
+        private final TranscriptScanner.Cursor cursor;
+        private final StringBuilder transcript = new StringBuilder();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final long startedAt = System.nanoTime();
+
+        private volatile long lastActivity = startedAt;
+        private long sequence;
+        private int clientElapsedSeconds;
+        private boolean closed;
+
+        LiveAnswer(String ownerEmail, Long sessionId, Long questionId, TranscriptScanner.Cursor cursor) {
+            this.ownerEmail = ownerEmail;
+            this.sessionId = sessionId;
+            this.questionId = questionId;
+            this.cursor = cursor;
+        }
+
+        void touch() {
+            lastActivity = System.nanoTime();
+        }
+
+        // Prefer the client's recording clock; fall back to time since start
+        int elapsedSeconds() {
+            if (clientElapsedSeconds > 0) {
+                return clientElapsedSeconds;
+            }
+            return (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+        }
+
+        LiveFeedbackDTO toDTO() {
+            TranscriptStats stats = cursor.snapshot();
+            int elapsed = elapsedSeconds();
+            double coverage = stats.getKeywordTotal() > 0
+                    ? stats.getKeywordMatches() * 100.0 / stats.getKeywordTotal() : 0.0;
+            return new LiveFeedbackDTO(liveId, sessionId, questionId, sequence,
+                    stats.getWordCount(), stats.getFillerCount(),
+                    AnswerScoring.wordsPerMinute(stats.getWordCount(), elapsed),
+                    stats.getKeywordMatches(), stats.getKeywordTotal(), coverage, elapsed);
+        }
+    }
+
+    /**
+     * Unknown live answer id, or one that belongs to someone else.
+     */
+    public static class LiveAnswerNotFoundException extends RuntimeException {
+        public LiveAnswerNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
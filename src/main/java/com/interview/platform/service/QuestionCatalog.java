@@ -0,0 +1,146 @@
+package com.interview.platform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.platform.dto.QuestionDTO;
+import com.interview.platform.model.Question;
+import com.interview.platform.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-through cache of the active question catalog.
+ *
+ * Readers get an immutable snapshot (entities by id, DTOs in catalog order
+ * and a content ETag) without locking. Every committed question write bumps
+ * {@code version}. The next read sees a snapshot older than that version,
+ * reloads the catalog with one query and swaps the new snapshot in. If a
+ * write lands while a reload is running, the reloaded snapshot carries the
+ * older version and is reloaded again on the following read.
+ *
+ * Cached entities are shared between threads, so {@link #get(Long)} hands
+ * out copies; code that edits a question must load it from the repository.
+ */
+@Component
+public class QuestionCatalog {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // Loads run in their own read-write transaction so they read the primary; a catalog
+    // loaded from a lagging replica would otherwise stay cached until the next question write
+    private TransactionOperations loadTransaction = TransactionOperations.withoutTransaction();
+
+    private final AtomicLong version = new AtomicLong(1);
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public record Snapshot(long version, Map<Long, Question> byId, List<QuestionDTO> dtos, String etag) {
+    }
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction = template;
+    }
+
+    public Snapshot current() {
+        Snapshot snap = snapshot.get();
+        if (snap != null && snap.version() == version.get()) {
+            return snap;
+        }
+        synchronized (this) {
+            snap = snapshot.get();
+            long wanted = version.get();
+            if (snap != null && snap.version() == wanted) {
+                return snap;
+            }
+            snap = loadTransaction.execute(status -> load(wanted));
+            snapshot.set(snap);
+            return snap;
+        }
+    }
+
+    // Copy of an active question, or null when it is not in the catalog
+    public Question get(Long id) {
+        Question cached = current().byId().get(id);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionsImported(QuestionsImportedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public static QuestionDTO toDTO(Question question) {
+        QuestionDTO dto = new QuestionDTO();
+        dto.setQuestionId(question.getQuestionId());
+        dto.setQuestionText(question.getQuestionText());
+        dto.setCategory(question.getCategory());
+        dto.setSubcategory(question.getSubcategory());
+        dto.setDifficulty(question.getDifficulty() != null ? question.getDifficulty().toString() : null);
+        dto.setTips(question.getTips());
+        dto.setIdealDuration(question.getIdealDuration());
+        return dto;
+    }
+
+    private Snapshot load(long loadedVersion) {
+        Map<Long, Question> byId = new LinkedHashMap<>();
+        questionRepository.findByIsActiveTrue().stream()
+                .sorted(Comparator.comparing(Question::getQuestionId))
+                .forEach(question -> byId.put(question.getQuestionId(), question));
+        List<QuestionDTO> dtos = byId.values().stream().map(QuestionCatalog::toDTO).toList();
+        System.out.println("📚 Question catalog loaded: " + byId.size() + " active questions (v" + loadedVersion + ")");
+        return new Snapshot(loadedVersion, Map.copyOf(byId), dtos, etagOf(dtos));
+    }
+
+    // Content hash rather than the version, so the tag survives restarts and matches across instances
+    private String etagOf(List<QuestionDTO> dtos) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(JSON.writeValueAsBytes(dtos));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not compute catalog ETag", e);
+        }
+    }
+
+    private static Question copyOf(Question source) {
+        Question copy = new Question();
+        copy.setQuestionId(source.getQuestionId());
+        copy.setQuestionText(source.getQuestionText());
+        copy.setCategory(source.getCategory());
+        copy.setSubcategory(source.getSubcategory());
+        copy.setDifficulty(source.getDifficulty());
+        copy.setExpectedKeywords(source.getExpectedKeywords());
+        copy.setIdealDuration(source.getIdealDuration());
+        copy.setTips(source.getTips());
+        copy.setSampleAnswer(source.getSampleAnswer());
+        copy.setCreatedBy(source.getCreatedBy());
+        copy.setIsActive(source.getIsActive());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,18 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.Question;
+
+/**
+ * Published by QuestionService after a question is created, edited,
+ * (de)activated or deleted, so derived caches can drop stale entries.
+ */
+public record QuestionChangedEvent(Question question, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, ACTIVATED, DEACTIVATED, DELETED
+    }
+
+    public Long questionId() {
+        return question.getQuestionId();
+    }
+}
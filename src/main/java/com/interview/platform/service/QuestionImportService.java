@@ -0,0 +1,494 @@
+package com.interview.platform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.platform.dto.QuestionImportReportDTO;
+import com.interview.platform.dto.QuestionImportRow;
+import com.interview.platform.model.Question;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk question import from CSV or NDJSON.
+ *
+ * The file is parsed row by row as it streams in. Valid rows are upserted
+ * in batches of {@code questions.import.batch-size}, and each batch commits
+ * on its own. A batch writes through plain JDBC batches: one id lookup, one
+ * UPDATE batch for existing questions and one INSERT batch for new ones.
+ * With the MySQL driver's rewriteBatchedStatements, that INSERT batch is
+ * sent as multi-row INSERTs. Hibernate cannot batch inserts into an
+ * IDENTITY table, but JDBC can, so auto-increment ids are kept.
+ *
+ * Rows with a questionId update that question, or create it with that id.
+ * Rows without one are always inserted. Invalid rows are reported with
+ * their line number and skipped. If a whole batch fails, it is replayed row
+ * by row so that only the offending rows are reported.
+ */
+@Service
+public class QuestionImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final String UPDATE_QUESTION =
+            "UPDATE questions SET question_text = ?, category = ?, subcategory = ?, difficulty = ?, " +
+            "expected_keywords = ?, ideal_duration = ?, tips = ?, sample_answer = ?, is_active = ?, " +
+            "updated_at = ? WHERE question_id = ?";
+
+    private static final String INSERT_QUESTION =
+            "INSERT INTO questions (question_text, category, subcategory, difficulty, expected_keywords, " +
+            "ideal_duration, tips, sample_answer, is_active, updated_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_QUESTION_WITH_ID =
+            "INSERT INTO questions (question_text, category, subcategory, difficulty, expected_keywords, " +
+            "ideal_duration, tips, sample_answer, is_active, updated_at, created_at, question_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // CSV headers are matched case-insensitively, ignoring '_' and spaces
+    private static final List<String> COLUMNS = List.of("questionid", "questiontext", "category", "subcategory",
+            "difficulty", "expectedkeywords", "idealduration", "tips", "sampleanswer", "isactive");
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${questions.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${questions.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    // A validated row waiting for its batch
+    private record PendingRow(long line, Long questionId, Object[] values) {
+    }
+
+    public QuestionImportReportDTO importQuestions(InputStream input, Format format) throws IOException {
+        long started = System.nanoTime();
+        QuestionImportReportDTO report = new QuestionImportReportDTO();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowSource rows = format == Format.CSV ? new CsvRows(reader) : new NdjsonRows(reader);
+            ParsedRow parsed;
+            while ((parsed = rows.next()) != null) {
+                report.setTotalRows(report.getTotalRows() + 1);
+                String error = parsed.error() != null ? parsed.error() : validate(parsed.row());
+                if (error != null) {
+                    addError(report, parsed.line(), error);
+                    continue;
+                }
+                batch.add(toPending(parsed.line(), parsed.row(), now));
+                if (batch.size() >= batchSize) {
+                    flush(batch, report);
+                }
+            }
+            flush(batch, report);
+        } finally {
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            report.setElapsedMillis(elapsedMillis);
+            report.setRowsPerSecond(report.getTotalRows() * 1000.0 / Math.max(1, elapsedMillis));
+            if (report.getInserted() + report.getUpdated() > 0) {
+                eventPublisher.publishEvent(new QuestionsImportedEvent(
+                        (int) report.getInserted(), (int) report.getUpdated()));
+            }
+        }
+        System.out.println("📥 Question import: " + report.getInserted() + " inserted, " + report.getUpdated()
+                + " updated, " + report.getFailed() + " failed (" + Math.round(report.getRowsPerSecond()) + " rows/s)");
+        return report;
+    }
+
+    private void flush(List<PendingRow> batch, QuestionImportReportDTO report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            int[] counts = transaction.execute(status -> upsert(batch));
+            report.setInserted(report.getInserted() + counts[0]);
+            report.setUpdated(report.getUpdated() + counts[1]);
+        } catch (DataAccessException batchFailure) {
+            // One bad row fails the whole batch; replay it row by row to find and skip that row
+            for (PendingRow row : batch) {
+                try {
+                    int[] counts = transaction.execute(status -> upsert(List.of(row)));
+                    report.setInserted(report.getInserted() + counts[0]);
+                    report.setUpdated(report.getUpdated() + counts[1]);
+                } catch (DataAccessException rowFailure) {
+                    addError(report, row.line(), rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    // Returns {inserted, updated}
+    private int[] upsert(List<PendingRow> rows) {
+        Set<Long> existing = existingIds(rows);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> insertsWithId = new ArrayList<>();
+        for (PendingRow row : rows) {
+            Object[] values = row.values();
+            if (row.questionId() == null) {
+                inserts.add(Arrays.copyOf(values, values.length));
+            } else if (existing.contains(row.questionId())) {
+                // created_at is left alone on update; its slot carries the id instead
+                Object[] update = Arrays.copyOf(values, values.length);
+                update[values.length - 1] = row.questionId();
+                updates.add(update);
+            } else {
+                Object[] insert = Arrays.copyOf(values, values.length + 1);
+                insert[values.length] = row.questionId();
+                insertsWithId.add(insert);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_QUESTION, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_QUESTION, inserts);
+        }
+        if (!insertsWithId.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_QUESTION_WITH_ID, insertsWithId);
+        }
+        return new int[]{inserts.size() + insertsWithId.size(), updates.size()};
+    }
+
+    private Set<Long> existingIds(List<PendingRow> rows) {
+        List<Long> ids = rows.stream().map(PendingRow::questionId).filter(id -> id != null).distinct().toList();
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT question_id FROM questions WHERE question_id IN (" + placeholders + ")",
+                Long.class, ids.toArray()));
+    }
+
+    private static String validate(QuestionImportRow row) {
+        if (row.getQuestionId() != null && row.getQuestionId() <= 0) {
+            return "questionId must be positive";
+        }
+        if (row.getQuestionText() == null || row.getQuestionText().isBlank()) {
+            return "questionText is required";
+        }
+        if (row.getCategory() == null || row.getCategory().isBlank()) {
+            return "category is required";
+        }
+        if (row.getCategory().trim().length() > 50) {
+            return "category is longer than 50 characters";
+        }
+        if (row.getSubcategory() != null && row.getSubcategory().trim().length() > 50) {
+            return "subcategory is longer than 50 characters";
+        }
+        if (row.getDifficulty() != null && !row.getDifficulty().isBlank() && difficultyOf(row.getDifficulty()) == null) {
+            return "difficulty must be Easy, Medium or Hard";
+        }
+        if (row.getIdealDuration() != null && row.getIdealDuration() <= 0) {
+            return "idealDuration must be positive";
+        }
+        return null;
+    }
+
+    // Column order of UPDATE_QUESTION / INSERT_QUESTION; the last slot is created_at
+    private static PendingRow toPending(long line, QuestionImportRow row, Timestamp now) {
+        Question.Difficulty difficulty = row.getDifficulty() == null || row.getDifficulty().isBlank()
+                ? Question.Difficulty.Medium : difficultyOf(row.getDifficulty());
+        Object[] values = {
+                row.getQuestionText().trim(),
+                row.getCategory().trim(),
+                blankToNull(row.getSubcategory()),
+                difficulty.name(),
+                blankToNull(row.getExpectedKeywords()),
+                row.getIdealDuration() != null ? row.getIdealDuration() : 180,
+                blankToNull(row.getTips()),
+                blankToNull(row.getSampleAnswer()),
+                row.getIsActive() != null ? row.getIsActive() : Boolean.TRUE,
+                now,
+                now
+        };
+        return new PendingRow(line, row.getQuestionId(), values);
+    }
+
+    private static Question.Difficulty difficultyOf(String value) {
+        for (Question.Difficulty difficulty : Question.Difficulty.values()) {
+            if (difficulty.name().equalsIgnoreCase(value.trim())) {
+                return difficulty;
+            }
+        }
+        return null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private void addError(QuestionImportReportDTO report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new QuestionImportReportDTO.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    // ==================== PARSING ====================
+
+    // A parsed row, or the reason the row could not be read; line is where the row starts
+    private record ParsedRow(long line, QuestionImportRow row, String error) {
+    }
+
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private static final class NdjsonRows implements RowSource {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(line, JSON.readValue(text, QuestionImportRow.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvRows implements RowSource {
+        private final CsvReader csv;
+        private final Map<Integer, String> columns = new HashMap<>();
+        // Set once the rest of the input cannot be split into records
+        private boolean stopped;
+
+        CsvRows(Reader reader) throws IOException {
+            csv = new CsvReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+                if (!COLUMNS.contains(name)) {
+                    throw new IllegalArgumentException("Unknown CSV column: " + header.get(i));
+                }
+                columns.put(i, name);
+            }
+            if (!columns.containsValue("questiontext") || !columns.containsValue("category")) {
+                throw new IllegalArgumentException("CSV header must include questionText and category");
+            }
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            if (stopped) {
+                return null;
+            }
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (MalformedCsvException e) {
+                // Everything after an unclosed quote belongs to that field; report it and keep what came before
+                stopped = true;
+                return new ParsedRow(e.getLine(), null, e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+            long line = csv.recordLine();
+            if (fields.size() != columns.size()) {
+                return new ParsedRow(line, null, "Expected " + columns.size() + " fields but found " + fields.size());
+            }
+            QuestionImportRow row = new QuestionImportRow();
+            try {
+                for (int i = 0; i < fields.size(); i++) {
+                    set(row, columns.get(i), fields.get(i));
+                }
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(line, null, e.getMessage());
+            }
+            return new ParsedRow(line, row, null);
+        }
+
+        private static void set(QuestionImportRow row, String column, String value) {
+            boolean blank = value.isBlank();
+            switch (column) {
+                case "questionid" -> row.setQuestionId(blank ? null : parseNumber(column, value).longValue());
+                case "questiontext" -> row.setQuestionText(value);
+                case "category" -> row.setCategory(value);
+                case "subcategory" -> row.setSubcategory(value);
+                case "difficulty" -> row.setDifficulty(value);
+                case "expectedkeywords" -> row.setExpectedKeywords(value);
+                case "idealduration" -> row.setIdealDuration(blank ? null : parseNumber(column, value).intValue());
+                case "tips" -> row.setTips(value);
+                case "sampleanswer" -> row.setSampleAnswer(value);
+                case "isactive" -> row.setIsActive(blank ? null : parseBoolean(value));
+                default -> throw new IllegalStateException(column);
+            }
+        }
+
+        private static Long parseNumber(String column, String value) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " is not a number: " + value);
+            }
+        }
+
+        private static Boolean parseBoolean(String value) {
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "1", "yes", "y" -> true;
+                case "false", "0", "no", "n" -> false;
+                default -> throw new IllegalArgumentException("isActive is not a boolean: " + value);
+            };
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, double-quoted fields may hold
+     * commas, line breaks and "" escapes. Blank lines are skipped.
+     */
+    static final class CsvReader {
+        private final Reader reader;
+        private long line = 1;
+        private long recordLine;
+        private int pushedBack = -2;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        // Next record's fields, or null at end of input
+        List<String> next() throws IOException {
+            int c;
+            // Skip blank lines between records
+            while ((c = read()) == '\r' || c == '\n') {
+                if (c == '\n') line++;
+            }
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new MalformedCsvException(recordLine,
+                                "Unterminated quoted field; the rest of the file was not read");
+                    }
+                    if (c == '"') {
+                        int peek = read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = peek;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int peek = read();
+                        if (peek != '\n') unread(peek);
+                    }
+                    if (c != -1) line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private void unread(int c) {
+            pushedBack = c;
+        }
+    }
+
+    // Input that cannot be split into records from the given line on
+    static final class MalformedCsvException extends IOException {
+        private final long line;
+
+        MalformedCsvException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        long getLine() {
+            return line;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.Question;
+import com.interview.platform.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ids of active questions, bucketed by category and difficulty, so
+ * random selection never asks the database to sort the question table.
+ *
+ * Sampling is without replacement: a sparse Fisher-Yates shuffle over each
+ * bucket costs O(count) however large the bank is. Difficulties are drawn
+ * in proportion to {@code weight × remaining ids}, so equal weights give a
+ * uniform sample.
+ *
+ * The index is loaded on first use from an id/category/difficulty
+ * projection, patched by committed {@link QuestionChangedEvent}s and fully
+ * reloaded every {@code questions.sampling.refresh-minutes} to pick up edits
+ * made outside this instance.
+ */
+@Component
+public class QuestionSamplingIndex {
+
+    private static final Question.Difficulty[] DIFFICULTIES = Question.Difficulty.values();
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Value("${questions.sampling.weight.easy:1.0}")
+    private double easyWeight = 1.0;
+
+    @Value("${questions.sampling.weight.medium:1.0}")
+    private double mediumWeight = 1.0;
+
+    @Value("${questions.sampling.weight.hard:1.0}")
+    private double hardWeight = 1.0;
+
+    // Reloads read the primary in their own read-write transaction, like QuestionCatalog; a reload
+    // right after a write could otherwise rebuild stale buckets from a lagging replica
+    private TransactionOperations loadTransaction = TransactionOperations.withoutTransaction();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All guarded by lock
+    private Index index;
+    private boolean rebuilding;
+    private final List<QuestionChangedEvent> changesDuringRebuild = new ArrayList<>();
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction = template;
+    }
+
+    /**
+     * Up to {@code count} distinct active question ids, optionally limited to
+     * a category (case-insensitive), in random order.
+     */
+    public List<Long> sample(String category, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<Question.Difficulty, Bucket> buckets = index.buckets(category);
+            return buckets == null ? List.of() : sample(buckets, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return index.slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Only committed changes; fallbackExecution covers callers outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                // The reload may have read the table before this commit; replay after the swap
+                changesDuringRebuild.add(event);
+            }
+            if (index != null) {
+                apply(index, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A bulk import writes too many rows to patch one by one; reload if anything has been loaded yet
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionsImported(QuestionsImportedEvent event) {
+        lock.readLock().lock();
+        try {
+            if (index == null) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${questions.sampling.refresh-minutes:10}",
+            initialDelayString = "${questions.sampling.refresh-minutes:10}", timeUnit = TimeUnit.MINUTES)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changesDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = null;
+        try {
+            fresh = loadTransaction.execute(status -> {
+                Index loaded = new Index();
+                for (Object[] row : questionRepository.findActiveSamplingRows()) {
+                    loaded.put((Long) row[0], (String) row[1], (Question.Difficulty) row[2]);
+                }
+                return loaded;
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                if (fresh != null) {
+                    for (QuestionChangedEvent event : changesDuringRebuild) {
+                        apply(fresh, event);
+                    }
+                    index = fresh;
+                }
+                changesDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        System.out.println("🎲 Question sampling index loaded: " + fresh.slots.size() + " active questions");
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (index != null) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (this) {
+            // Another caller may have finished loading while this one waited
+            if (index == null) {
+                rebuild();
+            }
+        }
+    }
+
+    private void apply(Index target, QuestionChangedEvent event) {
+        Question question = event.question();
+        boolean active = event.type() != QuestionChangedEvent.ChangeType.DELETED
+                && Boolean.TRUE.equals(question.getIsActive());
+        target.remove(question.getQuestionId());
+        if (active) {
+            target.put(question.getQuestionId(), question.getCategory(), question.getDifficulty());
+        }
+    }
+
+    private List<Long> sample(Map<Question.Difficulty, Bucket> buckets, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Bucket, Draw> draws = new HashMap<>();
+        List<Long> picked = new ArrayList<>(count);
+
+        while (picked.size() < count) {
+            // Choose a difficulty in proportion to weight × ids it still has
+            double total = 0;
+            for (Question.Difficulty difficulty : DIFFICULTIES) {
+                total += weighted(buckets, draws, difficulty);
+            }
+            if (total <= 0) break;
+
+            double r = random.nextDouble(total);
+            Bucket chosen = null;
+            for (Question.Difficulty difficulty : DIFFICULTIES) {
+                double weight = weighted(buckets, draws, difficulty);
+                if (weight <= 0) continue;
+                chosen = buckets.get(difficulty);
+                if ((r -= weight) < 0) break;
+            }
+            picked.add(draws.computeIfAbsent(chosen, Draw::new).next(random));
+        }
+        return picked;
+    }
+
+    private double weighted(Map<Question.Difficulty, Bucket> buckets, Map<Bucket, Draw> draws,
+                            Question.Difficulty difficulty) {
+        Bucket bucket = buckets.get(difficulty);
+        if (bucket == null) return 0;
+        Draw draw = draws.get(bucket);
+        int remaining = bucket.size - (draw != null ? draw.taken : 0);
+        return remaining * weightOf(difficulty);
+    }
+
+    private double weightOf(Question.Difficulty difficulty) {
+        return switch (difficulty) {
+            case Easy -> easyWeight;
+            case Medium -> mediumWeight;
+            case Hard -> hardWeight;
+        };
+    }
+
+    private static String key(String category) {
+        return category == null ? "" : category.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lazy Fisher-Yates over a bucket: the first {@code taken} virtual slots
+     * hold the picks so far, and only swapped positions are remembered.
+     */
+    private static final class Draw {
+        private final Bucket bucket;
+        private final Map<Integer, Long> swapped = new HashMap<>();
+        private int taken;
+
+        Draw(Bucket bucket) {
+            this.bucket = bucket;
+        }
+
+        long next(ThreadLocalRandom random) {
+            int j = taken + random.nextInt(bucket.size - taken);
+            long value = swapped.getOrDefault(j, bucket.ids[j]);
+            swapped.put(j, swapped.getOrDefault(taken, bucket.ids[taken]));
+            taken++;
+            return value;
+        }
+    }
+
+    // Dense id array with swap-remove, so every slot below size is a live id
+    private static final class Bucket {
+        private long[] ids = new long[16];
+        private int size;
+
+        int add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            return size++;
+        }
+    }
+
+    private record Slot(String category, Question.Difficulty difficulty, int allPos, int categoryPos) {
+    }
+
+    private static final class Index {
+        private final Map<Question.Difficulty, Bucket> all = new HashMap<>();
+        private final Map<String, Map<Question.Difficulty, Bucket>> byCategory = new HashMap<>();
+        private final Map<Long, Slot> slots = new HashMap<>();
+
+        Map<Question.Difficulty, Bucket> buckets(String category) {
+            return category == null || category.isEmpty() ? all : byCategory.get(key(category));
+        }
+
+        void put(Long id, String category, Question.Difficulty difficulty) {
+            Question.Difficulty d = difficulty != null ? difficulty : Question.Difficulty.Medium;
+            String k = key(category);
+            int allPos = all.computeIfAbsent(d, x -> new Bucket()).add(id);
+            int categoryPos = byCategory.computeIfAbsent(k, x -> new HashMap<>())
+                    .computeIfAbsent(d, x -> new Bucket()).add(id);
+            slots.put(id, new Slot(k, d, allPos, categoryPos));
+        }
+
+        void remove(Long id) {
+            Slot slot = slots.remove(id);
+            if (slot == null) return;
+            removeAt(all.get(slot.difficulty()), slot.allPos(), true);
+            removeAt(byCategory.get(slot.category()).get(slot.difficulty()), slot.categoryPos(), false);
+        }
+
+        // Move the bucket's last id into the hole and fix that id's slot
+        private void removeAt(Bucket bucket, int pos, boolean allBucket) {
+            int last = --bucket.size;
+            if (pos == last) return;
+            long moved = bucket.ids[last];
+            bucket.ids[pos] = moved;
+            Slot slot = slots.get(moved);
+            slots.put(moved, allBucket
+                    ? new Slot(slot.category(), slot.difficulty(), pos, slot.categoryPos())
+                    : new Slot(slot.category(), slot.difficulty(), slot.allPos(), pos));
+        }
+    }
+}
@@ -3,12 +3,12 @@ package com.interview.platform.service;
 import com.interview.platform.model.Question;
 import com.interview.platform.repository.QuestionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 @Service
 @Transactional
@@ -17,34 +17,84 @@ public class QuestionService {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private QuestionSamplingIndex samplingIndex;
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
     // ✅ Get all active questions
+    @Transactional(readOnly = true)
     public List<Question> getAllQuestions() {
-        return questionRepository.findByIsActiveTrue();
+        return questionCatalog.current().byId().keySet().stream().map(questionCatalog::get).toList();
+    }
+
+    // ✅ Cached snapshot of the active catalog (DTOs + ETag) for the listing endpoint
+    @Transactional(readOnly = true)
+    public QuestionCatalog.Snapshot getCatalog() {
+        return questionCatalog.current();
     }
 
-    // ✅ Get question by ID
+    // ✅ Get question by ID (active ones come from the catalog cache)
+    @Transactional(readOnly = true)
     public Question getQuestionById(Long id) {
+        Question cached = questionCatalog.get(id);
+        return cached != null ? cached : getQuestionForEdit(id);
+    }
+
+    // ✅ Managed entity straight from the database, for callers that modify it
+    public Question getQuestionForEdit(Long id) {
         return questionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found"));
     }
 
     // ✅ Get questions by category
+    @Transactional(readOnly = true)
     public List<Question> getQuestionsByCategory(String category) {
         return questionRepository.findByCategory(category);
     }
 
     // ✅ Get random questions (category optional)
+    // Ids are sampled in memory, then looked up in the catalog in the sampled order
+    @Transactional(readOnly = true)
     public List<Question> getRandomQuestions(String category, int count) {
-        if (category != null && !category.isEmpty()) {
-            return questionRepository.findRandomQuestionsByCategory(category, PageRequest.of(0, count));
+        List<Question> questions = new ArrayList<>(count);
+        for (Long id : samplingIndex.sample(category, count)) {
+            Question question = questionCatalog.get(id);
+            if (question != null) {
+                questions.add(question);
+            }
         }
-        return questionRepository.findRandomQuestions(PageRequest.of(0, count));
+        return questions;
     }
 
     // ✅ Add or update a question (used by controller)
     public Question saveQuestion(Question question) {
+        boolean isNew = question.getQuestionId() == null;
         question.setIsActive(true);
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        publishChange(saved, isNew ? QuestionChangedEvent.ChangeType.CREATED : QuestionChangedEvent.ChangeType.UPDATED);
+        return saved;
+    }
+
+    // ✅ Save edits without touching the active flag (used by admin panel)
+    public Question updateQuestion(Question question) {
+        Question saved = questionRepository.save(question);
+        publishChange(saved, QuestionChangedEvent.ChangeType.UPDATED);
+        return saved;
+    }
+
+    // ✅ Activate / deactivate a question
+    public Question setQuestionActive(Long id, boolean active) {
+        Question question = questionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+        question.setIsActive(active);
+        Question saved = questionRepository.save(question);
+        publishChange(saved, active ? QuestionChangedEvent.ChangeType.ACTIVATED : QuestionChangedEvent.ChangeType.DEACTIVATED);
+        return saved;
     }
 
     // ✅ Delete question by ID (soft delete optional)
@@ -52,11 +102,18 @@ public class QuestionService {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found"));
         questionRepository.delete(question);
+        publishChange(question, QuestionChangedEvent.ChangeType.DELETED);
     }
 
     // ✅ Create new question (alias for saveQuestion)
     public Question createQuestion(Question question) {
         question.setIsActive(true);
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        publishChange(saved, QuestionChangedEvent.ChangeType.CREATED);
+        return saved;
+    }
+
+    private void publishChange(Question question, QuestionChangedEvent.ChangeType type) {
+        eventPublisher.publishEvent(new QuestionChangedEvent(question, type));
     }
 }
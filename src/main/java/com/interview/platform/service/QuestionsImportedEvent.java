@@ -0,0 +1,9 @@
+package com.interview.platform.service;
+
+/**
+ * Published by QuestionImportService after a bulk import has written
+ * questions directly with JDBC, so caches derived from the question table
+ * reload instead of being patched one question at a time.
+ */
+public record QuestionsImportedEvent(int inserted, int updated) {
+}
@@ -0,0 +1,296 @@
+package com.interview.platform.service;
+
+import com.interview.platform.analysis.AnswerScoring;
+import com.interview.platform.analysis.KeywordIndexCache;
+import com.interview.platform.analysis.ScoreCard;
+import com.interview.platform.analysis.TranscriptScanner;
+import com.interview.platform.dto.AnswerScoringRow;
+import com.interview.platform.dto.RescoreJobDTO;
+import com.interview.platform.model.RescoreJob;
+import com.interview.platform.repository.AnswerAnalysisRepository;
+import com.interview.platform.repository.InterviewAnswerRepository;
+import com.interview.platform.repository.RescoreJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-scores every analyzed answer with the current scoring formulas.
+ *
+ * Answers are streamed in keyset-paginated chunks (answer_id > checkpoint),
+ * scored in parallel, and written back with JDBC batches. Each chunk's
+ * writes, the affected session averages and the job checkpoint commit in one
+ * transaction, so a job interrupted by a restart resumes from the last
+ * committed chunk without redoing or skipping answers.
+ */
+@Service
+public class RescoreJobService {
+
+    private static final String UPDATE_ANALYSIS =
+            "UPDATE answer_analysis SET content_score = ?, communication_score = ?, confidence_score = ?, " +
+            "overall_score = ?, words_per_minute = ?, filler_word_count = ?, keyword_match_percentage = ?, " +
+            "strengths = ?, weaknesses = ?, improvement_tips = ?, analyzed_at = ? WHERE analysis_id = ?";
+
+    // Rebuilds the running aggregates too, so later incremental updates start from the new scores
+    private static final String UPDATE_SESSION_AVERAGE =
+            "UPDATE interview_sessions SET " +
+            "overall_score = COALESCE((SELECT AVG(aa.overall_score) FROM answer_analysis aa " +
+            "JOIN interview_answers ia ON ia.answer_id = aa.answer_id WHERE ia.session_id = ?), 0), " +
+            "score_sum = COALESCE((SELECT SUM(aa.overall_score) FROM answer_analysis aa " +
+            "JOIN interview_answers ia ON ia.answer_id = aa.answer_id WHERE ia.session_id = ?), 0), " +
+            "scored_answers = (SELECT COUNT(aa.overall_score) FROM answer_analysis aa " +
+            "JOIN interview_answers ia ON ia.answer_id = aa.answer_id WHERE ia.session_id = ?) " +
+            "WHERE session_id = ?";
+
+    @Autowired
+    private InterviewAnswerRepository answerRepository;
+
+    @Autowired
+    private AnswerAnalysisRepository analysisRepository;
+
+    @Autowired
+    private RescoreJobRepository jobRepository;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TranscriptScanner transcriptScanner;
+
+    @Autowired
+    private KeywordIndexCache keywordIndexCache;
+
+    @Value("${rescore.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${rescore.parallelism:0}")
+    private int parallelism;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rescore-runner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ForkJoinPool scoringPool;
+
+    // Bumped on every launch/cancel/shutdown; a run stops once it no longer owns the current generation
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile boolean running;
+
+    // Rate of the current run (not persisted: a resumed job restarts the clock)
+    private volatile long runStartedNanos;
+    private volatile long runProcessed;
+
+    // ✅ Resume a job that was still running when the app went down
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJob() {
+        jobRepository.findFirstByStatusOrderByJobIdDesc(RescoreJob.Status.Running).ifPresent(job -> {
+            System.out.println("Resuming re-score job " + job.getJobId() + " after answer " + job.getLastAnswerId());
+            launch(job.getJobId());
+        });
+    }
+
+    // ✅ Start a new job (or return the one already running)
+    public synchronized RescoreJobDTO start() {
+        Optional<RescoreJob> active = jobRepository.findFirstByStatusOrderByJobIdDesc(RescoreJob.Status.Running);
+        if (active.isPresent()) {
+            if (!running) {
+                launch(active.get().getJobId());
+            }
+            return toDTO(active.get());
+        }
+
+        RescoreJob job = new RescoreJob();
+        job.setTotalAnswers(analysisRepository.count());
+        job = jobRepository.save(job);
+        launch(job.getJobId());
+        return toDTO(job);
+    }
+
+    public synchronized Optional<RescoreJobDTO> cancel() {
+        Optional<RescoreJob> active = jobRepository.findFirstByStatusOrderByJobIdDesc(RescoreJob.Status.Running);
+        active.ifPresent(job -> {
+            generation.incrementAndGet();
+            job.setStatus(RescoreJob.Status.Cancelled);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+        return active.map(this::toDTO);
+    }
+
+    public Optional<RescoreJobDTO> getLatestJob() {
+        return jobRepository.findFirstByOrderByJobIdDesc().map(this::toDTO);
+    }
+
+    private void launch(Long jobId) {
+        int gen = generation.incrementAndGet();
+        running = true;
+        runner.execute(() -> run(jobId, gen));
+    }
+
+    private void run(Long jobId, int gen) {
+        runStartedNanos = System.nanoTime();
+        runProcessed = 0;
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            RescoreJob job = jobRepository.findById(jobId).orElseThrow();
+            long checkpoint = job.getLastAnswerId();
+
+            while (generation.get() == gen) {
+                List<AnswerScoringRow> rows =
+                        answerRepository.findScoringRowsAfter(checkpoint, PageRequest.of(0, chunkSize));
+                if (rows.isEmpty()) {
+                    finish(jobId, RescoreJob.Status.Completed, null);
+                    break;
+                }
+
+                List<ScoreCard> cards = score(rows);
+                long nextCheckpoint = rows.get(rows.size() - 1).getAnswerId();
+                tx.executeWithoutResult(status -> writeChunk(jobId, rows, cards, nextCheckpoint));
+                // Session scores changed behind the per-user dashboard caches
+                dashboardService.invalidateAll();
+
+                checkpoint = nextCheckpoint;
+                runProcessed += rows.size();
+            }
+        } catch (Exception e) {
+            System.err.println("ERROR in re-score job " + jobId + ": " + e.getMessage());
+            e.printStackTrace();
+            finish(jobId, RescoreJob.Status.Failed, e.getMessage());
+        } finally {
+            if (generation.get() == gen) {
+                running = false;
+            }
+        }
+    }
+
+    // Scoring is CPU-only, so fan the chunk out across cores
+    private List<ScoreCard> score(List<AnswerScoringRow> rows) throws Exception {
+        return scoringPool().submit(() -> rows.parallelStream()
+                .map(this::score)
+                .toList()).get();
+    }
+
+    private ScoreCard score(AnswerScoringRow row) {
+        String transcription = AnswerScoring.normalizeTranscription(row.getTranscription());
+        return AnswerScoring.score(
+                transcriptScanner.scan(transcription, keywordIndexCache.forQuestion(
+                        row.getQuestionId(), row.getQuestionUpdatedAt(), row.getExpectedKeywords())),
+                AnswerScoring.normalizeDuration(row.getDuration()),
+                row.getConfidenceScore() != null ? row.getConfidenceScore() : AnswerScoring.DEFAULT_CONFIDENCE);
+    }
+
+    private void writeChunk(Long jobId, List<AnswerScoringRow> rows, List<ScoreCard> cards, long nextCheckpoint) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>();
+        Set<Long> sessionIds = new LinkedHashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            AnswerScoringRow row = rows.get(i);
+            ScoreCard card = cards.get(i);
+            updates.add(new Object[]{
+                    card.getContentScore(), card.getCommunicationScore(), card.getConfidenceScore(),
+                    card.getOverallScore(), card.getWordsPerMinute(), card.getFillerCount(),
+                    card.getKeywordMatchPercentage(), String.join("|", card.getStrengths()),
+                    String.join("|", card.getWeaknesses()), String.join("|", card.getTips()), now,
+                    row.getAnalysisId()
+            });
+            sessionIds.add(row.getSessionId());
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_ANALYSIS, updates);
+
+        List<Object[]> sessions = new ArrayList<>();
+        for (Long sessionId : sessionIds) {
+            sessions.add(new Object[]{sessionId, sessionId, sessionId, sessionId});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SESSION_AVERAGE, sessions);
+
+        // Checkpoint commits with the chunk; a cancelled job is left alone
+        jdbcTemplate.update("UPDATE rescore_jobs SET last_answer_id = ?, processed_count = processed_count + ?, " +
+                        "updated_at = ? WHERE job_id = ? AND status = 'Running'",
+                nextCheckpoint, rows.size(), now, jobId);
+    }
+
+    private void finish(Long jobId, RescoreJob.Status status, String error) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() != RescoreJob.Status.Running) return;
+            job.setStatus(status);
+            job.setErrorMessage(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    private synchronized ForkJoinPool scoringPool() {
+        if (scoringPool == null) {
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            scoringPool = new ForkJoinPool(threads);
+        }
+        return scoringPool;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Leave the job marked Running so it resumes from its checkpoint on next start
+        generation.incrementAndGet();
+        runner.shutdown();
+        runner.awaitTermination(30, TimeUnit.SECONDS);
+        if (scoringPool != null) {
+            scoringPool.shutdown();
+        }
+    }
+
+    private RescoreJobDTO toDTO(RescoreJob job) {
+        RescoreJobDTO dto = new RescoreJobDTO();
+        dto.setJobId(job.getJobId());
+        dto.setStatus(job.getStatus().toString());
+        dto.setLastAnswerId(job.getLastAnswerId());
+        dto.setProcessedCount(job.getProcessedCount());
+        dto.setTotalAnswers(job.getTotalAnswers());
+        if (job.getTotalAnswers() != null && job.getTotalAnswers() > 0) {
+            dto.setPercentComplete(Math.min(100.0, job.getProcessedCount() * 100.0 / job.getTotalAnswers()));
+        }
+        if (running && job.getStatus() == RescoreJob.Status.Running) {
+            double seconds = Duration.ofNanos(System.nanoTime() - runStartedNanos).toMillis() / 1000.0;
+            dto.setRowsPerSecond(seconds > 0 ? runProcessed / seconds : 0.0);
+        } else if (job.getStartedAt() != null && job.getFinishedAt() != null) {
+            double seconds = Duration.between(job.getStartedAt(), job.getFinishedAt()).toMillis() / 1000.0;
+            dto.setRowsPerSecond(seconds > 0 ? job.getProcessedCount() / seconds : 0.0);
+        }
+        dto.setStartedAt(job.getStartedAt() != null ? job.getStartedAt().toString() : null);
+        dto.setUpdatedAt(job.getUpdatedAt() != null ? job.getUpdatedAt().toString() : null);
+        dto.setFinishedAt(job.getFinishedAt() != null ? job.getFinishedAt().toString() : null);
+        dto.setErrorMessage(job.getErrorMessage());
+        return dto;
+    }
+}
@@ -0,0 +1,188 @@
+package com.interview.platform.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Guards calls to the speech-to-text provider.
+ *
+ * A bulkhead caps how many transcriptions may be in flight at once, and a
+ * {@link CircuitBreaker} stops calling the provider after repeated failures,
+ * letting a few probes through once the open period is over. Refused calls
+ * fail straight away with {@link SpeechUnavailableException}, so callers can
+ * defer the work instead of waiting on a provider that is down.
+ */
+@Component
+public class SpeechResilience {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${assemblyai.bulkhead.max-concurrent:32}")
+    private int maxConcurrent;
+
+    @Value("${assemblyai.bulkhead.max-wait-ms:0}")
+    private long maxWaitMs;
+
+    @Value("${assemblyai.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${assemblyai.breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${assemblyai.breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${assemblyai.breaker.open-seconds:30}")
+    private long openSeconds;
+
+    @Value("${assemblyai.breaker.half-open-probes:2}")
+    private int halfOpenProbes;
+
+    private CircuitBreaker breaker;
+    private Semaphore bulkhead;
+    private Counter succeeded;
+    private Counter failed;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openSeconds, TimeUnit.SECONDS, halfOpenProbes);
+        bulkhead = new Semaphore(maxConcurrent);
+
+        // 0 = closed, 1 = half-open, 2 = open
+        Gauge.builder("speech.breaker.state", breaker, b -> switch (b.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .description("Speech-to-text circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .register(meterRegistry);
+        Gauge.builder("speech.breaker.failure.rate", breaker, CircuitBreaker::getFailureRate)
+                .description("Failure rate over the breaker's sliding window")
+                .register(meterRegistry);
+        Gauge.builder("speech.bulkhead.in.flight", bulkhead, s -> maxConcurrent - s.availablePermits())
+                .description("Speech-to-text calls currently in flight")
+                .register(meterRegistry);
+        succeeded = callCounter("success");
+        failed = callCounter("failure");
+        rejected = callCounter("rejected");
+    }
+
+    /**
+     * Run {@code call} if the breaker and bulkhead allow it. The permit is
+     * held until the returned future completes.
+     */
+    public CompletableFuture<String> call(Supplier<CompletableFuture<String>> call) {
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == null) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new SpeechUnavailableException("Speech-to-text is unavailable (circuit open)"));
+        }
+        if (!acquireBulkhead()) {
+            breaker.release(permit);
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new SpeechUnavailableException("Too many transcriptions in flight (" + maxConcurrent + ")"));
+        }
+
+        CompletableFuture<String> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((text, error) -> {
+            bulkhead.release();
+            Throwable cause = unwrap(error);
+            if (cause == null || cause instanceof TranscriptPoller.TranscriptFailedException) {
+                // A transcript the provider rejected still means the provider is up
+                breaker.onSuccess(permit);
+                succeeded.increment();
+            } else if (cause instanceof CancellationException) {
+                breaker.release(permit);
+            } else {
+                breaker.onFailure(permit);
+                failed.increment();
+            }
+        });
+    }
+
+    /**
+     * Cheap check for work that can choose to wait, like the deferred queue or
+     * starting an upload early: false while the breaker is open or the
+     * bulkhead is full.
+     */
+    public boolean isCallPermitted() {
+        return breaker.getState() != CircuitBreaker.State.OPEN && bulkhead.availablePermits() > 0;
+    }
+
+    public CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Failures worth retrying later: the provider refused, timed out or could
+     * not be reached. A transcript the provider rejected is not one of them.
+     */
+    public static boolean isTransient(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof SpeechUnavailableException
+                || cause instanceof TimeoutException
+                || cause instanceof IOException;
+    }
+
+    private boolean acquireBulkhead() {
+        if (maxWaitMs <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter callCounter(String outcome) {
+        return Counter.builder("speech.calls")
+                .description("Speech-to-text calls by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Thrown (or used to fail a future) when a call is refused without
+     * reaching the provider.
+     */
+    public static class SpeechUnavailableException extends RuntimeException {
+        public SpeechUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,159 +1,307 @@
 package com.interview.platform.service;
 
+import com.interview.platform.analysis.audio.AudioNormalizer;
+import com.interview.platform.analysis.audio.NormalizedAudio;
+import com.interview.platform.storage.BlobStore;
+import com.interview.platform.storage.BlobWriter;
+import com.interview.platform.storage.StoredBlob;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.file.*;
-import java.util.Base64;
-import org.json.JSONObject;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SpeechToTextService {
 
-    // Load API key from application.properties
-    @Value("${assemblyai.api.key:}")
-    private String apiKey;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int PIPE_BUFFER_SIZE = 256 * 1024;
+    // Enough to replay what the normalizer reads when it decides an upload is not WAV
+    private static final int PROBE_LIMIT = 1024 * 1024;
 
-    private static final String UPLOAD_URL = "https://api.assemblyai.com/v2/upload";
-    private static final String TRANSCRIPT_URL = "https://api.assemblyai.com/v2/transcript";
+    @Autowired
+    private AssemblyAiClient assemblyAiClient;
 
-    /**
-     * Convert audio file to text using AssemblyAI API
-     */
-    public String transcribeAudio(MultipartFile audioFile) throws Exception {
+    @Autowired
+    private TranscriptPoller transcriptPoller;
 
-        // If no API key provided, use mock transcription
-        if (apiKey == null || apiKey.trim().isEmpty()) {
-            System.out.println("⚠️ AssemblyAI API key not configured!");
-            System.out.println("Falling back to mock transcription for demo purposes.");
-            return mockTranscription(audioFile);
-        }
+    @Autowired
+    private TranscriptionCache transcriptionCache;
 
-        // STEP 1: Upload audio file to AssemblyAI
-        String uploadUrl = uploadAudio(audioFile);
+    @Autowired
+    private BlobStore blobStore;
 
-        // STEP 2: Request transcription
-        String transcriptId = requestTranscription(uploadUrl);
+    @Autowired
+    private AudioNormalizer audioNormalizer;
 
-        // STEP 3: Poll for result
-        return getTranscriptionResult(transcriptId);
-    }
+    @Autowired
+    private SpeechResilience speechResilience;
+
+    // How long a request thread may wait for a transcript before the answer is deferred
+    @Value("${assemblyai.sync-wait-seconds:60}")
+    private long syncWaitSeconds = 60;
+
+    @Autowired
+    @Qualifier("speechUploadExecutor")
+    private ThreadPoolTaskExecutor speechUploadExecutor;
 
     /**
-     * Upload the audio file to AssemblyAI and return its upload_url
+     * Convert an audio file already saved to disk (see saveAudioFile) to text.
+     * Blocks the caller; background work should use transcribeAudioAsync.
      */
-    private String uploadAudio(MultipartFile audioFile) throws Exception {
-        HttpURLConnection uploadConn = (HttpURLConnection) new URL(UPLOAD_URL).openConnection();
-        uploadConn.setRequestMethod("POST");
-        uploadConn.setRequestProperty("Authorization", apiKey);
-        uploadConn.setDoOutput(true);
+    public String transcribeAudio(StoredAudio audio) throws Exception {
+        return awaitTranscription(transcribeAudioAsync(audio));
+    }
 
-        try (OutputStream os = uploadConn.getOutputStream()) {
-            os.write(audioFile.getBytes());
+    /**
+     * Wait at most {@code assemblyai.sync-wait-seconds}; a TimeoutException
+     * leaves the transcription running, so a deferred retry of the same
+     * recording picks it up from the cache.
+     */
+    public String awaitTranscription(CompletableFuture<String> transcription) throws Exception {
+        try {
+            return transcription.get(syncWaitSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
         }
+    }
 
-        BufferedReader uploadReader = new BufferedReader(new InputStreamReader(uploadConn.getInputStream()));
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = uploadReader.readLine()) != null) {
-            response.append(line);
+    /**
+     * Upload and request the transcript on the calling thread, then hand the
+     * wait to the shared TranscriptPoller. The future completes on a poller
+     * thread. A recording seen before is answered from the cache.
+     */
+    public CompletableFuture<String> transcribeAudioAsync(StoredAudio audio) {
+        // If no API key provided, use mock transcription
+        if (!assemblyAiClient.isConfigured()) {
+            System.out.println("⚠️ AssemblyAI API key not configured!");
+            System.out.println("Falling back to mock transcription for demo purposes.");
+            return CompletableFuture.completedFuture(mockTranscription());
         }
-        uploadReader.close();
 
-        JSONObject uploadJson = new JSONObject(response.toString());
-        return uploadJson.getString("upload_url");
+        return transcriptionCache.getOrTranscribe(audio, () -> speechResilience.call(() -> {
+            try {
+                // STEP 1: Upload audio file to AssemblyAI
+                String uploadUrl = assemblyAiClient.upload(Paths.get(audio.path()));
+
+                // STEP 2 + 3: Request transcription and wait for it
+                return requestAndAwait(uploadUrl);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
     }
 
     /**
-     * Create a transcription request and return the transcript ID
+     * Read the multipart upload exactly once: each buffer is written to disk,
+     * added to the content hash and piped to the AssemblyAI upload running on
+     * speechUploadExecutor. Once the hash is known a cached transcription
+     * wins and the provider upload is abandoned before any transcript is
+     * requested. If the streamed upload could not start or failed, the saved
+     * file is uploaded instead.
+     *
+     * WAV uploads are first normalized (mono, 16 kHz, silence trimmed) and it
+     * is the smaller normalized file that is stored and uploaded. The
+     * normalizer reads from the same stream: for other formats it only looks
+     * at the first bytes, which are replayed into the tee. A WAV that needs no
+     * normalizing has been decoded in full by then and is read a second time.
      */
-    private String requestTranscription(String audioUrl) throws Exception {
-        JSONObject requestJson = new JSONObject();
-        requestJson.put("audio_url", audioUrl);
-        requestJson.put("language_code", "en_us");
-        requestJson.put("punctuate", true);
+    public IngestedAudio ingestAudio(MultipartFile audioFile) throws IOException {
+        try (InputStream in = new BufferedInputStream(audioFile.getInputStream(), COPY_BUFFER_SIZE)) {
+            in.mark(PROBE_LIMIT);
+            try (NormalizedAudio normalized = audioNormalizer.normalize(in, audioFile.getSize())) {
+                if (normalized != null) {
+                    try (InputStream file = Files.newInputStream(normalized.file())) {
+                        return ingestAudio(file, normalized.size());
+                    }
+                }
+            }
+            if (rewind(in)) {
+                return ingestAudio(in, audioFile.getSize());
+            }
+        }
+        try (InputStream in = audioFile.getInputStream()) {
+            return ingestAudio(in, audioFile.getSize());
+        }
+    }
 
-        HttpURLConnection conn = (HttpURLConnection) new URL(TRANSCRIPT_URL).openConnection();
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Authorization", apiKey);
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setDoOutput(true);
+    private IngestedAudio ingestAudio(InputStream in, long length) throws IOException {
+        PipedOutputStream pipeOut = null;
+        HttpPost upload = null;
+        CompletableFuture<String> streamedUploadUrl = null;
+        // No early upload while the provider is failing or saturated
+        if (assemblyAiClient.isConfigured() && speechResilience.isCallPermitted()) {
+            PipedInputStream pipeIn = new PipedInputStream(PIPE_BUFFER_SIZE);
+            pipeOut = new PipedOutputStream(pipeIn);
+            HttpPost request = assemblyAiClient.prepareUpload(pipeIn, length);
+            try {
+                streamedUploadUrl = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return assemblyAiClient.upload(request);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, speechUploadExecutor);
+                // Unblocks the writer below if the upload dies before draining the pipe
+                streamedUploadUrl.whenComplete((url, error) -> closeQuietly(pipeIn));
+                upload = request;
+            } catch (RejectedExecutionException e) {
+                pipeOut = null;
+            }
+        }
 
-        try (OutputStream os = conn.getOutputStream()) {
-            os.write(requestJson.toString().getBytes());
+        StoredBlob blob;
+        try (BlobWriter writer = blobStore.newWriter()) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                writer.write(buffer, 0, n);     // hashes as it writes
+                if (pipeOut != null) {
+                    try {
+                        pipeOut.write(buffer, 0, n);
+                    } catch (IOException e) {
+                        pipeOut = null;     // upload gave up; keep saving to disk
+                    }
+                }
+            }
+            blob = writer.commit();
+        } catch (IOException e) {
+            if (upload != null) upload.cancel();
+            throw e;
+        } finally {
+            closeQuietly(pipeOut);
         }
 
-        BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
+        StoredAudio audio = toStoredAudio(blob);
+        if (!assemblyAiClient.isConfigured()) {
+            return new IngestedAudio(audio, transcribeAudioAsync(audio));
         }
-        reader.close();
 
-        JSONObject responseJson = new JSONObject(response.toString());
-        return responseJson.getString("id");
+        CompletableFuture<String> uploaded = streamedUploadUrl;
+        boolean[] used = {false};
+        CompletableFuture<String> transcription = transcriptionCache.getOrTranscribe(audio,
+                () -> speechResilience.call(() -> {
+                    used[0] = true;
+                    CompletableFuture<String> uploadUrl = uploaded != null
+                            ? uploaded.exceptionallyCompose(e -> uploadSaved(audio))
+                            : uploadSaved(audio);
+                    return uploadUrl.thenCompose(this::requestAndAwait);
+                }));
+        if (!used[0] && upload != null) {
+            // Cache hit, the same recording already being transcribed, or the provider call was refused
+            upload.cancel();
+        }
+        return new IngestedAudio(audio, transcription);
     }
 
-    /**
-     * Poll AssemblyAI until the transcription is complete
-     */
-    private String getTranscriptionResult(String transcriptId) throws Exception {
-        while (true) {
-            Thread.sleep(3000); // wait 3 seconds between polls
-            URL url = new URL(TRANSCRIPT_URL + "/" + transcriptId);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Authorization", apiKey);
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-            }
-            reader.close();
-
-            JSONObject json = new JSONObject(response.toString());
-            String status = json.getString("status");
+    private CompletableFuture<String> uploadSaved(StoredAudio audio) {
+        try {
+            return CompletableFuture.completedFuture(assemblyAiClient.upload(Paths.get(audio.path())));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            if (status.equals("completed")) {
-                return json.getString("text");
-            } else if (status.equals("error")) {
-                throw new Exception("❌ Transcription failed: " + json.getString("error"));
-            }
+    private CompletableFuture<String> requestAndAwait(String uploadUrl) {
+        try {
+            // Request transcription, then wait for the result (polled with backoff, or completed by webhook)
+            String transcriptId = assemblyAiClient.requestTranscription(uploadUrl);
+            return transcriptPoller.await(transcriptId);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
      * Mock transcription (used when API key missing)
      */
-    private String mockTranscription(MultipartFile audioFile) {
+    private String mockTranscription() {
         return "I am a passionate software developer with experience in Java, Spring Boot, and full stack development. "
                 + "I have worked on several projects including web and enterprise applications. "
                 + "I am excited about this opportunity and believe I would be a great fit for your team.";
     }
 
     /**
-     * Save uploaded audio file to disk
+     * Save uploaded audio file to the blob store (content-addressed, so the
+     * SHA-256 comes with it)
+     */
+    public StoredAudio saveAudioFile(MultipartFile audioFile) throws IOException {
+        try (InputStream in = new BufferedInputStream(audioFile.getInputStream(), COPY_BUFFER_SIZE)) {
+            in.mark(PROBE_LIMIT);
+            try (NormalizedAudio normalized = audioNormalizer.normalize(in, audioFile.getSize())) {
+                if (normalized != null) {
+                    return storeNormalized(normalized);
+                }
+            }
+            if (rewind(in)) {
+                return toStoredAudio(blobStore.put(in));
+            }
+        }
+        try (InputStream in = audioFile.getInputStream()) {
+            return toStoredAudio(blobStore.put(in));
+        }
+    }
+
+    /**
+     * Move an assembled upload (see BlobStore#stagingPath) into the blob
+     * store. Audio goes through the normalizer first, like multipart uploads;
+     * either way the staging file is consumed.
      */
-    public String saveAudioFile(MultipartFile audioFile, Long sessionId, Long questionId) throws IOException {
-        String uploadDir = "uploads/audio/";
-        Path uploadPath = Paths.get(uploadDir);
+    public StoredAudio storeUploadedFile(Path file, boolean audio) throws IOException {
+        if (audio) {
+            NormalizedAudio normalized;
+            try (InputStream in = Files.newInputStream(file)) {
+                normalized = audioNormalizer.normalize(in, Files.size(file));
+            }
+            if (normalized != null) {
+                try (normalized) {
+                    StoredAudio stored = storeNormalized(normalized);
+                    Files.deleteIfExists(file);
+                    return stored;
+                }
+            }
+        }
+        return toStoredAudio(blobStore.putFile(file));
+    }
 
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    // Back to the first byte, unless the normalizer read past what the mark keeps
+    private static boolean rewind(InputStream in) {
+        try {
+            in.reset();
+            return true;
+        } catch (IOException e) {
+            return false;
         }
+    }
 
-        String fileName = "session_" + sessionId + "_question_" + questionId + "_"
-                + System.currentTimeMillis() + ".wav";
-        Path filePath = uploadPath.resolve(fileName);
+    // Durations are of the recording as made: the trimmed silence was still time the candidate took to answer
+    private StoredAudio storeNormalized(NormalizedAudio normalized) throws IOException {
+        try (InputStream in = Files.newInputStream(normalized.file())) {
+            StoredBlob blob = blobStore.put(in);
+            return new StoredAudio(blob.location(), blob.key(), blob.size(), normalized.originalDurationMillis());
+        }
+    }
 
-        Files.copy(audioFile.getInputStream(), filePath);
+    private StoredAudio toStoredAudio(StoredBlob blob) {
+        Long durationMillis = blobStore.resolve(blob.location())
+                .map(audioNormalizer::probeDurationMillis)
+                .orElse(null);
+        return new StoredAudio(blob.location(), blob.key(), blob.size(), durationMillis);
+    }
 
-        return uploadDir + fileName;
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
     }
 }
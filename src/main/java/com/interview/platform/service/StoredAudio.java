@@ -0,0 +1,19 @@
+package com.interview.platform.service;
+
+/**
+ * An uploaded recording on disk, with the SHA-256 of its bytes computed while
+ * it was written. {@code durationMillis} is the length of the recording as
+ * made, before any silence was trimmed, from the WAV header; null for formats
+ * we cannot read.
+ */
+public record StoredAudio(String path, String contentHash, long size, Long durationMillis) {
+
+    public StoredAudio(String path, String contentHash, long size) {
+        this(path, contentHash, size, null);
+    }
+
+    // Whole seconds, at least 1; null when unknown
+    public Integer durationSeconds() {
+        return durationMillis != null ? (int) Math.max(1, Math.round(durationMillis / 1000.0)) : null;
+    }
+}
@@ -0,0 +1,220 @@
+package com.interview.platform.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waits for AssemblyAI transcripts without parking a thread per request.
+ *
+ * Every pending transcript id is tracked here and polled from a small
+ * scheduler: the first check comes after {@code initial-interval-ms}, and
+ * each later check waits {@code backoff-multiplier} times longer, up to
+ * {@code max-interval-ms}. A transcript still unfinished after
+ * {@code max-wait-seconds} fails with a TimeoutException. When AssemblyAI
+ * calls our webhook, the transcript is fetched straight away instead.
+ */
+@Component
+public class TranscriptPoller {
+
+    @Autowired
+    private AssemblyAiClient assemblyAiClient;
+
+    @Value("${assemblyai.poller.threads:2}")
+    private int threads;
+
+    @Value("${assemblyai.poller.initial-interval-ms:1000}")
+    private long initialIntervalMs;
+
+    @Value("${assemblyai.poller.max-interval-ms:15000}")
+    private long maxIntervalMs;
+
+    @Value("${assemblyai.poller.backoff-multiplier:1.5}")
+    private double backoffMultiplier;
+
+    @Value("${assemblyai.poller.max-wait-seconds:600}")
+    private long maxWaitSeconds;
+
+    @Value("${assemblyai.poller.max-consecutive-errors:5}")
+    private int maxConsecutiveErrors;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private ScheduledThreadPoolExecutor scheduler;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger count = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread t = new Thread(r, "transcript-poller-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Future completed with the transcript text once AssemblyAI has finished.
+     */
+    public CompletableFuture<String> await(String transcriptId) {
+        Pending created = new Pending(transcriptId, System.nanoTime() + TimeUnit.SECONDS.toNanos(maxWaitSeconds),
+                initialIntervalMs);
+        Pending existing = pending.putIfAbsent(transcriptId, created);
+        if (existing != null) {
+            return existing.future;
+        }
+        schedule(created, initialIntervalMs);
+        return created.future;
+    }
+
+    /**
+     * Webhook notification: check the transcript now rather than at the next
+     * scheduled poll. Returns false for ids we are not waiting on.
+     */
+    public boolean onCompletionCallback(String transcriptId, String status) {
+        Pending entry = pending.get(transcriptId);
+        if (entry == null) {
+            return false;
+        }
+        System.out.println("🔔 Transcript " + transcriptId + " callback: " + status);
+        schedule(entry, 0);
+        return true;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pending.values().forEach(entry ->
+                entry.future.completeExceptionally(new CancellationException("Application shutting down")));
+        pending.clear();
+    }
+
+    private void schedule(Pending entry, long delayMs) {
+        synchronized (entry) {
+            if (entry.polling) {
+                // Poll in flight; make it check again as soon as it finishes
+                entry.pollAgain = true;
+                return;
+            }
+            scheduleLocked(entry, delayMs);
+        }
+    }
+
+    // Caller holds the entry's monitor
+    private void scheduleLocked(Pending entry, long delayMs) {
+        if (entry.future.isDone() || scheduler.isShutdown()) return;
+        if (entry.next != null) {
+            entry.next.cancel(false);
+        }
+        entry.next = scheduler.schedule(() -> poll(entry), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(Pending entry) {
+        synchronized (entry) {
+            if (entry.future.isDone() || entry.polling) return;
+            entry.polling = true;
+            entry.pollAgain = false;
+            entry.next = null;
+        }
+
+        long delayMs;
+        try {
+            JSONObject json = assemblyAiClient.getTranscript(entry.transcriptId);
+            entry.consecutiveErrors = 0;
+            String status = json.optString("status");
+
+            if ("completed".equals(status)) {
+                finish(entry, json.optString("text", ""), null);
+                return;
+            }
+            if ("error".equals(status)) {
+                finish(entry, null, new TranscriptFailedException("❌ Transcription failed: " + json.optString("error")));
+                return;
+            }
+            delayMs = entry.intervalMs;
+            entry.intervalMs = Math.min(maxIntervalMs, (long) (entry.intervalMs * backoffMultiplier));
+        } catch (Exception e) {
+            if (++entry.consecutiveErrors >= maxConsecutiveErrors) {
+                finish(entry, null, new Exception("Polling transcript " + entry.transcriptId + " failed: "
+                        + e.getMessage(), e));
+                return;
+            }
+            System.err.println("WARN: poll of transcript " + entry.transcriptId + " failed: " + e.getMessage());
+            delayMs = entry.intervalMs;
+        }
+
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(entry.deadline - System.nanoTime());
+        if (remainingMs <= 0) {
+            finish(entry, null, new TimeoutException("Transcript " + entry.transcriptId
+                    + " not ready after " + maxWaitSeconds + "s"));
+            return;
+        }
+
+        synchronized (entry) {
+            entry.polling = false;
+            scheduleLocked(entry, entry.pollAgain ? 0 : Math.min(delayMs, remainingMs));
+        }
+    }
+
+    private void finish(Pending entry, String text, Throwable error) {
+        synchronized (entry) {
+            entry.polling = false;
+            if (entry.next != null) {
+                entry.next.cancel(false);
+            }
+        }
+        pending.remove(entry.transcriptId, entry);
+        if (error != null) {
+            entry.future.completeExceptionally(error);
+        } else {
+            entry.future.complete(text);
+        }
+    }
+
+    /**
+     * AssemblyAI processed the request but could not transcribe the audio.
+     * Retrying the same recording will not help.
+     */
+    public static class TranscriptFailedException extends Exception {
+        public TranscriptFailedException(String message) {
+            super(message);
+        }
+    }
+
+    private static class Pending {
+        private final String transcriptId;
+        private final long deadline;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        // Guarded by the entry's monitor
+        private ScheduledFuture<?> next;
+        private boolean polling;
+        private boolean pollAgain;
+
+        // Only touched by the thread currently polling
+        private long intervalMs;
+        private int consecutiveErrors;
+
+        Pending(String transcriptId, long deadline, long intervalMs) {
+            this.transcriptId = transcriptId;
+            this.deadline = deadline;
+            this.intervalMs = intervalMs;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.TranscriptionCacheEntry;
+import com.interview.platform.repository.TranscriptionCacheRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Transcriptions keyed by the SHA-256 of the audio, so a re-submitted
+ * recording never goes to the speech-to-text provider twice.
+ *
+ * Lookups go through a bounded in-memory LRU (entries also expire after
+ * {@code ttl-minutes}) and then the transcription_cache table, which keeps
+ * hits across restarts. Identical uploads that arrive while the first is
+ * still being transcribed share its result.
+ */
+@Component
+public class TranscriptionCache {
+
+    @Autowired
+    private TranscriptionCacheRepository repository;
+
+    @Value("${transcription.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${transcription.cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${transcription.cache.retention-days:90}")
+    private long retentionDays;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, MemoryEntry> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public Optional<String> get(String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        synchronized (memory) {
+            MemoryEntry entry = memory.get(contentHash);
+            if (entry != null) {
+                if (!entry.isExpired()) {
+                    return Optional.of(entry.transcription);
+                }
+                memory.remove(contentHash);
+            }
+        }
+        Optional<String> stored = repository.findById(contentHash).map(TranscriptionCacheEntry::getTranscription);
+        stored.ifPresent(text -> remember(contentHash, text));
+        return stored;
+    }
+
+    public void put(String contentHash, long audioSize, String transcription) {
+        if (contentHash == null || transcription == null) {
+            return;
+        }
+        remember(contentHash, transcription);
+        try {
+            if (!repository.existsById(contentHash)) {
+                repository.save(new TranscriptionCacheEntry(contentHash, transcription, audioSize, null));
+            }
+        } catch (Exception e) {
+            // A concurrent insert of the same recording is harmless
+            System.err.println("WARN: could not persist transcription cache entry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cached transcription, or the result of {@code transcribe}. Concurrent
+     * calls for the same hash share one transcription. Audio without a
+     * content hash (e.g. legacy paths) is transcribed every time.
+     */
+    public CompletableFuture<String> getOrTranscribe(StoredAudio audio,
+                                                     Supplier<CompletableFuture<String>> transcribe) {
+        if (audio.contentHash() == null) {
+            try {
+                return transcribe.get();
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        Optional<String> cached = get(audio.contentHash());
+        if (cached.isPresent()) {
+            System.out.println("✅ Transcription cache hit for " + audio.contentHash());
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(audio.contentHash(), mine);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<String> started;
+        try {
+            started = transcribe.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(audio.contentHash(), mine);
+            mine.completeExceptionally(e);
+            return mine;
+        }
+        started.whenComplete((text, error) -> {
+            if (error == null) {
+                put(audio.contentHash(), audio.size(), text);
+            }
+            inFlight.remove(audio.contentHash(), mine);
+            if (error != null) {
+                mine.completeExceptionally(error);
+            } else {
+                mine.complete(text);
+            }
+        });
+        return mine;
+    }
+
+    public int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    // ✅ Old rows are only worth keeping while a retry of that recording is plausible
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeExpired() {
+        int removed = repository.deleteCreatedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            System.out.println("Purged " + removed + " transcription cache rows");
+        }
+    }
+
+    private void remember(String contentHash, String transcription) {
+        synchronized (memory) {
+            memory.put(contentHash, new MemoryEntry(transcription,
+                    System.nanoTime() + TimeUnit.MINUTES.toNanos(ttlMinutes)));
+            while (memory.size() > maxEntries) {
+                memory.remove(memory.keySet().iterator().next());
+            }
+        }
+    }
+
+    private static final class MemoryEntry {
+        private final String transcription;
+        private final long expiresAt;
+
+        MemoryEntry(String transcription, long expiresAt) {
+            this.transcription = transcription;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
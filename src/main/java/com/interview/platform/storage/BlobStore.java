@@ -0,0 +1,52 @@
+package com.interview.platform.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for recordings. Blobs are keyed by the SHA-256 of
+ * their bytes, so storing the same content twice keeps a single copy.
+ */
+public interface BlobStore {
+
+    BlobWriter newWriter() throws IOException;
+
+    default StoredBlob put(InputStream in) throws IOException {
+        try (BlobWriter writer = newWriter()) {
+            byte[] buffer = new byte[64 * 1024];
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                writer.write(buffer, 0, n);
+            }
+            return writer.commit();
+        }
+    }
+
+    /**
+     * Path for a named staging file on the store's filesystem, e.g. a
+     * resumable upload being assembled. Not created; never served by
+     * {@link #resolve}.
+     */
+    Path stagingPath(String name);
+
+    /**
+     * Move a finished staging file into the store, hashing it on the way.
+     * The file is gone afterwards, either renamed into place or dropped as a
+     * duplicate.
+     */
+    StoredBlob putFile(Path file) throws IOException;
+
+    /**
+     * Local file for a location previously returned by this store (or a
+     * legacy upload path). Empty if it is unknown, missing or outside the
+     * store.
+     */
+    Optional<Path> resolve(String location);
+
+    /**
+     * Content key of a resolved blob, or null for files that are not
+     * content-addressed (legacy uploads).
+     */
+    String keyOf(Path path);
+}
@@ -0,0 +1,20 @@
+package com.interview.platform.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Incremental write of one blob. Nothing is visible in the store until
+ * {@link #commit()}; closing an uncommitted writer discards the data.
+ */
+public interface BlobWriter extends Closeable {
+
+    void write(byte[] buffer, int offset, int length) throws IOException;
+
+    long size();
+
+    StoredBlob commit() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
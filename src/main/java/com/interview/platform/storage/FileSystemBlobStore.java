@@ -0,0 +1,190 @@
+package com.interview.platform.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * BlobStore on the local filesystem.
+ *
+ * Blob {@code ab12cd...} lives at {@code <root>/ab/12/ab12cd...}, so no
+ * directory grows past 65,536 entries. Data is written to
+ * {@code <root>/tmp}, hashed on the way and fsynced, then renamed into place
+ * atomically; readers never see a partial file, and content that is already
+ * stored is simply dropped.
+ */
+@Component
+public class FileSystemBlobStore implements BlobStore {
+
+    @Value("${storage.blob.root:uploads/blobs}")
+    private String rootDir;
+
+    // Flat directory used before the blob store; still readable for old answers
+    @Value("${storage.blob.legacy-dirs:uploads/audio}")
+    private List<String> legacyDirs;
+
+    private Path root;
+    private Path tmp;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootDir).toAbsolutePath().normalize();
+        tmp = root.resolve("tmp");
+        Files.createDirectories(tmp);
+    }
+
+    @Override
+    public BlobWriter newWriter() throws IOException {
+        return new FileBlobWriter(Files.createTempFile(tmp, "blob-", ".part"));
+    }
+
+    @Override
+    public Path stagingPath(String name) {
+        if (name.isEmpty() || name.contains("/") || name.contains("\\") || name.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid staging file name: " + name);
+        }
+        return tmp.resolve(name);
+    }
+
+    @Override
+    public StoredBlob putFile(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+            for (int n; (n = channel.read(buf)) > 0; ) {
+                digest.update(buf.flip());
+                buf.clear();
+                size += n;
+            }
+            channel.force(true);
+        }
+        String key = HexFormat.of().formatHex(digest.digest());
+        return new StoredBlob(key, locationOf(moveIntoPlace(file, key)), size);
+    }
+
+    @Override
+    public Optional<Path> resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+        Path path = Paths.get(location).toAbsolutePath().normalize();
+        boolean inside = path.startsWith(root) && !path.startsWith(tmp);
+        for (String legacy : legacyDirs) {
+            inside |= path.startsWith(Paths.get(legacy).toAbsolutePath().normalize());
+        }
+        return inside && Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    @Override
+    public String keyOf(Path path) {
+        Path normalized = path.toAbsolutePath().normalize();
+        if (!normalized.startsWith(root) || normalized.startsWith(tmp) || root.relativize(normalized).getNameCount() != 3) {
+            return null;
+        }
+        return normalized.getFileName().toString();
+    }
+
+    // Atomic rename of a complete temp file to the blob's path; a duplicate is dropped
+    private Path moveIntoPlace(Path tempFile, String key) throws IOException {
+        Path target = pathFor(key);
+        if (Files.exists(target)) {
+            // Same content already stored: keep the existing copy
+            Files.deleteIfExists(tempFile);
+            return target;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(tempFile);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.deleteIfExists(tempFile);
+            throw new IOException("Blob store temp dir must be on the same filesystem as " + root, e);
+        }
+        return target;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    Path pathFor(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    // Locations are stored relative to the working directory when possible, like the old upload paths
+    private String locationOf(Path path) {
+        Path cwd = Paths.get("").toAbsolutePath();
+        return path.startsWith(cwd) ? cwd.relativize(path).toString().replace('\\', '/') : path.toString();
+    }
+
+    private final class FileBlobWriter implements BlobWriter {
+
+        private final Path tempFile;
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private long size;
+        private boolean done;
+
+        FileBlobWriter(Path tempFile) throws IOException {
+            this.tempFile = tempFile;
+            this.channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.digest = sha256();
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            digest.update(buffer, offset, length);
+            ByteBuffer src = ByteBuffer.wrap(buffer, offset, length);
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+            size += length;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public StoredBlob commit() throws IOException {
+            channel.force(true);
+            channel.close();
+            done = true;
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            return new StoredBlob(key, locationOf(moveIntoPlace(tempFile, key)), size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!done) {
+                done = true;
+                channel.close();
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.interview.platform.storage;
+
+/**
+ * A blob written to a {@link BlobStore}.
+ *
+ * @param key      hex SHA-256 of the content
+ * @param location where the store keeps it; saved on entities and passed back to the store
+ * @param size     length in bytes
+ */
+public record StoredBlob(String key, String location, long size) {
+}
@@ -0,0 +1,73 @@
+-- Tables and columns added after the V1 baseline.
+
+-- Resumable chunked uploads (/api/interview/uploads)
+create table chunked_uploads (
+    upload_id varchar(36) not null,
+    chunk_size integer not null,
+    answer_id bigint,
+    created_at datetime(6),
+    expires_at datetime(6) not null,
+    question_id bigint not null,
+    received_bytes bigint,
+    session_id bigint not null,
+    total_size bigint not null,
+    content_hash varchar(64),
+    content_type varchar(100),
+    blob_location varchar(500),
+    received_chunks varbinary(1024),
+    owner_email varchar(255) not null,
+    kind enum ('Audio','Video'),
+    status enum ('Open','Completing','Completed'),
+    primary key (upload_id)
+) engine=InnoDB;
+
+-- Answers waiting for speech-to-text to become available again
+create table pending_transcriptions (
+    pending_id bigint not null auto_increment,
+    attempts integer,
+    answer_id bigint not null,
+    audio_size bigint,
+    created_at datetime(6),
+    duration_millis bigint,
+    next_attempt_at datetime(6) not null,
+    session_id bigint not null,
+    version bigint,
+    content_hash varchar(64) not null,
+    audio_path varchar(500) not null,
+    last_error varchar(500),
+    status enum ('Pending','Failed'),
+    primary key (pending_id)
+) engine=InnoDB;
+
+alter table pending_transcriptions add constraint UK_gj404tihmyosx753ujbao5gat unique (answer_id);
+
+-- Transcriptions keyed by the SHA-256 of the audio
+create table transcription_cache (
+    content_hash varchar(64) not null,
+    audio_size bigint,
+    created_at datetime(6),
+    transcription TEXT,
+    primary key (content_hash)
+) engine=InnoDB;
+
+-- Resumable batch re-scoring jobs
+create table rescore_jobs (
+    job_id bigint not null auto_increment,
+    finished_at datetime(6),
+    last_answer_id bigint,
+    processed_count bigint,
+    started_at datetime(6),
+    total_answers bigint,
+    updated_at datetime(6),
+    error_message varchar(500),
+    status enum ('Running','Completed','Cancelled','Failed'),
+    primary key (job_id)
+) engine=InnoDB;
+
+-- Running score aggregates; left NULL on existing sessions, which rebuild them from their analyses on the next score
+alter table interview_sessions add column score_sum float(53);
+alter table interview_sessions add column scored_answers integer;
+
+-- Question edit time (keyword index and catalog invalidation); existing rows start at their creation time
+alter table questions add column updated_at datetime(6);
+update questions set updated_at = created_at where updated_at is null;
@@ -0,0 +1,8 @@
+-- Filters and date ranges of the admin user and session listings
+
+create index idx_users_role on users (role);
+create index idx_users_industry on users (industry);
+create index idx_users_experience_level on users (experience_level);
+create index idx_users_created_at on users (created_at);
+create index idx_sessions_status on interview_sessions (status);
+create index idx_sessions_start_time on interview_sessions (start_time);
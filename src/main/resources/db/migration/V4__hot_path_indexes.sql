@@ -0,0 +1,23 @@
+-- Composite indexes for the per-user and per-session lookups on every page load.
+-- Leading user_id columns also serve the user_id foreign keys.
+
+-- findByUserOrderByStartTimeDesc: seek to the user, read sessions already in start_time order
+create index idx_sessions_user_start on interview_sessions (user_id, start_time);
+
+-- findAverageScoreByUser: user + status, with overall_score in the index so AVG never touches the rows
+create index idx_sessions_user_status_score on interview_sessions (user_id, status, overall_score);
+
+-- findBySession: answers of a session in submission order
+create index idx_answers_session_answered on interview_answers (session_id, answered_at);
+
+-- findByUserAndQuestionOrderByAnsweredAtDesc
+create index idx_answers_user_question_answered on interview_answers (user_id, question_id, answered_at);
+
+-- findByCategory / findByCategoryAndDifficulty, filtered to active questions
+create index idx_questions_category_active on questions (category, is_active, difficulty);
+
+-- countByUserAndIsReadFalse / findByUserAndIsReadFalse (covering)
+create index idx_notifications_user_read on notifications (user_id, is_read);
+
+-- findByUserOrderByCreatedAtDesc
+create index idx_notifications_user_created on notifications (user_id, created_at);
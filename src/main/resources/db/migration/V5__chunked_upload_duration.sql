@@ -0,0 +1,3 @@
+-- Length of the recording as made, kept for a retried finalize: the stored blob may be silence-trimmed
+
+alter table chunked_uploads add column duration_millis bigint;
@@ -0,0 +1,47 @@
+package com.interview.platform.analysis;
+
+import com.interview.platform.analysis.audio.PauseStats;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnswerScoringTest {
+
+    @Test
+    void confidenceDefaultsWithoutEnoughSpeech() {
+        assertEquals(AnswerScoring.DEFAULT_CONFIDENCE, AnswerScoring.confidenceScore(null));
+        assertEquals(AnswerScoring.DEFAULT_CONFIDENCE,
+                AnswerScoring.confidenceScore(new PauseStats(5000, 999, 4001, 0, 0, 0, 0)));
+    }
+
+    @Test
+    void fluentDeliveryScoresTen() {
+        assertEquals(10.0, AnswerScoring.confidenceScore(new PauseStats(60000, 48000, 12000, 10, 1500, 4.0, 1.0)));
+    }
+
+    @Test
+    void eachDeliveryProblemCostsItsShare() {
+        // 20 pauses a minute: 10 over the allowance at 0.25 each
+        assertEquals(7.5, AnswerScoring.confidenceScore(new PauseStats(60000, 48000, 12000, 20, 1500, 4.0, 0)), 1e-9);
+        // Longest pause 2 s over the 3 s allowance
+        assertEquals(9.0, AnswerScoring.confidenceScore(new PauseStats(60000, 48000, 12000, 5, 5000, 4.0, 0)), 1e-9);
+        // 60% of the recording silent
+        assertEquals(9.0, AnswerScoring.confidenceScore(new PauseStats(60000, 24000, 36000, 5, 1500, 4.0, 0)), 1e-9);
+        // Speaking rate varies by half its mean between windows
+        assertEquals(9.25, AnswerScoring.confidenceScore(new PauseStats(60000, 48000, 12000, 5, 1500, 4.0, 4.0)), 1e-9);
+    }
+
+    @Test
+    void penaltiesAreCappedAndTheScoreStaysAboveZero() {
+        // Each capped penalty: pauses 3, longest pause 2, silence 2, pace 2
+        PauseStats worst = new PauseStats(60000, 2000, 58000, 200, 30000, 1.0, 100.0);
+        assertEquals(1.0, AnswerScoring.confidenceScore(worst), 1e-9);
+    }
+
+    @Test
+    void shortRecordingsAreRatedPerQuarterMinute() {
+        // 3 pauses in 5 s would be 36 a minute; the rate is taken over at least 15 s, i.e. 12 a minute
+        PauseStats stats = new PauseStats(5000, 4000, 1000, 3, 500, 4.0, 0);
+        assertEquals(9.5, AnswerScoring.confidenceScore(stats), 1e-9);
+    }
+}
@@ -0,0 +1,112 @@
+package com.interview.platform.analysis;
+
+import com.interview.platform.model.Question;
+import com.interview.platform.service.QuestionChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A cached keyword set is reused only while the question's stamp (updatedAt
+ * plus the raw keyword text) is unchanged, and a question change evicts it.
+ */
+class KeywordIndexCacheTest {
+
+    private static final LocalDateTime EDITED = LocalDateTime.of(2026, 3, 1, 9, 30);
+
+    private KeywordIndexCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new KeywordIndexCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+    }
+
+    @Test
+    void unchangedStampReusesTheCompiledSet() {
+        KeywordSet first = cache.forQuestion(question(1L, EDITED, "spring,jpa"));
+        KeywordSet second = cache.forQuestion(question(1L, EDITED, "spring,jpa"));
+        KeywordSet projected = cache.forQuestion(1L, EDITED, "spring,jpa");
+
+        assertSame(first, second);
+        assertSame(first, projected);
+        assertEquals(2, first.getTotal());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void newerUpdatedAtRebuildsTheSet() {
+        KeywordSet before = cache.forQuestion(question(1L, EDITED, "spring,jpa"));
+        KeywordSet after = cache.forQuestion(question(1L, EDITED.plusSeconds(1), "spring,jpa,hibernate"));
+
+        assertNotSame(before, after);
+        assertEquals(3, after.getTotal());
+        assertSame(after, cache.forQuestion(question(1L, EDITED.plusSeconds(1), "spring,jpa,hibernate")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void changedKeywordsWithTheSameUpdatedAtRebuildTheSet() {
+        // e.g. a bulk SQL fix that did not touch updated_at
+        KeywordSet before = cache.forQuestion(question(1L, EDITED, "spring,jpa"));
+        KeywordSet after = cache.forQuestion(question(1L, EDITED, "spring"));
+
+        assertNotSame(before, after);
+        assertEquals(1, after.getTotal());
+
+        // A question never edited has no updatedAt; its keywords still stamp it
+        KeywordSet unstamped = cache.forQuestion(question(2L, null, "spring"));
+        assertSame(unstamped, cache.forQuestion(question(2L, null, "spring")));
+        assertNotSame(unstamped, cache.forQuestion(question(2L, null, "jpa")));
+    }
+
+    @Test
+    void questionChangedEventEvictsTheEntry() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(KeywordIndexCache.class)) {
+            KeywordIndexCache cache = context.getBean(KeywordIndexCache.class);
+            Question question = question(1L, EDITED, "spring,jpa");
+            KeywordSet before = cache.forQuestion(question);
+            cache.forQuestion(question(2L, EDITED, "rest"));
+
+            context.publishEvent(new QuestionChangedEvent(question, QuestionChangedEvent.ChangeType.UPDATED));
+
+            assertEquals(1, cache.size());
+            assertNotSame(before, cache.forQuestion(question));
+        }
+    }
+
+    @Test
+    void questionsWithoutAnIdAreNotCached() {
+        KeywordSet first = cache.forQuestion(question(null, EDITED, "spring"));
+        KeywordSet second = cache.forQuestion(question(null, EDITED, "spring"));
+
+        assertNotSame(first, second);
+        assertEquals(0, cache.size());
+        assertSame(KeywordSet.NONE, cache.forQuestion(null));
+    }
+
+    @Test
+    void cacheStaysWithinItsBound() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        for (long id = 1; id <= 25; id++) {
+            cache.forQuestion(id, EDITED, "spring,jpa");
+            assertTrue(cache.size() <= 10, "size " + cache.size());
+        }
+    }
+
+    private static Question question(Long id, LocalDateTime updatedAt, String keywords) {
+        Question question = new Question();
+        question.setQuestionId(id);
+        question.setUpdatedAt(updatedAt);
+        question.setExpectedKeywords(keywords);
+        return question;
+    }
+}
@@ -0,0 +1,220 @@
+package com.interview.platform.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The single-pass scanner must count exactly what the per-lexicon regex and
+ * contains() scans it replaced counted. The old implementations are kept
+ * below verbatim as the reference.
+ */
+class TranscriptScannerTest {
+
+    private final TranscriptScanner scanner = new TranscriptScanner();
+
+    @Test
+    void fillersNeedAWordBoundaryOnBothSides() {
+        assertFillerParity("um, I think umbrella and dumb are fine");
+        assertFillerParity("likely unlike alike like-minded like");
+        assertFillerParity("um_like like_um um1 1um (um) \"uh\" uh.");
+        assertFillerParity("sort of sorted of sort offset kind ofkind of");
+        assertFillerParity("café like naïve um résumé");
+        assertEquals(3, scan("um, (um) uh_ uh").getFillerCount());
+    }
+
+    @Test
+    void overlappingFillersAreEachCounted() {
+        assertFillerParity("you know like you know");
+        assertFillerParity("so like, you know, basically actually literally sort of kind of");
+        assertFillerParity("you know you knowing you");
+        assertEquals(2, scan("you know like").getFillerCount());
+    }
+
+    @Test
+    void fillersAreMatchedCaseInsensitively() {
+        assertFillerParity("Um, LIKE You Know, BASICALLY uM");
+        assertEquals(5, scan("Um, LIKE You Know, BASICALLY uM").getFillerCount());
+    }
+
+    @Test
+    void keywordsKeepSubstringSemantics() {
+        assertKeywordParity("We used Spring Boot and JPA", "spring, jpa ,hibernate");
+        assertKeywordParity("polymorphism", "morph,poly,ism,polymorphism");
+        assertKeywordParity("SQL joins", "  SQL  ,Joins,sql");
+        assertKeywordParity("nothing relevant", "java");
+        assertKeywordParity("anything", " ");
+    }
+
+    @Test
+    void duplicateAndEmptyKeywordEntriesEachCount() {
+        // Listed twice counts twice, an empty entry always matches, trailing empties are dropped by split
+        assertKeywordParity("java and java", "java,java,python");
+        assertKeywordParity("answer", "java,,python");
+        assertKeywordParity("answer", "java,python,,");
+        assertKeywordParity("Java", "JAVA, java ,jAvA,");
+
+        TranscriptStats stats = scanner.scan("java", KeywordSet.parse("java,java,,python"));
+        assertEquals(3, stats.getKeywordMatches());
+        assertEquals(4, stats.getKeywordTotal());
+    }
+
+    @Test
+    void questionsWithoutKeywordsScoreFive() {
+        assertKeywordParity("answer", null);
+        assertKeywordParity("answer", "");
+        assertEquals(5.0, scanner.scan("answer", KeywordSet.NONE).keywordScore());
+        // The old code divided by zero here and stored NaN; no keywords now means the neutral score
+        assertTrue(Double.isNaN(oldKeywordMatch("answer", ",,")));
+        assertEquals(5.0, scanner.scan("answer", KeywordSet.parse(",,")).keywordScore());
+    }
+
+    @Test
+    void wordsAreRunsOfNonWhitespace() {
+        assertWordParity("one two  three");
+        assertWordParity("  leading and trailing\t\n");
+        assertWordParity("punctuation, counts - as words!");
+        assertWordParity("a\u000Bb\fc\rd");
+    }
+
+    @Test
+    void whitespaceOnlyTextHasNoWords() {
+        // The old split("\\s+") returned [""] for blank text and counted one word
+        assertEquals(1, oldWordCount("   \t\n"));
+        assertEquals(0, scan("   \t\n").getWordCount());
+        assertEquals(0, scan("").getWordCount());
+    }
+
+    @Test
+    void feedingInChunksMatchesOneScan() {
+        String text = "Um, you know, I basically used Spring like, sort of, with JPA. Kind of? um";
+        KeywordSet keywords = KeywordSet.parse("spring,jpa,you know,kind");
+        TranscriptStats whole = scanner.scan(text, keywords);
+
+        for (int split = 0; split <= text.length(); split++) {
+            TranscriptStats stats = scanner.open(keywords)
+                    .feed(text.substring(0, split))
+                    .feed(text.substring(split))
+                    .finish();
+            assertSameStats(whole, stats, "split at " + split);
+        }
+
+        TranscriptScanner.Cursor cursor = scanner.open(keywords);
+        for (int i = 0; i < text.length(); i++) {
+            cursor.feed(text.subSequence(i, i + 1));
+        }
+        assertSameStats(whole, cursor.finish(), "one character at a time");
+    }
+
+    @Test
+    void snapshotCountsAFillerAtTheEndOfWhatWasFed() {
+        TranscriptScanner.Cursor cursor = scanner.open(KeywordSet.NONE).feed("and um");
+        assertEquals(1, cursor.snapshot().getFillerCount());
+
+        // ...which the next chunk can still turn into part of a longer word
+        TranscriptStats stats = cursor.feed("brella").finish();
+        assertEquals(0, stats.getFillerCount());
+        assertEquals(2, stats.getWordCount());
+    }
+
+    @Test
+    void randomTranscriptsMatchTheOldScans() {
+        List<String> vocabulary = List.of("um", "uh", "like", "you", "know", "sort", "of", "kind",
+                "basically", "actually", "literally", "Like", "UM", "umm", "likes", "spring", "Spring",
+                "jpa", "_", "x", "1", "é", ",", ".", "-", "'", "  ", " ", "\t", "\n");
+        String keywords = "spring,jpa,,you know,Like,of";
+        Random random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            StringBuilder text = new StringBuilder();
+            int tokens = 1 + random.nextInt(30);
+            for (int t = 0; t < tokens; t++) {
+                text.append(vocabulary.get(random.nextInt(vocabulary.size())));
+                if (random.nextBoolean()) {
+                    text.append(' ');
+                }
+            }
+            String transcript = text.toString();
+            if (transcript.isBlank()) {
+                continue;
+            }
+            TranscriptStats stats = scanner.scan(transcript, KeywordSet.parse(keywords));
+            assertEquals(oldFillerCount(transcript), stats.getFillerCount(), transcript);
+            assertEquals(oldWordCount(transcript), stats.getWordCount(), transcript);
+            assertEquals(oldKeywordMatch(transcript, keywords), stats.keywordScore(), 1e-9, transcript);
+        }
+    }
+
+    private TranscriptStats scan(String text) {
+        return scanner.scan(text, KeywordSet.NONE);
+    }
+
+    private void assertFillerParity(String text) {
+        assertEquals(oldFillerCount(text), scan(text).getFillerCount(), text);
+    }
+
+    private void assertWordParity(String text) {
+        assertEquals(oldWordCount(text), scan(text).getWordCount(), text);
+    }
+
+    private void assertKeywordParity(String answer, String keywords) {
+        TranscriptStats stats = scanner.scan(answer, KeywordSet.parse(keywords));
+        assertEquals(oldKeywordMatch(answer, keywords), stats.keywordScore(), 1e-9, answer + " / " + keywords);
+    }
+
+    private static void assertSameStats(TranscriptStats expected, TranscriptStats actual, String message) {
+        assertEquals(expected.getWordCount(), actual.getWordCount(), message);
+        assertEquals(expected.getFillerCount(), actual.getFillerCount(), message);
+        assertEquals(expected.getKeywordMatches(), actual.getKeywordMatches(), message);
+        assertEquals(expected.getKeywordTotal(), actual.getKeywordTotal(), message);
+    }
+
+    // Reference: AnalysisService.countFillerWords before the scanner
+    private static int oldFillerCount(String text) {
+        if (text == null || text.isEmpty()) return 0;
+
+        String[] fillers = {"\\bum\\b", "\\buh\\b", "\\blike\\b", "\\byou know\\b",
+                "\\bbasically\\b", "\\bactually\\b", "\\bsort of\\b",
+                "\\bkind of\\b", "\\bliterally\\b"};
+        int count = 0;
+        String lowerText = text.toLowerCase();
+
+        for (String filler : fillers) {
+            Pattern pattern = Pattern.compile(filler);
+            Matcher matcher = pattern.matcher(lowerText);
+            while (matcher.find()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Reference: the word count inside AnalysisService.calculateWordsPerMinute
+    private static int oldWordCount(String text) {
+        return text.trim().split("\\s+").length;
+    }
+
+    // Reference: AnalysisService.calculateKeywordMatch
+    private static double oldKeywordMatch(String answer, String keywords) {
+        if (answer == null || keywords == null || keywords.isEmpty()) return 5.0;
+
+        String[] keywordArray = keywords.split(",");
+        int matches = 0;
+        String lowerAnswer = answer.toLowerCase();
+
+        for (String keyword : keywordArray) {
+            if (lowerAnswer.contains(keyword.toLowerCase().trim())) {
+                matches++;
+            }
+        }
+
+        double percentage = ((double) matches / keywordArray.length);
+        return percentage * 10.0;
+    }
+}
@@ -0,0 +1,188 @@
+package com.interview.platform.analysis.audio;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.interview.platform.analysis.audio.SyntheticWav.chunk;
+import static com.interview.platform.analysis.audio.SyntheticWav.concat;
+import static com.interview.platform.analysis.audio.SyntheticWav.float32Stereo;
+import static com.interview.platform.analysis.audio.SyntheticWav.fmt;
+import static com.interview.platform.analysis.audio.SyntheticWav.riff;
+import static com.interview.platform.analysis.audio.SyntheticWav.silence;
+import static com.interview.platform.analysis.audio.SyntheticWav.tone;
+import static com.interview.platform.analysis.audio.SyntheticWav.wav16;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * WAV uploads come out as 16-bit mono at no more than the target rate, with
+ * the silence before and after the speech cut down to the padding.
+ */
+class AudioNormalizerTest {
+
+    private final AudioNormalizer normalizer = new AudioNormalizer();
+
+    @Test
+    void stereoFloatIsDownmixedResampledAndTrimmed() throws IOException {
+        // 1 s silence, 1 s tone, 1 s silence at 48 kHz; the channels differ so the mix is their mean
+        double[] left = concat(new double[48000], tone(48000, 1000, 440, 0.6), new double[48000]);
+        double[] right = concat(new double[48000], tone(48000, 1000, 440, 0.2), new double[48000]);
+        byte[] upload = riff(fmt(WavHeader.FORMAT_FLOAT, 2, 48000, 32), chunk("data", float32Stereo(left, right)));
+
+        try (NormalizedAudio audio = normalize(upload)) {
+            assertNotNull(audio);
+            WavHeader header = header(audio);
+            assertEquals(WavHeader.FORMAT_PCM, header.getFormat());
+            assertEquals(1, header.getChannels());
+            assertEquals(16000, header.getSampleRate());
+            assertEquals(16, header.getBitsPerSample());
+
+            // The tone plus 200 ms of padding either side
+            assertEquals(1400, audio.durationMillis());
+            assertEquals(1400, header.getDurationMillis());
+            assertEquals(3000, audio.originalDurationMillis());
+            assertEquals(44 + 1400 * 16 * 2, audio.size());
+            assertEquals(audio.size(), Files.size(audio.file()));
+
+            short[] samples = samples(audio, header);
+            assertEquals(0, rms(samples, 0, 3200), 1e-9);
+            // Mean of 0.6 and 0.2; the 3-sample box average barely touches 440 Hz
+            assertEquals(0.4 / Math.sqrt(2), rms(samples, 3200, 19200), 0.004);
+            assertEquals(0, rms(samples, 19200, 22400), 1e-9);
+        }
+    }
+
+    @Test
+    void lowerRatesAreNotUpsampled() throws IOException {
+        double[] samples = concat(new double[8000], tone(8000, 1000, 300, 0.5), new double[8000]);
+
+        try (NormalizedAudio audio = normalize(wav16(8000, 2, samples))) {
+            assertNotNull(audio);
+            WavHeader header = header(audio);
+            assertEquals(8000, header.getSampleRate());
+            assertEquals(1, header.getChannels());
+            assertEquals(1400, audio.durationMillis());
+            assertEquals(3000, audio.originalDurationMillis());
+
+            // Stereo of the same signal downmixes to it sample for sample
+            short[] out = samples(audio, header);
+            short[] expected = new short[out.length];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = (short) Math.round(samples[6400 + i] * 32767);
+            }
+            assertEquals(Arrays.toString(expected), Arrays.toString(out));
+        }
+    }
+
+    @Test
+    void quietNoiseIsTrimmedButPausesInsideTheSpeechAreKept() throws IOException {
+        Random random = new Random(3);
+        // -50 dBFS noise is under the -45 dB threshold
+        double[] samples = concat(silence(16000, 2000, 0.005, random), tone(16000, 500, 300, 0.5),
+                silence(16000, 1000, 0.005, random), tone(16000, 500, 300, 0.5), silence(16000, 2000, 0.005, random));
+
+        try (NormalizedAudio audio = normalize(wav16(16000, 1, samples))) {
+            assertNotNull(audio);
+            assertEquals(200 + 500 + 1000 + 500 + 200, audio.durationMillis());
+            assertEquals(6000, audio.originalDurationMillis());
+        }
+    }
+
+    @Test
+    void truncatedUploadIsNormalizedUpToItsLastWholeSample() throws IOException {
+        double[] samples = concat(new double[16000], tone(16000, 2000, 300, 0.5));
+        byte[] full = wav16(16000, 2, samples);
+        // Cut 1 s and half a sample frame off the end; the header still claims the full length
+        byte[] truncated = Arrays.copyOf(full, full.length - 16000 * 4 - 2);
+
+        try (NormalizedAudio audio = normalize(truncated)) {
+            assertNotNull(audio);
+            // Speech runs to the cut, so there is no trailing padding
+            assertEquals(200 + 999, audio.durationMillis());
+            assertEquals(1999, audio.originalDurationMillis());
+        }
+    }
+
+    @Test
+    void uploadsThatCannotBeImprovedAreLeftAlone() throws IOException {
+        Random random = new Random(5);
+        // Nothing but silence
+        assertNull(normalize(wav16(48000, 2, silence(48000, 2000, 0.001, random))));
+        // Already 16 kHz mono with no silence to trim
+        assertNull(normalize(wav16(16000, 1, tone(16000, 2000, 300, 0.5))));
+        // Not WAV
+        byte[] webm = new byte[4096];
+        webm[0] = 0x1A;
+        webm[1] = 0x45;
+        webm[2] = (byte) 0xDF;
+        webm[3] = (byte) 0xA3;
+        assertNull(normalize(webm));
+        // WAV, but no decoder for it
+        assertNull(normalize(riff(fmt(2, 1, 8000, 4), chunk("data", new byte[4000]))));
+    }
+
+    @Test
+    void disabledNormalizerLeavesEverythingAlone() throws IOException {
+        ReflectionTestUtils.setField(normalizer, "enabled", false);
+        double[] samples = concat(new double[48000], tone(48000, 1000, 440, 0.5), new double[48000]);
+        assertNull(normalize(wav16(48000, 2, samples)));
+    }
+
+    @Test
+    void durationIsProbedFromTheHeader() throws IOException {
+        byte[] wav = wav16(16000, 1, new double[24000]);
+        Path file = Files.createTempFile("probe-", ".wav");
+        try {
+            Files.write(file, wav);
+            assertEquals(1500L, normalizer.probeDurationMillis(file));
+            Files.write(file, new byte[]{0x1A, 0x45, (byte) 0xDF, (byte) 0xA3});
+            assertNull(normalizer.probeDurationMillis(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private NormalizedAudio normalize(byte[] upload) throws IOException {
+        NormalizedAudio audio = normalizer.normalize(new ByteArrayInputStream(upload), upload.length);
+        if (audio != null) {
+            assertFalse(audio.size() >= upload.length);
+        }
+        return audio;
+    }
+
+    private static WavHeader header(NormalizedAudio audio) throws IOException {
+        try (FileChannel channel = FileChannel.open(audio.file(), StandardOpenOption.READ)) {
+            return WavHeader.read(channel);
+        }
+    }
+
+    private static short[] samples(NormalizedAudio audio, WavHeader header) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(audio.file())).order(ByteOrder.LITTLE_ENDIAN);
+        data.position((int) header.getDataOffset());
+        short[] samples = new short[(int) (header.getDataLength() / 2)];
+        data.asShortBuffer().get(samples);
+        return samples;
+    }
+
+    private static double rms(short[] samples, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            double s = samples[i] / 32768.0;
+            sum += s * s;
+        }
+        return Math.sqrt(sum / (to - from));
+    }
+}
@@ -0,0 +1,158 @@
+package com.interview.platform.analysis.audio;
+
+import com.interview.platform.analysis.AnswerScoring;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.interview.platform.analysis.audio.SyntheticWav.chunk;
+import static com.interview.platform.analysis.audio.SyntheticWav.concat;
+import static com.interview.platform.analysis.audio.SyntheticWav.float32;
+import static com.interview.platform.analysis.audio.SyntheticWav.fmt;
+import static com.interview.platform.analysis.audio.SyntheticWav.pcm16;
+import static com.interview.platform.analysis.audio.SyntheticWav.riff;
+import static com.interview.platform.analysis.audio.SyntheticWav.silence;
+import static com.interview.platform.analysis.audio.SyntheticWav.speech;
+import static com.interview.platform.analysis.audio.SyntheticWav.wav16;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pause statistics and the confidence score they produce, on synthetic
+ * recordings whose speech and silence runs are known to the frame.
+ */
+class PauseDetectorTest {
+
+    private static final int RATE = 16000;
+
+    @TempDir
+    Path dir;
+
+    private final PauseDetector detector = new PauseDetector();
+
+    @Test
+    void leadingAndTrailingSilenceAreNotPauses() throws IOException {
+        PauseStats stats = analyze(wav16(RATE, 1, answer(0)));
+
+        assertStats(stats, 5100, 3000, 2100, 1, 600);
+        assertEquals(3.875, stats.getSpeakingRateMean(), 1e-9);
+        // Only the silence ratio (2100 / 5100 over 0.4) costs anything
+        assertEquals(10.0 - (2100.0 / 5100 - 0.4) * 5, AnswerScoring.confidenceScore(stats), 1e-9);
+    }
+
+    @Test
+    void noiseFloorIsNotMistakenForSpeech() throws IOException {
+        // Room noise around -39 dBFS is far above the -55 dB lower bound, so only a threshold
+        // that follows the floor keeps it out of the speech frames
+        PauseStats noisy = analyze(wav16(RATE, 1, answer(0.02)));
+        PauseStats clean = analyze(wav16(RATE, 1, answer(0)));
+
+        assertStats(noisy, 5100, 3000, 2100, 1, 600);
+        assertEquals(clean.getSpeakingRateMean(), noisy.getSpeakingRateMean(), 1e-9);
+        assertEquals(AnswerScoring.confidenceScore(clean), AnswerScoring.confidenceScore(noisy), 1e-9);
+    }
+
+    @Test
+    void longHesitationsLowerTheScore() throws IOException {
+        Random random = new Random(7);
+        double[] samples = concat(speech(RATE, 1000, 0.8, 4), silence(RATE, 4000, 0, random),
+                speech(RATE, 1000, 0.8, 4), silence(RATE, 4000, 0, random), speech(RATE, 1000, 0.8, 4));
+        PauseStats stats = analyze(wav16(RATE, 1, samples));
+
+        assertStats(stats, 11000, 3000, 8000, 2, 4000);
+        // Longest pause 1 s over the 3 s allowance, and 73% silence
+        double expected = 10.0 - 0.5 - (8000.0 / 11000 - 0.4) * 5;
+        assertEquals(expected, AnswerScoring.confidenceScore(stats), 1e-9);
+    }
+
+    @Test
+    void unevenPaceLowersTheScore() throws IOException {
+        double[] samples = concat(speech(RATE, 4000, 0.8, 2), speech(RATE, 4000, 0.8, 8));
+        PauseStats stats = analyze(wav16(RATE, 1, samples));
+
+        assertStats(stats, 8000, 8000, 0, 0, 0);
+        // Four 2 s windows at 2, 2, 8 and 8 peaks per second
+        assertEquals(5.0, stats.getSpeakingRateMean(), 1e-9);
+        assertEquals(12.0, stats.getSpeakingRateVariance(), 1e-9);
+        assertEquals(10.0 - (Math.sqrt(12.0) / 5.0 - 0.35) * 5, AnswerScoring.confidenceScore(stats), 1e-9);
+    }
+
+    @Test
+    void silentRecordingKeepsTheDefaultScore() throws IOException {
+        PauseStats stats = analyze(wav16(RATE, 1, silence(RATE, 3000, 0, new Random(1))));
+
+        assertStats(stats, 3000, 0, 3000, 0, 0);
+        assertEquals(AnswerScoring.DEFAULT_CONFIDENCE, AnswerScoring.confidenceScore(stats));
+    }
+
+    @Test
+    void stereoAndFloatRecordingsAreDownmixedToTheSameStats() throws IOException {
+        double[] samples = answer(0);
+        PauseStats stereo = analyze(wav16(RATE, 2, samples));
+        PauseStats float32 = analyze(riff(fmt(WavHeader.FORMAT_FLOAT, 2, RATE, 32),
+                chunk("data", float32(samples, 2))));
+
+        assertStats(stereo, 5100, 3000, 2100, 1, 600);
+        assertStats(float32, 5100, 3000, 2100, 1, 600);
+    }
+
+    @Test
+    void chunksBeforeTheDataAreSkipped() throws IOException {
+        double[] samples = answer(0);
+        byte[] wav = riff(
+                chunk("LIST", new byte[]{'I', 'N', 'F', 'O', 'x'}),    // odd size, padded
+                fmt(WavHeader.FORMAT_PCM, 1, RATE, 16),
+                chunk("fact", new byte[]{0, 0, 0, 0}),
+                chunk("data", pcm16(samples, 1)));
+
+        assertStats(analyze(wav), 5100, 3000, 2100, 1, 600);
+    }
+
+    @Test
+    void truncatedDataIsAnalysedUpToTheLastWholeSample() throws IOException {
+        byte[] full = wav16(RATE, 2, answer(0));
+        // Cut 1.2 s off the end plus half a stereo sample: the header still claims the full length
+        byte[] truncated = Arrays.copyOf(full, full.length - 1200 * RATE / 1000 * 4 - 2);
+        PauseStats stats = analyze(truncated);
+
+        // 500 ms of the last speech run are left, the final 20 ms frame one sample short
+        assertStats(stats, 3899, 2500, 1400, 1, 600);
+    }
+
+    @Test
+    void otherContainersAreNotAnalysed() throws IOException {
+        byte[] webm = {0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+        assertNull(analyze(webm));
+    }
+
+    // 0.5 s silence, 1 s speech, 0.6 s pause, 1 s speech, 0.3 s gap (too short to count), 1 s speech, 0.7 s silence
+    private static double[] answer(double noise) {
+        Random random = new Random(42);
+        return concat(silence(RATE, 500, noise, random), speech(RATE, 1000, 0.8, 4),
+                silence(RATE, 600, noise, random), speech(RATE, 1000, 0.8, 4),
+                silence(RATE, 300, noise, random), speech(RATE, 1000, 0.8, 4),
+                silence(RATE, 700, noise, random));
+    }
+
+    private PauseStats analyze(byte[] wav) throws IOException {
+        Path file = Files.createTempFile(dir, "answer-", ".wav");
+        Files.write(file, wav);
+        return detector.analyze(file);
+    }
+
+    private static void assertStats(PauseStats stats, long duration, long speech, long silence,
+                                    int pauses, long longestPause) {
+        assertNotNull(stats);
+        assertEquals(duration, stats.getDurationMillis(), "duration");
+        assertEquals(speech, stats.getSpeechMillis(), "speech");
+        assertEquals(silence, stats.getTotalSilenceMillis(), "silence");
+        assertEquals(pauses, stats.getPauseCount(), "pauses");
+        assertEquals(longestPause, stats.getLongestPauseMillis(), "longest pause");
+    }
+}
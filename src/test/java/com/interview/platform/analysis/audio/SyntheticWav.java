@@ -0,0 +1,140 @@
+package com.interview.platform.analysis.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Builds WAV files in memory for the audio tests: speech-like tones, silence
+ * with optional noise, and RIFF containers with arbitrary chunk layouts.
+ */
+final class SyntheticWav {
+
+    private SyntheticWav() {
+    }
+
+    /**
+     * A 220 Hz tone whose loudness rises and falls {@code syllablesPerSecond}
+     * times a second, between 20% and 100% of {@code amplitude}.
+     */
+    static double[] speech(int sampleRate, int millis, double amplitude, double syllablesPerSecond) {
+        double[] samples = new double[sampleRate * millis / 1000];
+        for (int i = 0; i < samples.length; i++) {
+            double t = (double) i / sampleRate;
+            double envelope = 0.2 + 0.8 * Math.abs(Math.sin(Math.PI * syllablesPerSecond * t));
+            samples[i] = amplitude * envelope * Math.sin(2 * Math.PI * 220 * t);
+        }
+        return samples;
+    }
+
+    /** A steady sine tone. */
+    static double[] tone(int sampleRate, int millis, double frequency, double amplitude) {
+        double[] samples = new double[sampleRate * millis / 1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = amplitude * Math.sin(2 * Math.PI * frequency * i / sampleRate);
+        }
+        return samples;
+    }
+
+    /** Uniform noise of the given peak amplitude; 0 gives digital silence. */
+    static double[] silence(int sampleRate, int millis, double noiseAmplitude, Random random) {
+        double[] samples = new double[sampleRate * millis / 1000];
+        if (noiseAmplitude > 0) {
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = noiseAmplitude * (2 * random.nextDouble() - 1);
+            }
+        }
+        return samples;
+    }
+
+    static double[] concat(double[]... parts) {
+        int length = 0;
+        for (double[] part : parts) length += part.length;
+        double[] all = new double[length];
+        int offset = 0;
+        for (double[] part : parts) {
+            System.arraycopy(part, 0, all, offset, part.length);
+            offset += part.length;
+        }
+        return all;
+    }
+
+    /** Interleaved little-endian 16-bit PCM, the same signal on every channel. */
+    static byte[] pcm16(double[] samples, int channels) {
+        ByteBuffer buf = ByteBuffer.allocate(samples.length * channels * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (double sample : samples) {
+            short value = (short) Math.round(Math.max(-1.0, Math.min(1.0, sample)) * 32767);
+            for (int c = 0; c < channels; c++) buf.putShort(value);
+        }
+        return buf.array();
+    }
+
+    /** Little-endian 32-bit float stereo, a different signal on each channel. */
+    static byte[] float32Stereo(double[] left, double[] right) {
+        ByteBuffer buf = ByteBuffer.allocate(left.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < left.length; i++) {
+            buf.putFloat((float) left[i]).putFloat((float) right[i]);
+        }
+        return buf.array();
+    }
+
+    /** Interleaved little-endian 32-bit float samples, the same signal on every channel. */
+    static byte[] float32(double[] samples, int channels) {
+        ByteBuffer buf = ByteBuffer.allocate(samples.length * channels * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (double sample : samples) {
+            for (int c = 0; c < channels; c++) buf.putFloat((float) sample);
+        }
+        return buf.array();
+    }
+
+    /** A plain 16-byte {@code fmt } chunk. */
+    static byte[] fmt(int format, int channels, int sampleRate, int bitsPerSample) {
+        return chunk("fmt ", fmtBody(format, channels, sampleRate, bitsPerSample, 16));
+    }
+
+    /** WAVE_FORMAT_EXTENSIBLE {@code fmt } chunk whose sub-format is {@code subFormat}. */
+    static byte[] extensibleFmt(int subFormat, int channels, int sampleRate, int bitsPerSample) {
+        ByteBuffer body = ByteBuffer.wrap(fmtBody(0xFFFE, channels, sampleRate, bitsPerSample, 40))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        body.putShort(16, (short) 22);                    // cbSize
+        body.putShort(18, (short) bitsPerSample);         // valid bits
+        body.putShort(24, (short) subFormat);             // first two bytes of the sub-format GUID
+        return chunk("fmt ", body.array());
+    }
+
+    private static byte[] fmtBody(int format, int channels, int sampleRate, int bitsPerSample, int size) {
+        int blockAlign = channels * bitsPerSample / 8;
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN)
+                .putShort((short) format).putShort((short) channels).putInt(sampleRate)
+                .putInt(sampleRate * blockAlign).putShort((short) blockAlign).putShort((short) bitsPerSample)
+                .array();
+    }
+
+    /** A chunk with its size field and, for odd sizes, the pad byte. */
+    static byte[] chunk(String id, byte[] body) {
+        return chunk(id, body, body.length);
+    }
+
+    /** Data chunk whose size field says {@code declaredSize}, as truncated or streamed files do. */
+    static byte[] chunk(String id, byte[] body, long declaredSize) {
+        ByteBuffer buf = ByteBuffer.allocate(8 + body.length + (body.length & 1)).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(id.getBytes(StandardCharsets.US_ASCII)).putInt((int) declaredSize).put(body);
+        return buf.array();
+    }
+
+    static byte[] riff(byte[]... chunks) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes("WAVE".getBytes(StandardCharsets.US_ASCII));
+        for (byte[] chunk : chunks) body.writeBytes(chunk);
+        ByteBuffer buf = ByteBuffer.allocate(8 + body.size()).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(body.size()).put(body.toByteArray());
+        return buf.array();
+    }
+
+    /** Canonical mono/stereo 16-bit WAV. */
+    static byte[] wav16(int sampleRate, int channels, double[] samples) {
+        return riff(fmt(WavHeader.FORMAT_PCM, channels, sampleRate, 16), chunk("data", pcm16(samples, channels)));
+    }
+}
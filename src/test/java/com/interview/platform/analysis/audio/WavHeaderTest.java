@@ -0,0 +1,157 @@
+package com.interview.platform.analysis.audio;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.interview.platform.analysis.audio.SyntheticWav.chunk;
+import static com.interview.platform.analysis.audio.SyntheticWav.extensibleFmt;
+import static com.interview.platform.analysis.audio.SyntheticWav.fmt;
+import static com.interview.platform.analysis.audio.SyntheticWav.riff;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WavHeaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void canonicalHeaderIsRead() throws IOException {
+        byte[] wav = riff(fmt(WavHeader.FORMAT_PCM, 2, 44100, 16), chunk("data", new byte[44100 * 4]));
+        WavHeader header = read(wav);
+
+        assertNotNull(header);
+        assertEquals(WavHeader.FORMAT_PCM, header.getFormat());
+        assertEquals(2, header.getChannels());
+        assertEquals(44100, header.getSampleRate());
+        assertEquals(16, header.getBitsPerSample());
+        assertEquals(4, header.getBlockAlign());
+        assertEquals(44, header.getDataOffset());
+        assertEquals(44100 * 4, header.getDataLength());
+        assertEquals(1000, header.getDurationMillis());
+    }
+
+    @Test
+    void oddSizedAndUnknownChunksAreSkipped() throws IOException {
+        byte[] wav = riff(
+                chunk("JUNK", new byte[3]),                        // odd size plus pad byte
+                fmt(WavHeader.FORMAT_PCM, 1, 8000, 16),
+                chunk("LIST", new byte[11]),
+                chunk("fact", new byte[4]),
+                chunk("data", new byte[1600]));
+        WavHeader header = read(wav);
+
+        assertNotNull(header);
+        assertEquals(12 + 12 + 24 + 20 + 12 + 8, header.getDataOffset());
+        assertEquals(1600, header.getDataLength());
+        assertEquals(100, header.getDurationMillis());
+    }
+
+    @Test
+    void extensibleFormatUsesItsSubFormat() throws IOException {
+        WavHeader pcm = read(riff(extensibleFmt(WavHeader.FORMAT_PCM, 2, 48000, 24), chunk("data", new byte[600])));
+        WavHeader floats = read(riff(extensibleFmt(WavHeader.FORMAT_FLOAT, 1, 48000, 32), chunk("data", new byte[400])));
+
+        assertEquals(WavHeader.FORMAT_PCM, pcm.getFormat());
+        assertEquals(6, pcm.getBlockAlign());
+        assertEquals(WavHeader.FORMAT_FLOAT, floats.getFormat());
+    }
+
+    @Test
+    void dataSizeIsCappedByWhatIsInTheFile() throws IOException {
+        byte[] samples = new byte[3200];
+        byte[] full = riff(fmt(WavHeader.FORMAT_PCM, 1, 16000, 16), chunk("data", samples));
+
+        // Header claims more than was written (upload cut short)
+        WavHeader truncated = read(Arrays.copyOf(full, full.length - 1000));
+        assertEquals(2200, truncated.getDataLength());
+        assertEquals(68, truncated.getDurationMillis());
+
+        // Streaming recorders leave the size at 0 or 0xFFFFFFFF
+        for (long declared : new long[]{0, 0xFFFFFFFFL}) {
+            byte[] streamed = riff(fmt(WavHeader.FORMAT_PCM, 1, 16000, 16), chunk("data", samples, declared));
+            assertEquals(3200, read(streamed).getDataLength(), "declared " + declared);
+        }
+    }
+
+    @Test
+    void undecodableFilesAreRejected() throws IOException {
+        byte[] data = chunk("data", new byte[100]);
+
+        assertNull(read(new byte[]{0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, 0, 0, 0, 0, 0, 0, 0, 0}), "WebM");
+        assertNull(read(Arrays.copyOf(riff(fmt(WavHeader.FORMAT_PCM, 1, 8000, 16)), 10)), "cut inside RIFF header");
+        assertNull(read(riff(data)), "data before fmt");
+        assertNull(read(riff(fmt(WavHeader.FORMAT_PCM, 1, 8000, 16))), "no data chunk");
+        assertNull(read(riff(fmt(2, 1, 8000, 4), data)), "ADPCM");
+        assertNull(read(riff(fmt(WavHeader.FORMAT_PCM, 1, 8000, 12), data)), "12-bit PCM");
+        assertNull(read(riff(fmt(WavHeader.FORMAT_FLOAT, 1, 8000, 64), data)), "64-bit float");
+        assertNull(read(riff(fmt(WavHeader.FORMAT_PCM, 0, 8000, 16), data)), "no channels");
+        assertNull(read(riff(chunk("fmt ", new byte[12]), data)), "short fmt chunk");
+    }
+
+    @Test
+    void streamIsLeftAtTheFirstSample() throws IOException {
+        byte[] samples = {1, 2, 3, 4, 5, 6, 7, 8};
+        byte[] wav = riff(
+                chunk("JUNK", new byte[3]),
+                extensibleFmt(WavHeader.FORMAT_PCM, 2, 16000, 16),
+                chunk("LIST", new byte[11]),
+                chunk("data", samples));
+        InputStream in = new ByteArrayInputStream(wav);
+
+        WavHeader header = WavHeader.read(in, wav.length);
+        assertNotNull(header);
+        assertEquals(WavHeader.FORMAT_PCM, header.getFormat());
+        assertEquals(2, header.getChannels());
+        assertEquals(read(wav).getDataOffset(), header.getDataOffset());
+        assertEquals(8, header.getDataLength());
+        assertArrayEquals(samples, in.readAllBytes());
+    }
+
+    @Test
+    void streamAgreesWithTheFileOnDataLength() throws IOException {
+        byte[] samples = new byte[3200];
+        byte[] full = riff(fmt(WavHeader.FORMAT_PCM, 1, 16000, 16), chunk("data", samples));
+        byte[] truncated = Arrays.copyOf(full, full.length - 1000);
+        byte[] streamed = riff(fmt(WavHeader.FORMAT_PCM, 1, 16000, 16), chunk("data", samples, 0xFFFFFFFFL));
+
+        for (byte[] wav : List.of(full, truncated, streamed)) {
+            WavHeader header = WavHeader.read(new ByteArrayInputStream(wav), wav.length);
+            assertEquals(read(wav).getDataLength(), header.getDataLength());
+        }
+    }
+
+    @Test
+    void streamEndingInsideTheHeaderIsRejected() throws IOException {
+        byte[] wav = riff(fmt(WavHeader.FORMAT_PCM, 1, 8000, 16), chunk("LIST", new byte[200]), chunk("data", new byte[100]));
+
+        // Cut inside the fmt chunk, and inside the LIST chunk the reader has to skip
+        for (int length : new int[]{30, 100}) {
+            byte[] cut = Arrays.copyOf(wav, length);
+            assertNull(WavHeader.read(new ByteArrayInputStream(cut), cut.length), "cut at " + length);
+            // A size that overstates the stream runs out in skip or read instead
+            assertNull(WavHeader.read(new ByteArrayInputStream(cut), wav.length), "cut at " + length);
+        }
+        assertNull(WavHeader.read(new ByteArrayInputStream(new byte[0]), 0));
+    }
+
+    private WavHeader read(byte[] wav) throws IOException {
+        Path file = Files.createTempFile(dir, "header-", ".wav");
+        Files.write(file, wav);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return WavHeader.read(channel);
+        }
+    }
+}
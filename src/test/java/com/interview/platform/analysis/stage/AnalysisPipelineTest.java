@@ -0,0 +1,228 @@
+package com.interview.platform.analysis.stage;
+
+import com.interview.platform.analysis.AnswerScoring;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stages run concurrently but merge in declaration order, optional stages
+ * may fail or time out without failing the analysis, a timed-out stage is
+ * interrupted, and every stage is timed by outcome.
+ */
+class AnalysisPipelineTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> applied = new CopyOnWriteArrayList<>();
+    private final List<String> finished = new CopyOnWriteArrayList<>();
+    private ThreadPoolTaskExecutor executor;
+    private AnalysisPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        pipeline = new AnalysisPipeline();
+        ReflectionTestUtils.setField(pipeline, "stageExecutor", executor);
+        ReflectionTestUtils.setField(pipeline, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(pipeline, "stageTimeoutMs", 2000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void resultsMergeInStageOrderWhateverOrderTheyFinishIn() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        stages(
+                stage("first", false, input -> {
+                    threads.add(Thread.currentThread());
+                    Thread.sleep(150);
+                    return result("first", 1);
+                }),
+                stage("second", false, input -> {
+                    threads.add(Thread.currentThread());
+                    Thread.sleep(75);
+                    return result("second", 2);
+                }),
+                stage("third", false, input -> {
+                    threads.add(Thread.currentThread());
+                    return result("third", 3);
+                }));
+
+        AnalysisMetrics metrics = pipeline.run(input());
+
+        assertEquals(List.of("third", "second", "first"), finished);
+        assertEquals(List.of("first", "second", "third"), applied);
+        assertEquals(3, metrics.getPauseCount());
+        // The first stage runs on the calling thread, the rest on the stage pool
+        assertTrue(threads.contains(caller));
+        assertEquals(2, threads.stream().filter(t -> t != caller).count());
+    }
+
+    @Test
+    void failedOptionalStageIsSkipped() {
+        stages(
+                stage("lexical", false, input -> result("lexical", 1)),
+                stage("confidence", true, input -> {
+                    throw new IllegalStateException("no audio");
+                }),
+                stage("pauses", false, input -> result("pauses", 4)));
+
+        AnalysisMetrics metrics = pipeline.run(input());
+
+        assertEquals(List.of("lexical", "pauses"), applied);
+        assertEquals(4, metrics.getPauseCount());
+        assertEquals(AnswerScoring.DEFAULT_CONFIDENCE, metrics.getConfidenceScore());
+        assertEquals(1, timer("confidence", "error").count());
+    }
+
+    @Test
+    void failedRequiredStageFailsTheAnalysis() {
+        stages(
+                stage("lexical", false, input -> result("lexical", 1)),
+                stage("confidence", false, input -> {
+                    throw new IllegalStateException("no audio");
+                }));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> pipeline.run(input()));
+        assertEquals("Analysis stage 'confidence' failed: no audio", e.getMessage());
+        assertTrue(e.getCause() instanceof IllegalStateException);
+
+        // Inline (first) stage failures are reported the same way
+        stages(stage("lexical", false, input -> {
+            throw new IllegalStateException("bad transcript");
+        }));
+        e = assertThrows(RuntimeException.class, () -> pipeline.run(input()));
+        assertEquals("Analysis stage 'lexical' failed: bad transcript", e.getMessage());
+    }
+
+    @Test
+    void timedOutStageIsInterruptedAndSkippedWhenOptional() throws InterruptedException {
+        ReflectionTestUtils.setField(pipeline, "stageTimeoutMs", 100L);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        stages(
+                stage("lexical", false, input -> result("lexical", 1)),
+                stage("slow", true, input -> {
+                    try {
+                        new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return result("slow", 9);
+                }));
+
+        long started = System.nanoTime();
+        AnalysisMetrics metrics = pipeline.run(input());
+
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(List.of("lexical"), applied);
+        assertEquals(1, metrics.getPauseCount());
+        // The worker was given back rather than left waiting out its ten seconds
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timedOutRequiredStageFailsTheAnalysis() {
+        ReflectionTestUtils.setField(pipeline, "stageTimeoutMs", 100L);
+        stages(
+                stage("lexical", false, input -> result("lexical", 1)),
+                stage("slow", false, input -> {
+                    Thread.sleep(10_000);
+                    return StageResult.NONE;
+                }));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> pipeline.run(input()));
+        assertEquals("Analysis stage 'slow' failed: Stage 'slow' timed out after 100ms", e.getMessage());
+    }
+
+    @Test
+    void everyStageIsTimedByOutcome() {
+        stages(
+                stage("lexical", false, input -> result("lexical", 1)),
+                stage("confidence", true, input -> {
+                    throw new IllegalStateException("no audio");
+                }));
+
+        pipeline.run(input());
+        pipeline.run(input());
+
+        assertEquals(2, timer("lexical", "success").count());
+        assertEquals(2, timer("confidence", "error").count());
+        assertEquals(2, meterRegistry.find("analysis.pipeline.duration").timer().count());
+
+        Map<String, Map<String, Object>> timings = pipeline.getStageTimings();
+        assertEquals(List.of("lexical", "confidence"), List.copyOf(timings.keySet()));
+        assertEquals(2L, timings.get("lexical").get("count"));
+        assertTrue(timings.get("lexical").containsKey("p95Ms"));
+        // Only successful runs count towards the summary
+        assertEquals(0L, timings.get("confidence").get("count"));
+        assertNotNull(timings.get("lexical").get("meanMs"));
+    }
+
+    private void stages(AnalyzerStage... stages) {
+        applied.clear();
+        finished.clear();
+        ReflectionTestUtils.setField(pipeline, "stages", List.of(stages));
+    }
+
+    private StageResult result(String name, int pauses) {
+        finished.add(name);
+        return metrics -> {
+            applied.add(name);
+            metrics.setPauseCount(pauses);
+        };
+    }
+
+    private Timer timer(String stage, String outcome) {
+        return meterRegistry.find("analysis.stage.duration").tags("stage", stage, "outcome", outcome).timer();
+    }
+
+    private static AnalysisInput input() {
+        return new AnalysisInput(1L, "I use Spring", 30, 2L, null, "spring", null);
+    }
+
+    private interface Body {
+        StageResult analyze(AnalysisInput input) throws Exception;
+    }
+
+    private static AnalyzerStage stage(String name, boolean optional, Body body) {
+        return new AnalyzerStage() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public StageResult analyze(AnalysisInput input) throws Exception {
+                return body.analyze(input);
+            }
+
+            @Override
+            public boolean isOptional() {
+                return optional;
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.interview.platform.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing between two embedded databases standing in for the primary and the replica.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private SimpleDriverDataSource primary;
+    private SimpleDriverDataSource replica;
+    private ReadYourWritesTracker tracker;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing_primary");
+        replica = database("routing_replica");
+        tracker = new ReadYourWritesTracker(60_000);
+        DataSource routed = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, tracker, 60_000));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routed);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        jdbc = new JdbcTemplate(routed);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+        assertEquals("primary", readWrite.execute(status -> whereAmI()));
+        // Outside a transaction nothing is known about intent, so the primary answers
+        assertEquals("primary", whereAmI());
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        signIn("alice@example.com");
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("UPDATE marker SET name = 'primary (written)'");
+            tracker.recordCurrentUserWrite();
+        });
+        assertEquals("primary (written)", readOnly.execute(status -> whereAmI()));
+
+        signIn("bob@example.com");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinTheUser() {
+        signIn("alice@example.com");
+        readWrite.executeWithoutResult(status -> {
+            tracker.recordCurrentUserWrite();
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        // IFEXISTS stops the next connection from recreating the database after the shutdown
+        replica.setUrl("jdbc:h2:mem:routing_replica;IFEXISTS=TRUE");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+
+        List<String> reads = List.of(readOnly.execute(status -> whereAmI()), readOnly.execute(status -> whereAmI()));
+        assertEquals(List.of("primary", "primary"), reads);
+    }
+
+    private String whereAmI() {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static SimpleDriverDataSource database(String name) {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(50))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name.substring("routing_".length()));
+        return dataSource;
+    }
+}
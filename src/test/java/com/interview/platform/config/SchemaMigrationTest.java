@@ -0,0 +1,217 @@
+package com.interview.platform.config;
+
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.Notification;
+import com.interview.platform.model.Question;
+import com.interview.platform.model.User;
+import com.interview.platform.repository.InterviewAnswerRepository;
+import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.repository.NotificationRepository;
+import com.interview.platform.repository.QuestionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The migrations build a schema Hibernate validates, and the hot repository
+ * queries are answered from their indexes (checked with EXPLAIN on H2).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.interview.platform.config.SchemaMigrationTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaMigrationConfig.class)
+class SchemaMigrationTest {
+
+    @Autowired
+    private SchemaMigrator schemaMigrator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private InterviewAnswerRepository answerRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private User user;
+    private InterviewSession session;
+    private Question question;
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> SQL = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    private void seed() {
+        for (int i = 0; i < 20; i++) {
+            User someone = new User();
+            someone.setFullName("User " + i);
+            someone.setEmail("migrations" + i + "@example.com");
+            someone.setPassword("secret");
+            entityManager.persist(someone);
+
+            Question q = new Question();
+            q.setQuestionText("Question " + i);
+            q.setCategory(i % 2 == 0 ? "Technical" : "HR");
+            entityManager.persist(q);
+
+            InterviewSession s = new InterviewSession();
+            s.setUser(someone);
+            entityManager.persist(s);
+
+            InterviewAnswer answer = new InterviewAnswer();
+            answer.setUser(someone);
+            answer.setSession(s);
+            answer.setQuestion(q);
+            entityManager.persist(answer);
+
+            Notification notification = new Notification();
+            notification.setUser(someone);
+            notification.setMessage("Hello " + i);
+            entityManager.persist(notification);
+
+            user = someone;
+            session = s;
+            question = q;
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void migrationsRanOnceAndAreNotReapplied() {
+        assertEquals(List.of(1, 2, 3, 4, 5), jdbcTemplate.queryForList(
+                "SELECT version FROM schema_version ORDER BY version", Integer.class));
+        assertEquals(0, schemaMigrator.migrate());
+    }
+
+    @Test
+    void hotPathQueriesUseIndexes() {
+        seed();
+        assertUsesIndex(() -> sessionRepository.findByUserOrderByStartTimeDesc(user), user.getUserId());
+        assertUsesIndex(() -> sessionRepository.findAverageScoreByUser(user), user.getUserId());
+        assertUsesIndex(() -> answerRepository.findBySession(session), session.getSessionId());
+        assertUsesIndex(() -> answerRepository.findByUserAndQuestionOrderByAnsweredAtDesc(user, question),
+                user.getUserId(), question.getQuestionId());
+        assertUsesIndex(() -> questionRepository.findByCategory("HR"), "HR");
+        assertUsesIndex(() -> notificationRepository.countByUserAndIsReadFalse(user), user.getUserId());
+    }
+
+    @Test
+    void compositeIndexesHaveTheQueryColumnOrder() {
+        assertEquals(List.of("user_id", "start_time"), indexColumns("idx_sessions_user_start"));
+        assertEquals(List.of("user_id", "status", "overall_score"), indexColumns("idx_sessions_user_status_score"));
+        assertEquals(List.of("session_id", "answered_at"), indexColumns("idx_answers_session_answered"));
+        assertEquals(List.of("user_id", "question_id", "answered_at"),
+                indexColumns("idx_answers_user_question_answered"));
+        assertEquals(List.of("category", "is_active", "difficulty"), indexColumns("idx_questions_category_active"));
+        assertEquals(List.of("user_id", "is_read"), indexColumns("idx_notifications_user_read"));
+        assertEquals(List.of("user_id", "created_at"), indexColumns("idx_notifications_user_created"));
+    }
+
+    @Test
+    void databaseFromBeforeMigrationsIsUpgradedToTheMappedSchema() {
+        SimpleDriverDataSource legacy = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        // What ddl-auto=update left behind before schema_version existed, with some data in it
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/pre_migrations_schema.sql")).execute(legacy);
+        legacyJdbc.update("INSERT INTO users (user_id, full_name, email, password) VALUES (1, 'Old', 'old@example.com', 'x')");
+        legacyJdbc.update("INSERT INTO questions (question_id, question_text, category, created_at) " +
+                "VALUES (1, 'Old question', 'HR', TIMESTAMP '2024-01-01 10:00:00')");
+        legacyJdbc.update("INSERT INTO interview_sessions (session_id, user_id, overall_score) VALUES (1, 1, 70)");
+
+        SchemaMigrator migrator = new SchemaMigrator(legacy, "classpath:db/migration");
+        assertEquals(4, migrator.migrate());
+        assertEquals(List.of(true, false, false, false, false), legacyJdbc.queryForList(
+                "SELECT baselined FROM schema_version ORDER BY version", Boolean.class));
+
+        // Hibernate accepts the upgraded schema, as it does on startup with ddl-auto=validate
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(legacy);
+        factory.setPackagesToScan("com.interview.platform.model");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "validate",
+                "hibernate.dialect", "org.hibernate.dialect.MySQLDialect",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        factory.destroy();
+
+        assertEquals(Timestamp.valueOf("2024-01-01 10:00:00"),
+                legacyJdbc.queryForObject("SELECT updated_at FROM questions WHERE question_id = 1", Timestamp.class));
+        // Old sessions keep NULL aggregates so the first new score rebuilds them from their analyses
+        assertNull(legacyJdbc.queryForObject("SELECT score_sum FROM interview_sessions WHERE session_id = 1", Double.class));
+        assertEquals(List.of("role"), indexColumns(legacyJdbc, "idx_users_role"));
+        assertEquals(List.of("user_id", "start_time"), indexColumns(legacyJdbc, "idx_sessions_user_start"));
+
+        legacyJdbc.update("UPDATE schema_version SET checksum = 'edited' WHERE version = 2");
+        assertThrows(IllegalStateException.class, migrator::migrate);
+    }
+
+    // EXPLAIN the SQL Hibernate just ran; H2 names the index it reads, or "tableScan"
+    private void assertUsesIndex(Runnable query, Object... params) {
+        CapturingInspector.SQL.clear();
+        query.run();
+        String sql = CapturingInspector.SQL.get(CapturingInspector.SQL.size() - 1);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params));
+        assertFalse(plan.contains("tableScan"), "table scan in plan:\n" + plan);
+        assertTrue(plan.contains("idx_") || plan.contains("_INDEX_"), "no index in plan:\n" + plan);
+    }
+
+    private List<String> indexColumns(String index) {
+        return indexColumns(jdbcTemplate, index);
+    }
+
+    private static List<String> indexColumns(JdbcTemplate jdbcTemplate, String index) {
+        return jdbcTemplate.queryForList("SELECT column_name FROM information_schema.index_columns " +
+                "WHERE index_name = ? ORDER BY ordinal_position", String.class, index);
+    }
+}
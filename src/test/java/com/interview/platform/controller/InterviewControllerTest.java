@@ -0,0 +1,78 @@
+package com.interview.platform.controller;
+
+import com.interview.platform.dto.AnalysisJobDTO;
+import com.interview.platform.dto.ApiResponse;
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.User;
+import com.interview.platform.service.AnalysisJobService;
+import com.interview.platform.service.InterviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Analysis jobs are shown only to the owner of the answer they analyse.
+ */
+class InterviewControllerTest {
+
+    private static final String OWNER = "owner@example.com";
+
+    private InterviewController controller;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail(OWNER);
+        InterviewAnswer answer = new InterviewAnswer();
+        answer.setAnswerId(42L);
+        answer.setUser(user);
+        InterviewService interviewService = mock(InterviewService.class);
+        when(interviewService.getAnswerById(42L)).thenReturn(answer);
+        when(interviewService.getAnswerById(43L)).thenThrow(new RuntimeException("Answer not found with ID: 43"));
+
+        AnalysisJobService analysisJobService = mock(AnalysisJobService.class);
+        when(analysisJobService.getJob("job-1")).thenReturn(Optional.of(job(42L, "COMPLETED")));
+        when(analysisJobService.getJob("job-2")).thenReturn(Optional.of(job(43L, "QUEUED")));
+
+        controller = new InterviewController();
+        ReflectionTestUtils.setField(controller, "interviewService", interviewService);
+        ReflectionTestUtils.setField(controller, "analysisJobService", analysisJobService);
+    }
+
+    @Test
+    void ownerSeesTheJob() {
+        ResponseEntity<ApiResponse> response = controller.getAnalysisJob("job-1", auth(OWNER));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(42L, ((AnalysisJobDTO) response.getBody().getData()).getAnswerId());
+    }
+
+    @Test
+    void anyoneElseGetsNotFound() {
+        assertEquals(HttpStatus.NOT_FOUND, controller.getAnalysisJob("job-1", auth("other@example.com")).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getAnalysisJob("job-1", null).getStatusCode());
+        // The answer was deleted (e.g. the queue rejected it)
+        assertEquals(HttpStatus.NOT_FOUND, controller.getAnalysisJob("job-2", auth(OWNER)).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getAnalysisJob("missing", auth(OWNER)).getStatusCode());
+    }
+
+    private static AnalysisJobDTO job(Long answerId, String status) {
+        AnalysisJobDTO job = new AnalysisJobDTO();
+        job.setJobId("job-" + answerId);
+        job.setAnswerId(answerId);
+        job.setStatus(status);
+        return job;
+    }
+
+    private static TestingAuthenticationToken auth(String email) {
+        return new TestingAuthenticationToken(email, null, "ROLE_USER");
+    }
+}
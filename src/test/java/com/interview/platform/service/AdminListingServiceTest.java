@@ -0,0 +1,122 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.AdminSessionRowDTO;
+import com.interview.platform.dto.AdminUserRowDTO;
+import com.interview.platform.dto.CursorPageDTO;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Admin listings page by cursor over DTO projections, without loading entities.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(AdminListingService.class)
+class AdminListingServiceTest {
+
+    @Autowired
+    private AdminListingService listingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 7; i++) {
+            User user = new User();
+            user.setFullName("User " + i);
+            user.setEmail("listing" + i + "@example.com");
+            user.setPassword("secret");
+            user.setRole(i % 3 == 0 ? "ADMIN" : "USER");
+            user.setIndustry(i % 2 == 0 ? "IT" : "Finance");
+            entityManager.persist(user);
+            userIds.add(user.getUserId());
+
+            InterviewSession session = new InterviewSession();
+            session.setUser(user);
+            session.setStatus(i < 4 ? InterviewSession.Status.Completed : InterviewSession.Status.InProgress);
+            entityManager.persist(session);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesWalkTheWholeTableOnceInEitherOrder() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> newestFirst = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<AdminUserRowDTO> page = listingService.listUsers(cursor, 3, "desc", null, null, null, null);
+            page.getItems().forEach(row -> newestFirst.add(row.getUserId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        List<Long> expected = new ArrayList<>(userIds);
+        Collections.reverse(expected);
+        assertEquals(expected, newestFirst);
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        CursorPageDTO<AdminUserRowDTO> oldest = listingService.listUsers(null, 50, "asc", null, null, null, null);
+        assertEquals(userIds, oldest.getItems().stream().map(AdminUserRowDTO::getUserId).toList());
+        assertNull(oldest.getNextCursor());
+    }
+
+    @Test
+    void filtersNarrowTheListing() {
+        List<AdminUserRowDTO> admins = listingService.listUsers(null, 50, "asc", "ADMIN", "IT", null, null).getItems();
+        assertEquals(List.of(userIds.get(0), userIds.get(6)), admins.stream().map(AdminUserRowDTO::getUserId).toList());
+
+        LocalDate today = LocalDate.now();
+        assertEquals(7, listingService.listUsers(null, 50, "desc", "", null, today, today).getItems().size());
+        assertEquals(0, listingService.listUsers(null, 50, "desc", null, null, today.plusDays(1), null).getItems().size());
+
+        CursorPageDTO<AdminSessionRowDTO> inProgress = listingService.listSessions(
+                null, 2, "asc", InterviewSession.Status.InProgress, null, null, null);
+        assertEquals(2, inProgress.getItems().size());
+        assertEquals("listing4@example.com", inProgress.getItems().get(0).getUserEmail());
+        assertEquals(1, listingService.listSessions(inProgress.getNextCursor(), 2, "asc",
+                InterviewSession.Status.InProgress, null, null, null).getItems().size());
+    }
+
+    @Test
+    void rejectsBadPagingArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> listingService.listUsers(null, 0, "desc", null, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> listingService.listSessions(null, 10, "sideways", null, null, null, null));
+    }
+}
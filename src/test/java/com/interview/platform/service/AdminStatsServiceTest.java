@@ -0,0 +1,79 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.repository.QuestionRepository;
+import com.interview.platform.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Admin statistics come from aggregate rows and are cached for the TTL.
+ */
+class AdminStatsServiceTest {
+
+    private UserRepository userRepository;
+    private InterviewSessionRepository sessionRepository;
+    private AdminStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        sessionRepository = mock(InterviewSessionRepository.class);
+        service = new AdminStatsService();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "questionRepository", mock(QuestionRepository.class));
+        ReflectionTestUtils.setField(service, "sessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "cacheTtlSeconds", 60L);
+    }
+
+    @Test
+    void sessionStatsComeFromOneGroupedQuery() {
+        when(sessionRepository.countByStatus()).thenReturn(List.of(
+                new Object[]{InterviewSession.Status.Completed, 7L},
+                new Object[]{InterviewSession.Status.InProgress, 2L},
+                new Object[]{InterviewSession.Status.Abandoned, 1L}));
+
+        Map<String, Object> stats = service.getSessionStats();
+
+        assertEquals(10L, stats.get("total"));
+        assertEquals(7L, stats.get("completed"));
+        assertEquals(2L, stats.get("inProgress"));
+        assertEquals(1L, stats.get("abandoned"));
+        verify(sessionRepository, never()).findAll();
+    }
+
+    @Test
+    void missingLabelsAreMergedUnderNotSpecified() {
+        when(userRepository.countByIndustry()).thenReturn(List.of(
+                new Object[]{"IT", 4L},
+                new Object[]{null, 3L},
+                new Object[]{"Not Specified", 2L}));
+
+        assertEquals(Map.of("IT", 4L, "Not Specified", 5L), service.getUsersByIndustry());
+    }
+
+    @Test
+    void resultsAreCachedUntilInvalidated() {
+        when(userRepository.countByExperienceLevel()).thenReturn(List.<Object[]>of(new Object[]{"Junior", 1L}));
+
+        service.getUsersByExperience();
+        service.getUsersByExperience();
+        verify(userRepository, times(1)).countByExperienceLevel();
+
+        service.invalidate();
+        service.getUsersByExperience();
+        verify(userRepository, times(2)).countByExperienceLevel();
+    }
+}
@@ -0,0 +1,238 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.AnalysisJobDTO;
+import com.interview.platform.dto.ChunkedUploadDTO;
+import com.interview.platform.model.ChunkedUpload;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.User;
+import com.interview.platform.repository.ChunkedUploadRepository;
+import com.interview.platform.storage.FileSystemBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chunks land at their offsets in any order and any number of times, the
+ * client resumes from nextOffset, and finalize checks the bytes it was sent
+ * and can be repeated.
+ */
+class ChunkedUploadServiceTest {
+
+    private static final String OWNER = "owner@example.com";
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @TempDir
+    Path root;
+
+    private final Map<String, ChunkedUpload> uploads = new HashMap<>();
+    private ChunkedUploadService service;
+    private SpeechToTextService speechToTextService;
+    private AnalysisJobService analysisJobService;
+    // What storeUploadedFile found in the staging file
+    private byte[] stored;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ChunkedUploadRepository repository = mock(ChunkedUploadRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            ChunkedUpload upload = invocation.getArgument(0);
+            uploads.put(upload.getUploadId(), upload);
+            return upload;
+        });
+        when(repository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(uploads.get(invocation.getArgument(0))));
+        when(repository.existsById(any())).thenAnswer(invocation -> uploads.containsKey(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> uploads.remove(invocation.<ChunkedUpload>getArgument(0).getUploadId()))
+                .when(repository).delete(any());
+
+        User user = new User();
+        user.setEmail(OWNER);
+        InterviewSession session = new InterviewSession();
+        session.setUser(user);
+        InterviewService interviewService = mock(InterviewService.class);
+        when(interviewService.getSessionById(1L)).thenReturn(session);
+
+        FileSystemBlobStore blobStore = new FileSystemBlobStore();
+        ReflectionTestUtils.setField(blobStore, "rootDir", root.toString());
+        ReflectionTestUtils.setField(blobStore, "legacyDirs", List.of());
+        blobStore.init();
+
+        // Audio is normalized on the way into the store, so the blob's hash differs from the upload's
+        speechToTextService = mock(SpeechToTextService.class);
+        when(speechToTextService.storeUploadedFile(any(), anyBoolean())).thenAnswer(invocation -> {
+            Path staging = invocation.getArgument(0);
+            stored = Files.readAllBytes(staging);
+            Files.delete(staging);
+            return new StoredAudio("blobs/normalized", "normalized-hash", stored.length + 44L, 3000L);
+        });
+        analysisJobService = mock(AnalysisJobService.class);
+        AnalysisJobDTO job = new AnalysisJobDTO();
+        job.setAnswerId(42L);
+        when(analysisJobService.submitRecording(eq(1L), eq(7L), any(), anyBoolean())).thenReturn(job);
+
+        service = new ChunkedUploadService();
+        ReflectionTestUtils.setField(service, "uploadRepository", repository);
+        ReflectionTestUtils.setField(service, "interviewService", interviewService);
+        ReflectionTestUtils.setField(service, "questionService", mock(QuestionService.class));
+        ReflectionTestUtils.setField(service, "speechToTextService", speechToTextService);
+        ReflectionTestUtils.setField(service, "analysisJobService", analysisJobService);
+        ReflectionTestUtils.setField(service, "blobStore", blobStore);
+        ReflectionTestUtils.setField(service, "chunkSize", 4);
+        ReflectionTestUtils.setField(service, "maxSize", 1024L);
+        ReflectionTestUtils.setField(service, "expiryHours", 24L);
+    }
+
+    @Test
+    void chunksAssembleInAnyOrderAndResumeFromNextOffset() throws IOException {
+        String id = start();
+
+        ChunkedUploadDTO status = put(id, 8);          // short last chunk first
+        assertEquals(0L, status.getNextOffset());
+        put(id, 0);
+        status = put(id, 0);                           // resent after a lost response
+        assertEquals(6L, status.getReceivedBytes());
+        assertEquals(4L, status.getNextOffset());
+        assertEquals(1, status.getMissingChunks());
+        assertThrows(IllegalStateException.class, () -> service.complete(OWNER, id, null, null, null));
+
+        status = put(id, service.getStatus(OWNER, id).getNextOffset());
+        assertNull(status.getNextOffset());
+        assertEquals(10L, status.getReceivedBytes());
+
+        ChunkedUploadDTO done = service.complete(OWNER, id, null, null, null);
+        assertEquals("Completed", done.getStatus());
+        assertEquals(42L, done.getAnswerId());
+        assertArrayEquals(CONTENT, stored);
+    }
+
+    @Test
+    void rejectsMisplacedOrMissizedChunks() {
+        String id = start();
+
+        assertThrows(IllegalArgumentException.class, () -> put(id, 3));
+        assertThrows(IllegalArgumentException.class, () -> put(id, 12));
+        assertThrows(IllegalArgumentException.class, () -> put(id, -4));
+        assertThrows(IllegalArgumentException.class, () -> service.writeChunk(OWNER, id, 0, 3, body(0, 3)));
+        // Body shorter or longer than the declared chunk is never marked as received
+        assertThrows(IOException.class, () -> service.writeChunk(OWNER, id, 0, -1, body(0, 3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.writeChunk(OWNER, id, 0, -1, new ByteArrayInputStream("01234".getBytes())));
+        assertThrows(ChunkedUploadService.UploadNotFoundException.class,
+                () -> service.writeChunk("someone@example.com", id, 0, 4, body(0, 4)));
+
+        assertEquals(0L, service.getStatus(OWNER, id).getReceivedBytes());
+        assertEquals(0L, service.getStatus(OWNER, id).getNextOffset());
+    }
+
+    @Test
+    void finalizeCanBeRepeated() throws IOException {
+        String id = uploadEverything();
+
+        ChunkedUploadDTO first = service.complete(OWNER, id, null, null, null);
+        ChunkedUploadDTO second = service.complete(OWNER, id, null, null, null);
+
+        assertEquals(first.getAnswerId(), second.getAnswerId());
+        verify(speechToTextService, times(1)).storeUploadedFile(any(), anyBoolean());
+        verify(analysisJobService, times(1)).submitRecording(anyLong(), anyLong(), any(), anyBoolean());
+        assertThrows(IllegalStateException.class, () -> put(id, 0));
+    }
+
+    @Test
+    void retriedFinalizeKeepsTheRecordedDuration() throws IOException {
+        String id = uploadEverything();
+        when(analysisJobService.submitRecording(eq(1L), eq(7L), any(), anyBoolean()))
+                .thenThrow(new IllegalStateException("queue full"))
+                .thenAnswer(invocation -> {
+                    AnalysisJobDTO job = new AnalysisJobDTO();
+                    job.setAnswerId(42L);
+                    return job;
+                });
+
+        assertThrows(IllegalStateException.class, () -> service.complete(OWNER, id, null, null, null));
+        assertEquals("Completed", service.complete(OWNER, id, null, null, null).getStatus());
+
+        // The second attempt reuses the stored blob, which may have been trimmed; the duration comes along
+        ArgumentCaptor<StoredAudio> recordings = ArgumentCaptor.forClass(StoredAudio.class);
+        verify(speechToTextService, times(1)).storeUploadedFile(any(), anyBoolean());
+        verify(analysisJobService, times(2)).submitRecording(eq(1L), eq(7L), recordings.capture(), anyBoolean());
+        recordings.getAllValues().forEach(recording -> {
+            assertEquals("blobs/normalized", recording.path());
+            assertEquals(3000L, recording.durationMillis());
+        });
+    }
+
+    @Test
+    void checksumIsOfTheBytesSentNotTheNormalizedBlob() throws Exception {
+        String id = uploadEverything();
+        ChunkedUploadDTO done = service.complete(OWNER, id, null, null, sha256(CONTENT).toUpperCase());
+        assertEquals("Completed", done.getStatus());
+        assertEquals("normalized-hash", done.getContentHash());
+    }
+
+    @Test
+    void checksumMismatchDropsTheUploadBeforeStoringIt() throws Exception {
+        String id = uploadEverything();
+        byte[] corrupted = Arrays.copyOf(CONTENT, CONTENT.length);
+        corrupted[0] = 'X';
+
+        assertThrows(IllegalStateException.class, () -> service.complete(OWNER, id, null, null, sha256(corrupted)));
+
+        verify(speechToTextService, never()).storeUploadedFile(any(), anyBoolean());
+        assertFalse(uploads.containsKey(id));
+        assertFalse(Files.exists(root.resolve("tmp").resolve("upload-" + id + ".part")));
+    }
+
+    private String start() {
+        return service.init(OWNER, 1L, 7L, "audio", CONTENT.length, "audio/wav").getUploadId();
+    }
+
+    private String uploadEverything() throws IOException {
+        String id = start();
+        for (long offset = 0; offset < CONTENT.length; offset += 4) {
+            put(id, offset);
+        }
+        return id;
+    }
+
+    private ChunkedUploadDTO put(String id, long offset) throws IOException {
+        int length = (int) Math.max(0, Math.min(4, CONTENT.length - offset));
+        return service.writeChunk(OWNER, id, offset, length, body((int) Math.max(0, offset), length));
+    }
+
+    private static ByteArrayInputStream body(int offset, int length) {
+        return new ByteArrayInputStream(CONTENT, Math.min(offset, CONTENT.length), length);
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,212 @@
+package com.interview.platform.service;
+
+import com.interview.platform.config.ReadYourWritesTracker;
+import com.interview.platform.dto.DashboardDTO;
+import com.interview.platform.dto.SessionDTO;
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.Question;
+import com.interview.platform.model.User;
+import com.interview.platform.repository.InterviewAnswerRepository;
+import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.repository.QuestionRepository;
+import com.interview.platform.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * The dashboard is built from bounded queries whatever the session count,
+ * cached per user, and dropped when that user's answers change.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({DashboardService.class, InterviewService.class, QuestionService.class, QuestionCatalog.class,
+        QuestionSamplingIndex.class, ReadYourWritesTracker.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardServiceTest {
+
+    private static final String EMAIL = "dashboard@example.com";
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @SpyBean
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InterviewAnswerRepository answerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private Question technical;
+    private Question hr;
+    private InterviewSession newest;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        answerRepository.deleteAll();
+        sessionRepository.deleteAll();
+        questionRepository.deleteAll();
+        userRepository.deleteAll();
+        dashboardService.invalidateAll();
+
+        user = new User();
+        user.setFullName("Dashboard User");
+        user.setEmail(EMAIL);
+        user.setPassword("secret");
+        user = userRepository.save(user);
+        technical = question("Explain CAP", "Technical");
+        hr = question("Why this company?", "HR");
+        question("Unanswered", "Behavioral");
+
+        // 40 sessions; even ones completed with score = index, odd ones still in progress
+        for (int i = 0; i < 40; i++) {
+            InterviewSession session = new InterviewSession();
+            session.setUser(user);
+            session.setSessionType(InterviewSession.SessionType.Quick);
+            session.setTotalQuestions(5);
+            session.setQuestionsAnswered(2);
+            session.setStatus(i % 2 == 0 ? InterviewSession.Status.Completed : InterviewSession.Status.InProgress);
+            session.setOverallScore(i % 2 == 0 ? (double) i : 99.0);
+            newest = sessionRepository.save(session);
+        }
+        answer(newest, technical);
+        answer(newest, technical);
+        answer(newest, hr);
+    }
+
+    @Test
+    void dashboardIsBuiltWithBoundedQueriesAndCached() {
+        statistics.clear();
+        DashboardDTO dashboard = dashboardService.getDashboard(EMAIL);
+        long statements = statistics.getPrepareStatementCount();
+
+        // user lookup, sessions + totals, top categories
+        assertTrue(statements <= 3, "statements: " + statements);
+        assertEquals("Dashboard User", dashboard.getUserName());
+        assertEquals(40, dashboard.getTotalInterviews());
+        assertEquals(19.0, dashboard.getAverageScore(), 1e-9);
+        assertEquals(80, dashboard.getTotalQuestionsAnswered());
+        assertEquals(List.of("Technical", "HR"), dashboard.getTopCategories());
+        List<SessionDTO> recent = dashboard.getRecentSessions();
+        assertEquals(5, recent.size());
+        assertEquals(newest.getSessionId(), recent.get(0).getSessionId());
+        assertEquals("InProgress", recent.get(0).getStatus());
+        assertEquals("Quick", recent.get(0).getSessionType());
+        assertEquals(newest.getSessionId() - 4, recent.get(4).getSessionId());
+
+        statistics.clear();
+        assertSame(dashboard, dashboardService.getDashboard(EMAIL));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void submittedAnswerDropsOnlyThatUsersDashboard() {
+        DashboardDTO before = dashboardService.getDashboard(EMAIL);
+
+        interviewService.saveAnswer(newest.getSessionId(), hr.getQuestionId(), null, null, "answer", 30);
+        interviewService.saveAnswer(newest.getSessionId(), hr.getQuestionId(), null, null, "answer", 30);
+
+        DashboardDTO after = dashboardService.getDashboard(EMAIL);
+        assertNotSame(before, after);
+        assertEquals(82, after.getTotalQuestionsAnswered());
+        assertEquals(List.of("HR", "Technical"), after.getTopCategories());
+    }
+
+    @Test
+    void loadsRunInAReadWriteTransactionSoTheyReadThePrimary() {
+        // The replica routing sends read-only transactions to the replica; a score committed by an
+        // analysis thread opens no read-your-writes window, so the reload after it must not go there
+        List<Boolean> readOnly = new ArrayList<>();
+        doAnswer(invocation -> {
+            readOnly.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return List.of();
+        }).when(sessionRepository).findDashboardRows(anyLong(), anyInt());
+
+        dashboardService.getDashboard(EMAIL);
+        dashboardService.invalidate(user.getUserId());
+        TransactionTemplate readOnlyCaller = new TransactionTemplate(transactionManager);
+        readOnlyCaller.setReadOnly(true);
+        readOnlyCaller.executeWithoutResult(status -> dashboardService.getDashboard(EMAIL));
+
+        assertEquals(List.of(false, false), readOnly);
+    }
+
+    @Test
+    void userWithoutSessionsGetsZeros() {
+        User fresh = new User();
+        fresh.setFullName("New User");
+        fresh.setEmail("new@example.com");
+        fresh.setPassword("secret");
+        userRepository.save(fresh);
+
+        DashboardDTO dashboard = dashboardService.getDashboard("new@example.com");
+        assertEquals(0, dashboard.getTotalInterviews());
+        assertEquals(0.0, dashboard.getAverageScore());
+        assertEquals(0, dashboard.getTotalQuestionsAnswered());
+        assertTrue(dashboard.getRecentSessions().isEmpty());
+        assertTrue(dashboard.getTopCategories().isEmpty());
+    }
+
+    private Question question(String text, String category) {
+        Question question = new Question();
+        question.setQuestionText(text);
+        question.setCategory(category);
+        return questionRepository.save(question);
+    }
+
+    private void answer(InterviewSession session, Question question) {
+        InterviewAnswer answer = new InterviewAnswer();
+        answer.setSession(session);
+        answer.setQuestion(question);
+        answer.setUser(user);
+        answer.setTranscription("answer");
+        answer.setAnsweredAt(LocalDateTime.now());
+        answerRepository.save(answer);
+    }
+}
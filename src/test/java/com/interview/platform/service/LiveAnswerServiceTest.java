@@ -0,0 +1,171 @@
+package com.interview.platform.service;
+
+import com.interview.platform.analysis.KeywordIndexCache;
+import com.interview.platform.analysis.KeywordSet;
+import com.interview.platform.analysis.TranscriptScanner;
+import com.interview.platform.analysis.TranscriptStats;
+import com.interview.platform.dto.FeedbackDTO;
+import com.interview.platform.dto.LiveFeedbackDTO;
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.Question;
+import com.interview.platform.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Live counts match a full scan of the transcript however it was chunked,
+ * submit hands the accumulated state to analysis, and a live answer is only
+ * reachable by the owner of its session.
+ */
+class LiveAnswerServiceTest {
+
+    private static final String OWNER = "owner@example.com";
+    private static final String OTHER = "other@example.com";
+    private static final String KEYWORDS = "spring,jpa,transactions,rollback";
+    private static final String TRANSCRIPT =
+            "Um, so basically I use Spring and, like, JPA for transactions, you know, uh, and rollback";
+
+    private LiveAnswerService service;
+    private InterviewService interviewService;
+    private AnalysisService analysisService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail(OWNER);
+        InterviewSession session = new InterviewSession();
+        session.setSessionId(3L);
+        session.setUser(user);
+        Question question = new Question();
+        question.setQuestionId(9L);
+        question.setExpectedKeywords(KEYWORDS);
+
+        interviewService = mock(InterviewService.class);
+        when(interviewService.getSessionById(3L)).thenReturn(session);
+        QuestionService questionService = mock(QuestionService.class);
+        when(questionService.getQuestionById(9L)).thenReturn(question);
+        analysisService = mock(AnalysisService.class);
+
+        KeywordIndexCache keywordIndexCache = new KeywordIndexCache();
+        ReflectionTestUtils.setField(keywordIndexCache, "maxEntries", 100);
+
+        service = new LiveAnswerService();
+        ReflectionTestUtils.setField(service, "interviewService", interviewService);
+        ReflectionTestUtils.setField(service, "analysisService", analysisService);
+        ReflectionTestUtils.setField(service, "questionService", questionService);
+        ReflectionTestUtils.setField(service, "transcriptScanner", new TranscriptScanner());
+        ReflectionTestUtils.setField(service, "keywordIndexCache", keywordIndexCache);
+        ReflectionTestUtils.setField(service, "idleTimeoutMinutes", 10L);
+        ReflectionTestUtils.setField(service, "maxActive", 10);
+        ReflectionTestUtils.setField(service, "maxTranscriptChars", 1000);
+    }
+
+    @Test
+    void countsMatchAFullScanWhereverTheChunksAreCut() {
+        TranscriptStats expected = new TranscriptScanner().scan(TRANSCRIPT, KeywordSet.parse(KEYWORDS));
+
+        // Cuts inside words ("Spr|ing", "transac|tions") and inside the "you know" filler
+        for (int step : new int[]{1, 3, 7, 13, TRANSCRIPT.length()}) {
+            String liveId = service.start(OWNER, 3L, 9L).getLiveId();
+            LiveFeedbackDTO update = null;
+            for (int i = 0; i < TRANSCRIPT.length(); i += step) {
+                update = service.appendChunk(OWNER, liveId, TRANSCRIPT.substring(i, Math.min(TRANSCRIPT.length(), i + step)), 30);
+            }
+            assertEquals(expected.getWordCount(), update.getWordCount(), "step " + step);
+            assertEquals(expected.getFillerCount(), update.getFillerCount(), "step " + step);
+            assertEquals(expected.getKeywordMatches(), update.getKeywordMatches(), "step " + step);
+            assertEquals(4, update.getKeywordTotal());
+            assertEquals(100.0, update.getKeywordCoverage(), 1e-9);
+            assertEquals(30, update.getElapsedSeconds());
+        }
+    }
+
+    @Test
+    void countsGrowWithEachChunk() {
+        String liveId = service.start(OWNER, 3L, 9L).getLiveId();
+
+        LiveFeedbackDTO first = service.appendChunk(OWNER, liveId, "I use Spr", 5);
+        assertEquals(1, first.getSequence());
+        assertEquals(3, first.getWordCount());
+        assertEquals(0, first.getKeywordMatches());
+
+        LiveFeedbackDTO second = service.appendChunk(OWNER, liveId, "ing, um ", 8);
+        assertEquals(2, second.getSequence());
+        assertEquals(4, second.getWordCount());
+        assertEquals(1, second.getFillerCount());
+        assertEquals(1, second.getKeywordMatches());
+        assertEquals(25.0, second.getKeywordCoverage(), 1e-9);
+        assertEquals(8, second.getElapsedSeconds());
+    }
+
+    @Test
+    void submitAnalyzesTheAccumulatedTranscript() {
+        InterviewAnswer saved = new InterviewAnswer();
+        when(interviewService.saveAnswer(eq(3L), eq(9L), isNull(), isNull(), anyString(), anyInt())).thenReturn(saved);
+        FeedbackDTO feedback = new FeedbackDTO();
+        when(analysisService.analyzeAnswer(eq(saved), any(TranscriptStats.class))).thenReturn(feedback);
+
+        String liveId = service.start(OWNER, 3L, 9L).getLiveId();
+        service.appendChunk(OWNER, liveId, TRANSCRIPT.substring(0, 40), 10);
+        service.appendChunk(OWNER, liveId, TRANSCRIPT.substring(40), 20);
+        assertEquals(1, service.getActiveCount());
+
+        assertSame(feedback, service.submit(OWNER, liveId, null));
+
+        ArgumentCaptor<TranscriptStats> stats = ArgumentCaptor.forClass(TranscriptStats.class);
+        verify(interviewService).saveAnswer(3L, 9L, null, null, TRANSCRIPT, 20);
+        verify(analysisService).analyzeAnswer(eq(saved), stats.capture());
+        TranscriptStats expected = new TranscriptScanner().scan(TRANSCRIPT, KeywordSet.parse(KEYWORDS));
+        assertEquals(expected.getWordCount(), stats.getValue().getWordCount());
+        assertEquals(expected.getFillerCount(), stats.getValue().getFillerCount());
+        assertEquals(expected.getKeywordMatches(), stats.getValue().getKeywordMatches());
+
+        // Gone once submitted
+        assertEquals(0, service.getActiveCount());
+        assertThrows(LiveAnswerService.LiveAnswerNotFoundException.class,
+                () -> service.appendChunk(OWNER, liveId, "more", null));
+        assertThrows(LiveAnswerService.LiveAnswerNotFoundException.class, () -> service.submit(OWNER, liveId, 5));
+    }
+
+    @Test
+    void onlyTheSessionOwnerCanUseALiveAnswer() {
+        // Someone else's session looks like no session at all
+        assertThrows(LiveAnswerService.LiveAnswerNotFoundException.class, () -> service.start(OTHER, 3L, 9L));
+        assertThrows(LiveAnswerService.LiveAnswerNotFoundException.class, () -> service.start(null, 3L, 9L));
+        assertEquals(0, service.getActiveCount());
+
+        String liveId = service.start(OWNER, 3L, 9L).getLiveId();
+        service.appendChunk(OWNER, liveId, "I use Spring", 5);
+
+        assertThrows(LiveAnswerService.LiveAnswerNotFoundException.class,
+                () -> service.appendChunk(OTHER, liveId, " and JPA", 6));
+        assertTrue(service.subscribe(OTHER, liveId).isEmpty());
+        assertThrows(LiveAnswerService.LiveAnswerNotFoundException.class, () -> service.submit(OTHER, liveId, 5));
+
+        // The owner's answer is untouched by the attempts
+        assertEquals(1, service.getActiveCount());
+        verify(interviewService, never()).saveAnswer(any(), any(), any(), any(), any(), any());
+        LiveFeedbackDTO update = service.appendChunk(OWNER, liveId, " and JPA", 6);
+        assertEquals(2, update.getSequence());
+        assertEquals(List.of(5, 2), List.of(update.getWordCount(), update.getKeywordMatches()));
+    }
+}
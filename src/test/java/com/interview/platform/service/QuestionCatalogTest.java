@@ -0,0 +1,82 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.Question;
+import com.interview.platform.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The catalog is loaded once per version and invalidated by question writes.
+ */
+class QuestionCatalogTest {
+
+    private final List<Question> active = new ArrayList<>();
+    private QuestionRepository repository;
+    private QuestionCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        active.add(question(2L, "Describe a conflict at work"));
+        active.add(question(1L, "Tell me about yourself"));
+        repository = mock(QuestionRepository.class);
+        when(repository.findByIsActiveTrue()).thenAnswer(invocation -> List.copyOf(active));
+        catalog = new QuestionCatalog();
+        ReflectionTestUtils.setField(catalog, "questionRepository", repository);
+    }
+
+    @Test
+    void readsShareOneSnapshotUntilAWrite() {
+        QuestionCatalog.Snapshot first = catalog.current();
+        assertSame(first, catalog.current());
+        assertEquals(List.of(1L, 2L), first.dtos().stream().map(dto -> dto.getQuestionId()).toList());
+        verify(repository, times(1)).findByIsActiveTrue();
+
+        Question edited = question(1L, "Walk me through your CV");
+        active.set(1, edited);
+        catalog.onQuestionChanged(new QuestionChangedEvent(edited, QuestionChangedEvent.ChangeType.UPDATED));
+
+        QuestionCatalog.Snapshot second = catalog.current();
+        assertNotSame(first, second);
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals("Walk me through your CV", catalog.get(1L).getQuestionText());
+        verify(repository, times(2)).findByIsActiveTrue();
+    }
+
+    @Test
+    void etagDependsOnlyOnContent() {
+        String etag = catalog.current().etag();
+        catalog.onQuestionChanged(new QuestionChangedEvent(active.get(0), QuestionChangedEvent.ChangeType.UPDATED));
+        assertEquals(etag, catalog.current().etag());
+    }
+
+    @Test
+    void getHandsOutCopies() {
+        Question copy = catalog.get(2L);
+        copy.setQuestionText("changed by a caller");
+        assertEquals("Describe a conflict at work", catalog.get(2L).getQuestionText());
+        assertNull(catalog.get(99L));
+    }
+
+    private static Question question(Long id, String text) {
+        Question question = new Question();
+        question.setQuestionId(id);
+        question.setQuestionText(text);
+        question.setCategory("HR");
+        question.setIsActive(true);
+        return question;
+    }
+}
@@ -0,0 +1,147 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.QuestionImportReportDTO;
+import com.interview.platform.model.Question;
+import com.interview.platform.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports stream through JDBC batches, report bad rows by line and leave
+ * the good rows of a failed batch in place.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import({QuestionImportService.class, QuestionCatalog.class, QuestionSamplingIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuestionImportServiceTest {
+
+    @Autowired
+    private QuestionImportService importService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionSamplingIndex samplingIndex;
+
+    @BeforeEach
+    void setUp() {
+        questionRepository.deleteAll();
+        ReflectionTestUtils.setField(importService, "batchSize", 1000);
+    }
+
+    @Test
+    void importsCsvWithQuotedFieldsAndReportsBadRowsByLine() throws Exception {
+        String csv = """
+                question_text,Category,difficulty,ideal_duration,tips
+                "Tell me about yourself",HR,easy,120,"Keep it short, relevant"
+                "Describe a bug you
+                chased for days",Technical,Hard,,"Say ""why"" it was hard"
+                Missing category,,Medium,,
+                Bad difficulty,HR,Impossible,,
+                Wrong field count,HR
+                """;
+
+        QuestionImportReportDTO report = run(csv, QuestionImportService.Format.CSV);
+
+        assertEquals(5, report.getTotalRows());
+        assertEquals(2, report.getInserted());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(5L, 6L, 7L), report.getErrors().stream().map(QuestionImportReportDTO.RowError::getLine).toList());
+
+        Question multiLine = questionRepository.findByCategory("Technical").get(0);
+        assertEquals("Describe a bug you\nchased for days", multiLine.getQuestionText());
+        assertEquals("Say \"why\" it was hard", multiLine.getTips());
+        assertEquals(Question.Difficulty.Hard, multiLine.getDifficulty());
+        assertEquals(180, multiLine.getIdealDuration());
+        assertTrue(multiLine.getIsActive());
+        assertEquals(Question.Difficulty.Easy, questionRepository.findByCategory("HR").get(0).getDifficulty());
+    }
+
+    @Test
+    void unterminatedQuoteStopsTheImportWithAPartialReport() throws Exception {
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        String csv = """
+                questionText,category
+                First,HR
+                Second,HR
+                Third,HR
+                "Never closed,HR
+                Swallowed by the open quote,HR
+                """;
+
+        QuestionImportReportDTO report = run(csv, QuestionImportService.Format.CSV);
+
+        assertEquals(4, report.getTotalRows());
+        assertEquals(3, report.getInserted());
+        assertEquals(1, report.getFailed());
+        QuestionImportReportDTO.RowError error = report.getErrors().get(0);
+        assertEquals(5L, error.getLine());
+        assertTrue(error.getMessage().startsWith("Unterminated quoted field"), error.getMessage());
+        // Rows from the batch that was still pending are kept too
+        assertEquals(3, questionRepository.count());
+    }
+
+    @Test
+    void ndjsonUpsertsByIdAcrossBatches() throws Exception {
+        Question existing = new Question();
+        existing.setQuestionText("Old wording");
+        existing.setCategory("HR");
+        existing = questionRepository.save(existing);
+        assertEquals(1, samplingIndex.size());
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+
+        String ndjson = "{\"questionId\":" + existing.getQuestionId() + ",\"questionText\":\"New wording\",\"category\":\"HR\"}\n"
+                + "{\"questionText\":\"Why this company?\",\"category\":\"HR\",\"isActive\":false}\n"
+                + "\n"
+                + "{not json}\n"
+                + "{\"questionText\":\"Explain CAP\",\"category\":\"Technical\",\"difficulty\":\"Hard\"}\n";
+
+        QuestionImportReportDTO report = run(ndjson, QuestionImportService.Format.NDJSON);
+
+        assertEquals(4, report.getTotalRows());
+        assertEquals(1, report.getUpdated());
+        assertEquals(2, report.getInserted());
+        assertEquals(4L, report.getErrors().get(0).getLine());
+        assertEquals("New wording", questionRepository.findById(existing.getQuestionId()).orElseThrow().getQuestionText());
+        assertEquals(3, questionRepository.count());
+        // Loaded index was rebuilt from the table: the inactive import is not sampled
+        assertEquals(2, samplingIndex.size());
+    }
+
+    @Test
+    void failedBatchIsReplayedRowByRow() throws Exception {
+        // The same new id twice in one batch fails the batch insert; replayed alone, the second row updates the first
+        String ndjson = "{\"questionId\":500,\"questionText\":\"First\",\"category\":\"HR\"}\n"
+                + "{\"questionId\":500,\"questionText\":\"Second\",\"category\":\"HR\"}\n"
+                + "{\"questionText\":\"Third\",\"category\":\"HR\"}\n";
+
+        QuestionImportReportDTO report = run(ndjson, QuestionImportService.Format.NDJSON);
+
+        assertEquals(2, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, report.getFailed());
+        assertEquals("Second", questionRepository.findById(500L).orElseThrow().getQuestionText());
+    }
+
+    private QuestionImportReportDTO run(String body, QuestionImportService.Format format) throws Exception {
+        return importService.importQuestions(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+}
@@ -0,0 +1,160 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.Question;
+import com.interview.platform.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sampling without replacement from the in-memory question index, patching
+ * it from question change events, and reloading it from the primary.
+ */
+class QuestionSamplingIndexTest {
+
+    private QuestionRepository repository;
+    private QuestionSamplingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            String category = id <= 100 ? "Technical" : "HR";
+            rows.add(new Object[]{id, category, Question.Difficulty.values()[(int) (id % 3)]});
+        }
+        repository = mock(QuestionRepository.class);
+        when(repository.findActiveSamplingRows()).thenReturn(rows);
+        index = new QuestionSamplingIndex();
+        ReflectionTestUtils.setField(index, "questionRepository", repository);
+    }
+
+    @Test
+    void samplesDistinctIdsFromTheRequestedCategory() {
+        for (int round = 0; round < 50; round++) {
+            List<Long> ids = index.sample("technical", 20);
+            assertEquals(20, ids.size());
+            assertEquals(20, new HashSet<>(ids).size(), "sampled with replacement: " + ids);
+            assertTrue(ids.stream().allMatch(id -> id <= 100), "wrong category: " + ids);
+        }
+        // Asking for more than the bucket holds returns every id once
+        assertEquals(100, new HashSet<>(index.sample("Technical", 500)).size());
+        assertEquals(300, index.sample(null, 1000).size());
+        assertEquals(List.of(), index.sample("Unknown", 5));
+        verify(repository, times(1)).findActiveSamplingRows();
+    }
+
+    @Test
+    void weightsSteerTheDifficultyMix() {
+        ReflectionTestUtils.setField(index, "easyWeight", 0.0);
+        ReflectionTestUtils.setField(index, "mediumWeight", 0.0);
+        Set<Long> seen = new HashSet<>(index.sample(null, 100));
+        assertEquals(100, seen.size());
+        assertTrue(seen.stream().allMatch(id -> id % 3 == 2), "only Hard questions expected");
+    }
+
+    @Test
+    void changeEventsPatchTheIndex() {
+        index.sample(null, 1);
+
+        Question moved = question(5L, "HR", true);
+        index.onQuestionChanged(new QuestionChangedEvent(moved, QuestionChangedEvent.ChangeType.UPDATED));
+        index.onQuestionChanged(new QuestionChangedEvent(question(6L, "Technical", false),
+                QuestionChangedEvent.ChangeType.DEACTIVATED));
+        index.onQuestionChanged(new QuestionChangedEvent(question(7L, "Technical", true),
+                QuestionChangedEvent.ChangeType.DELETED));
+        index.onQuestionChanged(new QuestionChangedEvent(question(1000L, "Technical", true),
+                QuestionChangedEvent.ChangeType.CREATED));
+
+        Set<Long> technical = new HashSet<>(index.sample("Technical", 500));
+        assertEquals(98, technical.size());
+        assertTrue(technical.contains(1000L));
+        assertFalse(technical.contains(5L) || technical.contains(6L) || technical.contains(7L));
+        assertTrue(index.sample("HR", 500).contains(5L));
+        assertEquals(299, index.size());
+    }
+
+    @Test
+    void reloadReadsThePrimaryEvenFromAReadOnlyCaller() {
+        StubTransactionManager transactionManager = new StubTransactionManager();
+        index.setTransactionManager(transactionManager);
+        List<Object[]> rows = repository.findActiveSamplingRows();
+        List<Boolean> readOnly = new ArrayList<>();
+        doAnswer(invocation -> {
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            readOnly.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return rows;
+        }).when(repository).findActiveSamplingRows();
+
+        index.rebuild();
+        TransactionTemplate readOnlyCaller = new TransactionTemplate(transactionManager);
+        readOnlyCaller.setReadOnly(true);
+        readOnlyCaller.executeWithoutResult(status -> index.rebuild());
+
+        // The routing DataSource sends read-only transactions to the replica
+        assertEquals(List.of(false, false), readOnly);
+        assertEquals(300, index.size());
+    }
+
+    // Just enough of a transaction manager for the synchronization flags the routing DataSource reads
+    private static final class StubTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            return transaction;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static Question question(Long id, String category, boolean active) {
+        Question question = new Question();
+        question.setQuestionId(id);
+        question.setCategory(category);
+        question.setDifficulty(Question.Difficulty.Medium);
+        question.setIsActive(active);
+        return question;
+    }
+}
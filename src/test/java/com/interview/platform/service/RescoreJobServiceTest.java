@@ -0,0 +1,280 @@
+package com.interview.platform.service;
+
+import com.interview.platform.analysis.AnswerScoring;
+import com.interview.platform.analysis.KeywordIndexCache;
+import com.interview.platform.analysis.KeywordSet;
+import com.interview.platform.analysis.ScoreCard;
+import com.interview.platform.analysis.TranscriptScanner;
+import com.interview.platform.model.AnswerAnalysis;
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.Question;
+import com.interview.platform.model.RescoreJob;
+import com.interview.platform.model.User;
+import com.interview.platform.repository.AnswerAnalysisRepository;
+import com.interview.platform.repository.InterviewAnswerRepository;
+import com.interview.platform.repository.InterviewSessionRepository;
+import com.interview.platform.repository.QuestionRepository;
+import com.interview.platform.repository.RescoreJobRepository;
+import com.interview.platform.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * A re-score job stopped between chunks resumes from its checkpoint on the
+ * next start and ends with exactly the scores an uninterrupted run writes.
+ * Answers that have not been analyzed yet are not touched.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "rescore.chunk-size=2",
+        "rescore.parallelism=2"
+})
+@Import({RescoreJobService.class, TranscriptScanner.class, KeywordIndexCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RescoreJobServiceTest {
+
+    private static final String KEYWORDS = "spring,jpa,transactions";
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private InterviewAnswerRepository answerRepository;
+
+    @Autowired
+    private AnswerAnalysisRepository analysisRepository;
+
+    @Autowired
+    private RescoreJobRepository jobRepository;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    private final Map<Long, Double> expectedScores = new LinkedHashMap<>();
+    private final Map<Long, Long> sessionOf = new LinkedHashMap<>();
+    private final List<Long> unanalyzed = new ArrayList<>();
+    private final List<RescoreJobService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        clean();
+
+        User user = new User();
+        user.setFullName("Rescore User");
+        user.setEmail("rescore@example.com");
+        user.setPassword("secret");
+        user = userRepository.save(user);
+
+        Question question = new Question();
+        question.setQuestionText("How do you manage transactions?");
+        question.setCategory("Technical");
+        question.setExpectedKeywords(KEYWORDS);
+        question = questionRepository.save(question);
+
+        // Three analyzed answers in the first session, so it straddles the chunk boundary; one in the second.
+        // The unanalyzed ones (analysis pending, transcription still in flight) are not the job's to score
+        InterviewSession first = session(user);
+        InterviewSession second = session(user);
+        answer(user, first, question, "I use Spring with JPA, um, basically", 30, 6.0);
+        answer(user, first, question, "Transactions, like, you know, spring transactions", 45, null);
+        answer(user, first, question, "um uh I am not sure", 20, 4.0);
+        answer(user, first, question, "Spring, like, wraps JPA calls in transactions", 40, 7.0);
+        answer(user, second, question, null, 0, null);
+        answer(user, second, question, "JPA and Spring handle transactions for me", 60, 9.0);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (RescoreJobService service : services) {
+            service.shutdown();
+        }
+        clean();
+    }
+
+    @Test
+    void jobStoppedAfterOneChunkResumesFromItsCheckpoint() throws Exception {
+        // The process goes down right after the first chunk commits
+        RescoreJobService rescoreJobService = newService();
+        CountDownLatch firstChunk = new CountDownLatch(1);
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (chunks.incrementAndGet() == 1) {
+                ((AtomicInteger) ReflectionTestUtils.getField(rescoreJobService, "generation")).incrementAndGet();
+                firstChunk.countDown();
+            }
+            return null;
+        }).when(dashboardService).invalidateAll();
+
+        Long jobId = rescoreJobService.start().getJobId();
+        assertTrue(firstChunk.await(10, TimeUnit.SECONDS));
+        rescoreJobService.shutdown();
+
+        List<Long> answerIds = new ArrayList<>(expectedScores.keySet());
+        RescoreJob stopped = jobRepository.findById(jobId).orElseThrow();
+        assertEquals(RescoreJob.Status.Running, stopped.getStatus());
+        assertEquals(Long.valueOf(expectedScores.size()), stopped.getTotalAnswers());
+        assertEquals(answerIds.get(1), stopped.getLastAnswerId());
+        assertEquals(2L, stopped.getProcessedCount());
+        assertEquals(expectedScores.get(answerIds.get(0)), overallScore(answerIds.get(0)), 1e-9);
+        assertEquals(expectedScores.get(answerIds.get(1)), overallScore(answerIds.get(1)), 1e-9);
+        assertEquals(0.0, overallScore(answerIds.get(2)), 1e-9);
+
+        // Next start: a fresh service finds the job still Running
+        RescoreJobService next = newService();
+        next.resumeInterruptedJob();
+        RescoreJob done = awaitFinished(jobId);
+
+        assertEquals(RescoreJob.Status.Completed, done.getStatus());
+        assertEquals(4L, done.getProcessedCount());
+        assertEquals(answerIds.get(3), done.getLastAnswerId());
+
+        // Each analysis has the score an uninterrupted run gives it
+        expectedScores.forEach((answerId, score) ->
+                assertEquals(score, overallScore(answerId), 1e-9, "answer " + answerId));
+        assertSessionAggregates();
+    }
+
+    @Test
+    void unanalyzedAnswersAreLeftAlone() throws Exception {
+        Long jobId = newService().start().getJobId();
+        RescoreJob done = awaitFinished(jobId);
+
+        assertEquals(RescoreJob.Status.Completed, done.getStatus());
+        assertEquals(Long.valueOf(expectedScores.size()), done.getTotalAnswers());
+        assertEquals(Long.valueOf(expectedScores.size()), done.getProcessedCount());
+
+        // No analysis was made up for them, so they stay out of the session averages
+        assertEquals(Long.valueOf(expectedScores.size()),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answer_analysis", Long.class));
+        for (Long answerId : unanalyzed) {
+            assertEquals(Long.valueOf(0), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answer_analysis " +
+                    "WHERE answer_id = ?", Long.class, answerId), "answer " + answerId);
+        }
+        assertSessionAggregates();
+    }
+
+    // Session aggregates cover the analyzed answers only
+    private void assertSessionAggregates() {
+        for (Long sessionId : sessionOf.values().stream().distinct().toList()) {
+            List<Double> scores = expectedScores.entrySet().stream()
+                    .filter(e -> sessionOf.get(e.getKey()).equals(sessionId))
+                    .map(Map.Entry::getValue).toList();
+            double sum = scores.stream().mapToDouble(Double::doubleValue).sum();
+            Map<String, Object> row = jdbcTemplate.queryForMap("SELECT score_sum, scored_answers, overall_score " +
+                    "FROM interview_sessions WHERE session_id = ?", sessionId);
+            assertEquals(sum, ((Number) row.get("score_sum")).doubleValue(), 1e-9, "session " + sessionId);
+            assertEquals(scores.size(), ((Number) row.get("scored_answers")).intValue(), "session " + sessionId);
+            assertEquals(sum / scores.size(), ((Number) row.get("overall_score")).doubleValue(), 1e-9,
+                    "session " + sessionId);
+        }
+    }
+
+    // Each test, and each simulated restart, gets its own instance: shutdown() stops it for good
+    private RescoreJobService newService() {
+        RescoreJobService service = beanFactory.createBean(RescoreJobService.class);
+        services.add(service);
+        return service;
+    }
+
+    private RescoreJob awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            RescoreJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() != RescoreJob.Status.Running) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("re-score job " + jobId + " did not finish");
+    }
+
+    private double overallScore(Long answerId) {
+        return jdbcTemplate.queryForObject("SELECT overall_score FROM answer_analysis WHERE answer_id = ?",
+                Double.class, answerId);
+    }
+
+    private InterviewSession session(User user) {
+        InterviewSession session = new InterviewSession();
+        session.setUser(user);
+        session.setSessionType(InterviewSession.SessionType.Quick);
+        session.setOverallScore(0.0);
+        return sessionRepository.save(session);
+    }
+
+    // An answer with a stale analysis and the score the current formulas give it, or one not analyzed yet
+    private void answer(User user, InterviewSession session, Question question, String transcription,
+                        int duration, Double confidence) {
+        InterviewAnswer answer = new InterviewAnswer();
+        answer.setUser(user);
+        answer.setSession(session);
+        answer.setQuestion(question);
+        answer.setTranscription(transcription);
+        answer.setDuration(duration);
+        answer = answerRepository.save(answer);
+
+        if (confidence == null) {
+            unanalyzed.add(answer.getAnswerId());
+            return;
+        }
+        AnswerAnalysis analysis = new AnswerAnalysis();
+        analysis.setAnswer(answer);
+        analysis.setConfidenceScore(confidence);
+        analysis.setOverallScore(0.0);
+        analysisRepository.save(analysis);
+
+        ScoreCard card = AnswerScoring.score(
+                new TranscriptScanner().scan(AnswerScoring.normalizeTranscription(transcription),
+                        KeywordSet.parse(KEYWORDS)),
+                AnswerScoring.normalizeDuration(duration), confidence);
+        expectedScores.put(answer.getAnswerId(), card.getOverallScore());
+        sessionOf.put(answer.getAnswerId(), session.getSessionId());
+    }
+
+    private void clean() {
+        jdbcTemplate.update("DELETE FROM answer_analysis");
+        jdbcTemplate.update("DELETE FROM interview_answers");
+        jdbcTemplate.update("DELETE FROM interview_sessions");
+        jdbcTemplate.update("DELETE FROM questions");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM rescore_jobs");
+    }
+}
@@ -0,0 +1,184 @@
+package com.interview.platform.service;
+
+import com.interview.platform.analysis.TranscriptStats;
+import com.interview.platform.analysis.stage.AnalysisMetrics;
+import com.interview.platform.analysis.stage.AnalysisPipeline;
+import com.interview.platform.config.ReadYourWritesTracker;
+import com.interview.platform.model.AnswerAnalysis;
+import com.interview.platform.model.InterviewAnswer;
+import com.interview.platform.model.InterviewSession;
+import com.interview.platform.model.Question;
+import com.interview.platform.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Session progress and score are kept as running aggregates: every
+ * submission costs the same number of statements however many answers the
+ * session already has.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({InterviewService.class, QuestionService.class, QuestionCatalog.class, QuestionSamplingIndex.class,
+        AnalysisService.class, ReadYourWritesTracker.class, DashboardService.class})
+class SessionAggregatesTest {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AnalysisPipeline analysisPipeline;
+
+    private Statistics statistics;
+    private Long sessionId;
+    private Long questionId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Word counts vary between answers so the scores do too
+        when(analysisPipeline.run(any())).thenAnswer(invocation -> {
+            AnalysisMetrics metrics = new AnalysisMetrics();
+            int words = 60 + 40 * (int) (statistics.getPrepareStatementCount() % 3);
+            metrics.setTranscriptStats(new TranscriptStats(words, 2, 3, 5));
+            return metrics;
+        });
+
+        User user = new User();
+        user.setFullName("Test User");
+        user.setEmail("aggregates@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        Question question = new Question();
+        question.setQuestionText("Tell me about yourself");
+        question.setCategory("HR");
+        entityManager.persist(question);
+        questionId = question.getQuestionId();
+
+        InterviewSession session = new InterviewSession();
+        session.setUser(user);
+        session.setSessionType(InterviewSession.SessionType.FullMock);
+        entityManager.persist(session);
+        sessionId = session.getSessionId();
+        entityManager.flush();
+    }
+
+    @Test
+    void submissionCostDoesNotGrowWithAnsweredQuestions() {
+        List<Long> statementsPerSubmission = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            entityManager.clear();
+            statistics.clear();
+            submit("answer number " + i);
+            statementsPerSubmission.add(statistics.getPrepareStatementCount());
+        }
+
+        long first = statementsPerSubmission.get(0);
+        assertTrue(first <= 8, "statements per submission: " + statementsPerSubmission);
+        statementsPerSubmission.forEach(count -> assertEquals(first, count,
+                "statements per submission: " + statementsPerSubmission));
+
+        InterviewSession session = reload();
+        assertEquals(15, session.getQuestionsAnswered());
+        assertEquals(15, session.getScoredAnswers());
+        assertEquals(averageOfAnalyses(), session.getOverallScore(), 1e-9);
+        assertEquals(session.getOverallScore() * 15, session.getScoreSum(), 1e-9);
+    }
+
+    @Test
+    void reanalysisReplacesTheAnswersScore() {
+        Long first = submit("first answer");
+        submit("second answer");
+
+        entityManager.clear();
+        analysisService.analyzeAnswer(first);
+        entityManager.flush();
+
+        InterviewSession session = reload();
+        assertEquals(2, session.getQuestionsAnswered());
+        assertEquals(2, session.getScoredAnswers());
+        assertEquals(averageOfAnalyses(), session.getOverallScore(), 1e-9);
+    }
+
+    @Test
+    void sessionWithoutAggregatesIsRebuiltOnFirstScore() {
+        submit("scored before the upgrade");
+        entityManager.createQuery("UPDATE InterviewSession s SET s.scoreSum = NULL, s.scoredAnswers = NULL, " +
+                "s.overallScore = 0 WHERE s.sessionId = :id").setParameter("id", sessionId).executeUpdate();
+
+        submit("scored after the upgrade");
+
+        InterviewSession session = reload();
+        assertEquals(2, session.getScoredAnswers());
+        assertEquals(averageOfAnalyses(), session.getOverallScore(), 1e-9);
+    }
+
+    @Test
+    void completingDoesNotOverwriteAConcurrentScore() {
+        submit("scored before completion");
+        entityManager.clear();
+
+        // completeSession works on a copy read before another transaction's addScore committed
+        InterviewSession stale = entityManager.find(InterviewSession.class, sessionId);
+        double staleSum = stale.getScoreSum();
+        interviewService.recordAnswerScore(sessionId, null, 80.0);
+        interviewService.completeSession(sessionId);
+
+        InterviewSession session = reload();
+        assertEquals(InterviewSession.Status.Completed, session.getStatus());
+        assertNotNull(session.getEndTime());
+        assertEquals(2, session.getScoredAnswers());
+        assertEquals(staleSum + 80.0, session.getScoreSum(), 1e-9);
+        assertEquals((staleSum + 80.0) / 2, session.getOverallScore(), 1e-9);
+    }
+
+    private Long submit(String transcription) {
+        InterviewAnswer answer = interviewService.saveAnswer(sessionId, questionId, null, null, transcription, 60);
+        analysisService.analyzeAnswer(answer.getAnswerId());
+        entityManager.flush();
+        return answer.getAnswerId();
+    }
+
+    private InterviewSession reload() {
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(InterviewSession.class, sessionId);
+    }
+
+    private double averageOfAnalyses() {
+        return entityManager.createQuery("SELECT a FROM AnswerAnalysis a", AnswerAnalysis.class).getResultList()
+                .stream().mapToDouble(AnswerAnalysis::getOverallScore).average().orElse(0);
+    }
+}
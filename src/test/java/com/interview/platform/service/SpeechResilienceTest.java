@@ -0,0 +1,336 @@
+package com.interview.platform.service;
+
+import com.interview.platform.dto.FeedbackDTO;
+import com.interview.platform.model.PendingTranscription;
+import com.interview.platform.repository.PendingTranscriptionRepository;
+import com.interview.platform.repository.TranscriptionCacheRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Circuit breaker, bulkhead and the deferred-transcription queue against a
+ * stub provider that can be told to fail or hang.
+ */
+class SpeechResilienceTest {
+
+    private enum Fault { NONE, SERVER_ERROR, HANG }
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private AssemblyAiClient client;
+    private TranscriptPoller poller;
+    private ThreadPoolTaskExecutor executor;
+
+    private volatile Fault fault = Fault.NONE;
+    private volatile CountDownLatch hangRelease = new CountDownLatch(0);
+    private final AtomicInteger uploads = new AtomicInteger();
+    private final AtomicInteger uploadsInFlight = new AtomicInteger();
+    private final AtomicInteger transcriptSeq = new AtomicInteger();
+    private final AtomicInteger hashSeq = new AtomicInteger();
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/upload", this::handleUpload);
+        server.createContext("/v2/transcript", this::handleTranscript);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        httpClient = HttpClients.createDefault();
+        client = new AssemblyAiClient();
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort() + "/v2");
+        ReflectionTestUtils.setField(client, "webhookUrl", "");
+        ReflectionTestUtils.setField(client, "httpClient", httpClient);
+
+        poller = new TranscriptPoller();
+        ReflectionTestUtils.setField(poller, "assemblyAiClient", client);
+        ReflectionTestUtils.setField(poller, "threads", 1);
+        ReflectionTestUtils.setField(poller, "initialIntervalMs", 10L);
+        ReflectionTestUtils.setField(poller, "maxIntervalMs", 50L);
+        ReflectionTestUtils.setField(poller, "backoffMultiplier", 2.0);
+        ReflectionTestUtils.setField(poller, "maxWaitSeconds", 10L);
+        ReflectionTestUtils.setField(poller, "maxConsecutiveErrors", 3);
+        poller.init();
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        hangRelease.countDown();
+        poller.shutdown();
+        executor.shutdown();
+        server.stop(0);
+        httpClient.close();
+    }
+
+    @Test
+    void breakerOpensOnFailuresAndClosesAfterHalfOpenProbe() throws Exception {
+        SpeechResilience resilience = resilience(8, 4, 1);
+        SpeechToTextService speech = speechService(resilience);
+
+        fault = Fault.SERVER_ERROR;
+        for (int i = 0; i < 4; i++) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> speech.transcribeAudioAsync(newAudio()).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getState());
+
+        // Open: refused without reaching the provider
+        ExecutionException refused = assertThrows(ExecutionException.class,
+                () -> speech.transcribeAudioAsync(newAudio()).get(100, TimeUnit.MILLISECONDS));
+        assertInstanceOf(SpeechResilience.SpeechUnavailableException.class, refused.getCause());
+        assertEquals(4, uploads.get());
+
+        fault = Fault.NONE;
+        Thread.sleep(1100);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, resilience.getState());
+        assertTrue(speech.transcribeAudioAsync(newAudio()).get(5, TimeUnit.SECONDS).startsWith("transcript for"));
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getState());
+    }
+
+    @Test
+    void bulkheadRefusesCallsBeyondTheCap() throws Exception {
+        SpeechResilience resilience = resilience(2, 20, 30);
+        SpeechToTextService speech = speechService(resilience);
+        fault = Fault.HANG;
+        hangRelease = new CountDownLatch(1);
+
+        // Uploads run on the calling thread, so park two callers on the hanging provider
+        List<CompletableFuture<String>> parked = List.of(
+                CompletableFuture.supplyAsync(() -> speech.transcribeAudioAsync(newAudio()), executor)
+                        .thenCompose(f -> f),
+                CompletableFuture.supplyAsync(() -> speech.transcribeAudioAsync(newAudio()), executor)
+                        .thenCompose(f -> f));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (uploadsInFlight.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, uploadsInFlight.get());
+
+        long started = System.nanoTime();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> speech.transcribeAudioAsync(newAudio()).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(SpeechResilience.SpeechUnavailableException.class, e.getCause());
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(500), "refusal should not wait");
+        assertEquals(2, uploads.get());
+
+        fault = Fault.NONE;
+        hangRelease.countDown();
+        for (CompletableFuture<String> call : parked) {
+            assertTrue(call.get(5, TimeUnit.SECONDS).startsWith("transcript for"));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getState());
+    }
+
+    @Test
+    void deferredAnswerIsTranscribedOnceTheProviderRecovers() throws Exception {
+        SpeechResilience resilience = resilience(8, 20, 30);
+        SpeechToTextService speech = speechService(resilience);
+
+        PendingTranscriptionRepository pendingRepository = mock(PendingTranscriptionRepository.class);
+        when(pendingRepository.findByAnswerId(any())).thenReturn(Optional.empty());
+        when(pendingRepository.save(any())).thenAnswer(call -> call.getArgument(0));
+        InterviewService interviewService = mock(InterviewService.class);
+        AnalysisService analysisService = mock(AnalysisService.class);
+        when(analysisService.analyzeAnswer(7L)).thenReturn(new FeedbackDTO());
+        AnalysisJobService jobs = analysisJobService(speech, resilience, pendingRepository, interviewService,
+                analysisService);
+
+        StoredAudio audio = newAudio();
+        jobs.defer(7L, 3L, audio, new SpeechResilience.SpeechUnavailableException("circuit open"));
+        ArgumentCaptor<PendingTranscription> captor = ArgumentCaptor.forClass(PendingTranscription.class);
+        verify(pendingRepository).save(captor.capture());
+        PendingTranscription pending = captor.getValue();
+        assertEquals(PendingTranscription.Status.Pending, pending.getStatus());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // First retry hits a failing provider: rescheduled, not lost
+        fault = Fault.SERVER_ERROR;
+        pending.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        when(pendingRepository.findTop20ByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(any(), any()))
+                .thenReturn(List.of(pending));
+        jobs.drainDeferred();
+        verify(pendingRepository, timeout(5000).times(3)).save(pending);
+        assertEquals(PendingTranscription.Status.Pending, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Provider is back: transcribed, analyzed and removed from the queue
+        fault = Fault.NONE;
+        pending.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        jobs.drainDeferred();
+        verify(pendingRepository, timeout(5000)).delete(pending);
+        verify(interviewService).updateTranscription(eq(7L), anyString(), anyInt());
+        verify(analysisService).analyzeAnswer(7L);
+    }
+
+    @Test
+    void stalePermitsDoNotChangeTheNewState() {
+        long[] now = {0};
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, 10, TimeUnit.SECONDS, 1, () -> now[0]);
+
+        CircuitBreaker.Permit slow = breaker.tryAcquire();
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+
+        now[0] = TimeUnit.SECONDS.toNanos(11);
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+
+        // A call that started while closed finishing now says nothing about the probe
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    static SpeechResilience resilience(int maxConcurrent, int windowSize, long openSeconds) {
+        SpeechResilience resilience = new SpeechResilience();
+        ReflectionTestUtils.setField(resilience, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(resilience, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(resilience, "maxWaitMs", 0L);
+        ReflectionTestUtils.setField(resilience, "windowSize", windowSize);
+        ReflectionTestUtils.setField(resilience, "minimumCalls", windowSize);
+        ReflectionTestUtils.setField(resilience, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(resilience, "openSeconds", openSeconds);
+        ReflectionTestUtils.setField(resilience, "halfOpenProbes", 1);
+        resilience.init();
+        return resilience;
+    }
+
+    private SpeechToTextService speechService(SpeechResilience resilience) {
+        TranscriptionCacheRepository repository = mock(TranscriptionCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        TranscriptionCache cache = new TranscriptionCache();
+        ReflectionTestUtils.setField(cache, "repository", repository);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+
+        SpeechToTextService speech = new SpeechToTextService();
+        ReflectionTestUtils.setField(speech, "assemblyAiClient", client);
+        ReflectionTestUtils.setField(speech, "transcriptPoller", poller);
+        ReflectionTestUtils.setField(speech, "transcriptionCache", cache);
+        ReflectionTestUtils.setField(speech, "speechResilience", resilience);
+        return speech;
+    }
+
+    private AnalysisJobService analysisJobService(SpeechToTextService speech, SpeechResilience resilience,
+                                                  PendingTranscriptionRepository pendingRepository,
+                                                  InterviewService interviewService, AnalysisService analysisService) {
+        AnalysisJobService jobs = new AnalysisJobService();
+        ReflectionTestUtils.setField(jobs, "speechToTextService", speech);
+        ReflectionTestUtils.setField(jobs, "speechResilience", resilience);
+        ReflectionTestUtils.setField(jobs, "pendingRepository", pendingRepository);
+        ReflectionTestUtils.setField(jobs, "interviewService", interviewService);
+        ReflectionTestUtils.setField(jobs, "analysisService", analysisService);
+        ReflectionTestUtils.setField(jobs, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jobs, "analysisExecutor", executor);
+        ReflectionTestUtils.setField(jobs, "retryBaseDelaySeconds", 30L);
+        ReflectionTestUtils.setField(jobs, "retryMaxDelaySeconds", 1800L);
+        ReflectionTestUtils.setField(jobs, "retryMaxAttempts", 5);
+        ReflectionTestUtils.setField(jobs, "retryLeaseSeconds", 900L);
+        jobs.registerMetrics();
+        return jobs;
+    }
+
+    // Each call gets its own content hash so the transcription cache never short-circuits it
+    private StoredAudio newAudio() {
+        try {
+            Path file = Files.write(dir.resolve("answer-" + hashSeq.incrementAndGet() + ".wav"), new byte[4096]);
+            return new StoredAudio(file.toString(), "hash-" + hashSeq.get(), 4096);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void handleUpload(HttpExchange exchange) throws IOException {
+        uploads.incrementAndGet();
+        uploadsInFlight.incrementAndGet();
+        try {
+            exchange.getRequestBody().readAllBytes();
+            if (fault == Fault.HANG) {
+                hangRelease.await(10, TimeUnit.SECONDS);
+            }
+            if (fault == Fault.SERVER_ERROR) {
+                respond(exchange, 500, "{\"error\":\"internal error\"}");
+                return;
+            }
+            respond(exchange, 200, "{\"upload_url\":\"https://cdn.example/audio\"}");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            uploadsInFlight.decrementAndGet();
+        }
+    }
+
+    private void handleTranscript(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if ("POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 200, "{\"id\":\"t-" + transcriptSeq.incrementAndGet() + "\",\"status\":\"queued\"}");
+            return;
+        }
+        String id = exchange.getRequestURI().getPath().substring("/v2/transcript/".length());
+        respond(exchange, 200, "{\"id\":\"" + id + "\",\"status\":\"completed\",\"text\":\"transcript for " + id + "\"}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.interview.platform.service;
+
+import com.interview.platform.analysis.audio.AudioNormalizer;
+import com.interview.platform.analysis.audio.WavHeader;
+import com.interview.platform.repository.TranscriptionCacheRepository;
+import com.interview.platform.storage.FileSystemBlobStore;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A stored recording's duration is that of the recording as made, whether or
+ * not the normalizer trimmed silence off the stored copy. ingestAudio reads
+ * the upload once, teeing it to the blob store and the provider upload, and
+ * abandons the provider upload when the recording is already transcribed.
+ */
+class SpeechToTextServiceTest {
+
+    @TempDir
+    Path root;
+
+    private SpeechToTextService service;
+    private FileSystemBlobStore blobStore;
+    private ThreadPoolTaskExecutor uploadExecutor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new FileSystemBlobStore();
+        ReflectionTestUtils.setField(blobStore, "rootDir", root.toString());
+        ReflectionTestUtils.setField(blobStore, "legacyDirs", List.of());
+        blobStore.init();
+
+        service = new SpeechToTextService();
+        ReflectionTestUtils.setField(service, "blobStore", blobStore);
+        ReflectionTestUtils.setField(service, "audioNormalizer", new AudioNormalizer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void trimmedUploadKeepsTheRecordedDuration() throws IOException {
+        // 2 s silence, 1 s tone, 2 s silence: stored as 1.4 s
+        byte[] wav = wav(2000, 1000, 2000);
+        Path staging = blobStore.stagingPath("upload.part");
+        Files.write(staging, wav);
+
+        StoredAudio stored = service.storeUploadedFile(staging, true);
+
+        assertEquals(5000L, stored.durationMillis());
+        assertEquals(5, stored.durationSeconds());
+        assertTrue(stored.size() < wav.length);
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    void multipartUploadKeepsTheRecordedDuration() throws IOException {
+        StoredAudio stored = service.saveAudioFile(new MockMultipartFile("audio", "answer.wav", "audio/wav",
+                wav(3000, 1000, 3000)));
+
+        assertEquals(7000L, stored.durationMillis());
+    }
+
+    @Test
+    void uploadStoredAsRecordedIsProbed() throws IOException {
+        // Nothing to trim, so the upload is stored unchanged
+        byte[] wav = wav(0, 2500, 0);
+        Path staging = blobStore.stagingPath("upload.part");
+        Files.write(staging, wav);
+
+        StoredAudio stored = service.storeUploadedFile(staging, true);
+
+        assertEquals(2500L, stored.durationMillis());
+        assertEquals(wav.length, stored.size());
+    }
+
+    @Test
+    void ingestMissStreamsTheUploadToTheProviderWhileStoringIt() throws Exception {
+        Provider provider = provider();
+        byte[] webm = webm(300 * 1024);
+        CountingUpload upload = new CountingUpload(webm);
+
+        IngestedAudio ingested = service.ingestAudio(upload);
+
+        assertEquals("transcript of t-1", ingested.transcription().get(5, TimeUnit.SECONDS));
+        assertEquals(1, upload.opened.get());
+        // The provider got the bytes from the tee, not a second upload of the saved file
+        assertArrayEquals(webm, provider.received.get());
+        verify(provider.client, never()).upload(any(Path.class));
+        verify(provider.client).requestTranscription("https://cdn.example/streamed");
+        assertEquals(sha256(webm), ingested.audio().contentHash());
+        assertArrayEquals(webm, Files.readAllBytes(blobStore.resolve(ingested.audio().path()).orElseThrow()));
+        assertFalse(provider.request.get().isCancelled());
+    }
+
+    @Test
+    void ingestHitAbandonsTheProviderUpload() throws Exception {
+        Provider provider = provider();
+        byte[] webm = webm(300 * 1024);
+        provider.cache.put(sha256(webm), webm.length, "cached transcript");
+        CountingUpload upload = new CountingUpload(webm);
+
+        IngestedAudio ingested = service.ingestAudio(upload);
+
+        assertEquals("cached transcript", ingested.transcription().get(5, TimeUnit.SECONDS));
+        assertEquals(1, upload.opened.get());
+        assertTrue(provider.request.get().isCancelled());
+        verify(provider.client, never()).requestTranscription(anyString());
+        verify(provider.client, never()).upload(any(Path.class));
+        assertArrayEquals(webm, Files.readAllBytes(blobStore.resolve(ingested.audio().path()).orElseThrow()));
+    }
+
+    // A provider that takes the streamed upload, and a cache in front of it
+    private Provider provider() throws IOException {
+        Provider provider = new Provider();
+        provider.client = mock(AssemblyAiClient.class);
+        when(provider.client.isConfigured()).thenReturn(true);
+        when(provider.client.prepareUpload(any(InputStream.class), anyLong())).thenAnswer(call -> {
+            HttpPost request = new HttpPost("https://provider.example/v2/upload");
+            request.setEntity(new InputStreamEntity(call.getArgument(0), call.getArgument(1),
+                    ContentType.APPLICATION_OCTET_STREAM));
+            provider.request.set(request);
+            return request;
+        });
+        when(provider.client.upload(any(HttpPost.class))).thenAnswer(call -> {
+            try (InputStream body = call.<HttpPost>getArgument(0).getEntity().getContent()) {
+                provider.received.set(body.readAllBytes());
+            }
+            return "https://cdn.example/streamed";
+        });
+        when(provider.client.requestTranscription(anyString())).thenReturn("t-1");
+
+        TranscriptPoller poller = mock(TranscriptPoller.class);
+        when(poller.await("t-1")).thenReturn(CompletableFuture.completedFuture("transcript of t-1"));
+
+        TranscriptionCacheRepository repository = mock(TranscriptionCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        provider.cache = new TranscriptionCache();
+        ReflectionTestUtils.setField(provider.cache, "repository", repository);
+        ReflectionTestUtils.setField(provider.cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(provider.cache, "ttlMinutes", 60L);
+
+        uploadExecutor = new ThreadPoolTaskExecutor();
+        uploadExecutor.setCorePoolSize(1);
+        uploadExecutor.initialize();
+
+        ReflectionTestUtils.setField(service, "assemblyAiClient", provider.client);
+        ReflectionTestUtils.setField(service, "transcriptPoller", poller);
+        ReflectionTestUtils.setField(service, "transcriptionCache", provider.cache);
+        ReflectionTestUtils.setField(service, "speechResilience", SpeechResilienceTest.resilience(2, 20, 30));
+        ReflectionTestUtils.setField(service, "speechUploadExecutor", uploadExecutor);
+        return provider;
+    }
+
+    private static final class Provider {
+        private AssemblyAiClient client;
+        private TranscriptionCache cache;
+        private final AtomicReference<HttpPost> request = new AtomicReference<>();
+        private final AtomicReference<byte[]> received = new AtomicReference<>();
+    }
+
+    // Counts how often the upload is opened
+    private static final class CountingUpload extends MockMultipartFile {
+        private final AtomicInteger opened = new AtomicInteger();
+
+        CountingUpload(byte[] content) {
+            super("audio", "answer.webm", "audio/webm", content);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            opened.incrementAndGet();
+            return super.getInputStream();
+        }
+    }
+
+    // Bigger than one copy buffer, so the replayed probe bytes and the rest of the stream both count
+    private static byte[] webm(int size) {
+        byte[] bytes = new byte[size];
+        new Random(11).nextBytes(bytes);
+        bytes[0] = 0x1A;
+        bytes[1] = 0x45;
+        bytes[2] = (byte) 0xDF;
+        bytes[3] = (byte) 0xA3;
+        return bytes;
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    // 16 kHz mono 16-bit: silence, a 300 Hz tone, silence
+    private static byte[] wav(int leadMillis, int toneMillis, int tailMillis) {
+        int lead = leadMillis * 16, tone = toneMillis * 16, tail = tailMillis * 16;
+        int samples = lead + tone + tail;
+        ByteBuffer buf = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(WavHeader.pcm16Header(1, 16000, samples * 2L));
+        for (int i = 0; i < samples; i++) {
+            boolean loud = i >= lead && i < lead + tone;
+            buf.putShort(loud ? (short) (16000 * Math.sin(2 * Math.PI * 300 * i / 16000.0)) : 0);
+        }
+        return buf.array();
+    }
+}
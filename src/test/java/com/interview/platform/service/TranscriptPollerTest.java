@@ -0,0 +1,304 @@
+package com.interview.platform.service;
+
+import com.interview.platform.analysis.audio.AudioNormalizer;
+import com.interview.platform.model.TranscriptionCacheEntry;
+import com.interview.platform.repository.TranscriptionCacheRepository;
+import com.interview.platform.storage.FileSystemBlobStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TranscriptPoller, the AssemblyAI client and the transcription cache against
+ * a local stub of the upload/transcript API.
+ */
+class TranscriptPollerTest {
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private AssemblyAiClient client;
+    private TranscriptPoller poller;
+    private ThreadPoolTaskExecutor uploadExecutor;
+
+    // Stub state: polls still answered with "processing", per transcript id
+    private final Map<String, AtomicInteger> pollsUntilDone = new ConcurrentHashMap<>();
+    private final AtomicInteger pollCount = new AtomicInteger();
+    private final AtomicInteger transcriptSeq = new AtomicInteger();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private volatile int defaultPollsUntilDone = 2;
+
+    @TempDir
+    Path blobRoot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Without this the JDK server's Nagle delay dominates keep-alive polls
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/upload", this::handleUpload);
+        server.createContext("/v2/transcript", this::handleTranscript);
+        server.start();
+
+        httpClient = HttpClients.createDefault();
+        client = new AssemblyAiClient();
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort() + "/v2");
+        ReflectionTestUtils.setField(client, "webhookUrl", "");
+        ReflectionTestUtils.setField(client, "httpClient", httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (poller != null) poller.shutdown();
+        if (uploadExecutor != null) uploadExecutor.shutdown();
+        server.stop(0);
+        httpClient.close();
+    }
+
+    @Test
+    void transcribesSavedFileThroughStubServer() throws Exception {
+        poller = poller(20, 200, 2.0, 10);
+        TranscriptionCacheRepository repository = mock(TranscriptionCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        SpeechToTextService speech = speechService(repository);
+
+        Path file = Files.createTempFile("answer", ".wav");
+        try {
+            Files.write(file, new byte[3 * 1024 * 1024 + 17]);
+            StoredAudio audio = new StoredAudio(file.toString(), "abc123", Files.size(file));
+            String text = speech.transcribeAudioAsync(audio).get(5, TimeUnit.SECONDS);
+
+            assertEquals("transcript for t-1", text);
+            assertEquals(Files.size(file), uploadedBytes.get());
+            assertEquals(3, pollCount.get());
+            assertEquals(0, poller.getPendingCount());
+            verify(repository).save(any(TranscriptionCacheEntry.class));
+
+            // Same recording again: answered from memory without touching the provider
+            StoredAudio retry = new StoredAudio(file.toString(), "abc123", Files.size(file));
+            assertEquals(text, speech.transcribeAudioAsync(retry).get(100, TimeUnit.MILLISECONDS));
+            assertEquals(Files.size(file), uploadedBytes.get());
+            assertEquals(3, pollCount.get());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void ingestSavesHashesAndUploadsInOneRead() throws Exception {
+        poller = poller(20, 200, 2.0, 10);
+        TranscriptionCacheRepository repository = mock(TranscriptionCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        SpeechToTextService speech = speechService(repository);
+
+        byte[] recording = new byte[2 * 1024 * 1024 + 5];
+        new Random(3).nextBytes(recording);
+        MockMultipartFile upload = new MockMultipartFile("audioFile", "answer.wav", "audio/wav", recording);
+
+        IngestedAudio first = speech.ingestAudio(upload);
+        Path saved = Path.of(first.audio().path()).toAbsolutePath();
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(recording));
+
+        assertEquals("transcript for t-1", first.transcription().get(5, TimeUnit.SECONDS));
+        assertArrayEquals(recording, Files.readAllBytes(saved));
+        assertEquals(hash, first.audio().contentHash());
+        assertEquals(blobRoot.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash), saved);
+        assertEquals(recording.length, uploadedBytes.get());
+
+        // Retry of the same recording: same blob, cache hit, no second transcript is requested
+        IngestedAudio retry = speech.ingestAudio(upload);
+        assertEquals(first.audio().path(), retry.audio().path());
+        assertEquals("transcript for t-1", retry.transcription().get(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, transcriptSeq.get());
+        try (var tmp = Files.list(blobRoot.resolve("tmp"))) {
+            assertEquals(0, tmp.count());
+        }
+    }
+
+    @Test
+    void backsOffAndGivesUpAtDeadline() throws Exception {
+        poller = poller(50, 400, 2.0, 1);
+        defaultPollsUntilDone = Integer.MAX_VALUE;
+
+        CompletableFuture<String> result = poller.await(newTranscript());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        // 50, 100, 200, 400, ... ms: a fixed 50ms interval would have polled about 20 times
+        assertTrue(pollCount.get() <= 7, "polled " + pollCount.get() + " times");
+        assertEquals(0, poller.getPendingCount());
+    }
+
+    @Test
+    void webhookCallbackSkipsTheWait() throws Exception {
+        poller = poller(60_000, 60_000, 1.0, 600);
+        defaultPollsUntilDone = 0;
+        String id = newTranscript();
+
+        CompletableFuture<String> result = poller.await(id);
+        assertTrue(poller.onCompletionCallback(id, "completed"));
+
+        assertEquals("transcript for " + id, result.get(2, TimeUnit.SECONDS));
+        assertEquals(1, pollCount.get());
+    }
+
+    @Test
+    void errorStatusFailsTheFuture() {
+        poller = poller(10, 50, 2.0, 10);
+        defaultPollsUntilDone = 0;
+
+        CompletableFuture<String> result = poller.await("err-" + newTranscript());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getMessage().contains("audio too short"));
+    }
+
+    @Test
+    void manyPendingTranscriptsShareThePollerThreads() throws Exception {
+        poller = poller(10, 100, 1.5, 30);
+        defaultPollsUntilDone = 3;
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(poller.await(newTranscript()));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(20, TimeUnit.SECONDS);
+
+        assertEquals(200 * 4, pollCount.get());
+        assertEquals(0, poller.getPendingCount());
+    }
+
+    private SpeechToTextService speechService(TranscriptionCacheRepository repository) throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore();
+        ReflectionTestUtils.setField(blobStore, "rootDir", blobRoot.toString());
+        ReflectionTestUtils.setField(blobStore, "legacyDirs", List.of());
+        blobStore.init();
+
+        TranscriptionCache cache = new TranscriptionCache();
+        ReflectionTestUtils.setField(cache, "repository", repository);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+
+        ThreadPoolTaskExecutor uploads = new ThreadPoolTaskExecutor();
+        uploads.setCorePoolSize(2);
+        uploads.setQueueCapacity(0);
+        uploads.initialize();
+        uploadExecutor = uploads;
+
+        SpeechToTextService speech = new SpeechToTextService();
+        ReflectionTestUtils.setField(speech, "assemblyAiClient", client);
+        ReflectionTestUtils.setField(speech, "transcriptPoller", poller);
+        ReflectionTestUtils.setField(speech, "transcriptionCache", cache);
+        ReflectionTestUtils.setField(speech, "speechUploadExecutor", uploads);
+        ReflectionTestUtils.setField(speech, "blobStore", blobStore);
+        ReflectionTestUtils.setField(speech, "audioNormalizer", new AudioNormalizer());
+        ReflectionTestUtils.setField(speech, "speechResilience", SpeechResilienceTest.resilience(32, 20, 1));
+        return speech;
+    }
+
+    private TranscriptPoller poller(long initialMs, long maxMs, double multiplier, long maxWaitSeconds) {
+        TranscriptPoller p = new TranscriptPoller();
+        ReflectionTestUtils.setField(p, "assemblyAiClient", client);
+        ReflectionTestUtils.setField(p, "threads", 2);
+        ReflectionTestUtils.setField(p, "initialIntervalMs", initialMs);
+        ReflectionTestUtils.setField(p, "maxIntervalMs", maxMs);
+        ReflectionTestUtils.setField(p, "backoffMultiplier", multiplier);
+        ReflectionTestUtils.setField(p, "maxWaitSeconds", maxWaitSeconds);
+        ReflectionTestUtils.setField(p, "maxConsecutiveErrors", 3);
+        p.init();
+        return p;
+    }
+
+    private String newTranscript() {
+        String id = "t-" + transcriptSeq.incrementAndGet();
+        pollsUntilDone.put(id, new AtomicInteger(defaultPollsUntilDone));
+        return id;
+    }
+
+    private void handleUpload(HttpExchange exchange) throws IOException {
+        long total = 0;
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buf = new byte[8192];
+            for (int n; (n = in.read(buf)) > 0; ) total += n;
+        }
+        uploadedBytes.addAndGet(total);
+        respond(exchange, 200, "{\"upload_url\":\"https://cdn.example/audio\"}");
+    }
+
+    private void handleTranscript(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (!"test-key".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            respond(exchange, 401, "{\"error\":\"bad key\"}");
+            return;
+        }
+        if ("POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 200, "{\"id\":\"" + newTranscript() + "\",\"status\":\"queued\"}");
+            return;
+        }
+
+        pollCount.incrementAndGet();
+        String id = exchange.getRequestURI().getPath().substring("/v2/transcript/".length());
+        if (id.startsWith("err-")) {
+            respond(exchange, 200, "{\"id\":\"" + id + "\",\"status\":\"error\",\"error\":\"audio too short\"}");
+            return;
+        }
+        AtomicInteger remaining = pollsUntilDone.get(id);
+        if (remaining == null) {
+            respond(exchange, 404, "{\"error\":\"not found\"}");
+        } else if (remaining.getAndDecrement() > 0) {
+            respond(exchange, 200, "{\"id\":\"" + id + "\",\"status\":\"processing\"}");
+        } else {
+            respond(exchange, 200, "{\"id\":\"" + id + "\",\"status\":\"completed\",\"text\":\"transcript for " + id + "\"}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.interview.platform.service;
+
+import com.interview.platform.model.TranscriptionCacheEntry;
+import com.interview.platform.repository.TranscriptionCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * The in-memory tier is a bounded LRU with a TTL in front of the
+ * transcription_cache table, and identical recordings in flight together
+ * are transcribed once.
+ */
+class TranscriptionCacheTest {
+
+    private TranscriptionCacheRepository repository;
+    private TranscriptionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TranscriptionCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        cache = new TranscriptionCache();
+        ReflectionTestUtils.setField(cache, "repository", repository);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        cache.put("a", 10, "alpha");
+        cache.put("b", 10, "bravo");
+        assertEquals(Optional.of("alpha"), cache.get("a"));
+        cache.put("c", 10, "charlie");
+
+        assertEquals(2, cache.memorySize());
+        assertEquals(Optional.of("alpha"), cache.get("a"));
+        assertEquals(Optional.of("charlie"), cache.get("c"));
+        verify(repository, never()).findById(any());
+
+        // "b" was least recently used, so it now comes from the table
+        cache.get("b");
+        verify(repository).findById("b");
+    }
+
+    @Test
+    void expiredEntryIsLookedUpAgain() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 0L);
+        cache.put("a", 10, "alpha");
+        Thread.sleep(5);
+
+        assertEquals(Optional.empty(), cache.get("a"));
+        verify(repository).findById("a");
+        assertEquals(0, cache.memorySize());
+    }
+
+    @Test
+    void missFallsBackToTheTableAndIsRemembered() {
+        when(repository.findById("a")).thenReturn(Optional.of(new TranscriptionCacheEntry("a", "alpha", 10L, null)));
+
+        assertEquals(Optional.of("alpha"), cache.get("a"));
+        assertEquals(Optional.of("alpha"), cache.get("a"));
+        verify(repository, times(1)).findById("a");
+        assertEquals(1, cache.memorySize());
+    }
+
+    @Test
+    void newTranscriptionIsPersistedOnce() {
+        when(repository.existsById("a")).thenReturn(false, true);
+        cache.put("a", 10, "alpha");
+        cache.put("a", 10, "alpha");
+
+        verify(repository, times(1)).save(any(TranscriptionCacheEntry.class));
+    }
+
+    @Test
+    void concurrentRequestsForTheSameRecordingShareOneTranscription() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> provider = new CompletableFuture<>();
+        StoredAudio audio = new StoredAudio("answer.wav", "a", 10);
+
+        CompletableFuture<String> first = cache.getOrTranscribe(audio, () -> {
+            calls.incrementAndGet();
+            return provider;
+        });
+        CompletableFuture<String> second = cache.getOrTranscribe(audio, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertSame(first, second);
+
+        provider.complete("alpha");
+        assertEquals("alpha", first.get());
+        assertEquals("alpha", second.get());
+        assertEquals(1, calls.get());
+        verify(repository).save(any(TranscriptionCacheEntry.class));
+
+        // Later requests are plain hits
+        assertEquals("alpha", cache.getOrTranscribe(audio, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        }).get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failedTranscriptionIsNotCached() throws Exception {
+        StoredAudio audio = new StoredAudio("answer.wav", "a", 10);
+
+        CompletableFuture<String> failed = cache.getOrTranscribe(audio,
+                () -> CompletableFuture.failedFuture(new IOException("provider down")));
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IOException.class, e.getCause());
+
+        assertEquals("alpha", cache.getOrTranscribe(audio, () -> CompletableFuture.completedFuture("alpha")).get());
+    }
+
+    @Test
+    void audioWithoutAHashBypassesTheCache() throws Exception {
+        StoredAudio legacy = new StoredAudio("uploads/audio/old.wav", null, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("alpha", cache.getOrTranscribe(legacy, () -> {
+                calls.incrementAndGet();
+                return CompletableFuture.completedFuture("alpha");
+            }).get());
+        }
+        assertEquals(2, calls.get());
+
+        CompletableFuture<String> thrown = cache.getOrTranscribe(legacy, () -> {
+            throw new IllegalStateException("no provider");
+        });
+        assertTrue(thrown.isCompletedExceptionally());
+        assertEquals(0, cache.memorySize());
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,110 @@
+package com.interview.platform.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlobResponseWriterTest {
+
+    private static final long[] EVERYTHING = new long[0];
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void closedRangeIsClampedToTheFile() {
+        assertArrayEquals(new long[]{0, 99}, BlobResponseWriter.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[]{10, 10}, BlobResponseWriter.parseRange("bytes= 10 - 10 ", 1000));
+        assertArrayEquals(new long[]{900, 999}, BlobResponseWriter.parseRange("bytes=900-5000", 1000));
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() {
+        assertArrayEquals(new long[]{500, 999}, BlobResponseWriter.parseRange("bytes=500-", 1000));
+        assertArrayEquals(new long[]{0, 999}, BlobResponseWriter.parseRange("bytes=0-", 1000));
+    }
+
+    @Test
+    void suffixRangeIsTheLastBytes() {
+        assertArrayEquals(new long[]{900, 999}, BlobResponseWriter.parseRange("bytes=-100", 1000));
+        // Longer than the file: the whole file
+        assertArrayEquals(new long[]{0, 999}, BlobResponseWriter.parseRange("bytes=-5000", 1000));
+    }
+
+    @Test
+    void unsatisfiableRangesAreRejected() {
+        assertNull(BlobResponseWriter.parseRange("bytes=1000-", 1000));
+        assertNull(BlobResponseWriter.parseRange("bytes=1000-1200", 1000));
+        assertNull(BlobResponseWriter.parseRange("bytes=50-10", 1000));
+        assertNull(BlobResponseWriter.parseRange("bytes=-0", 1000));
+        assertNull(BlobResponseWriter.parseRange("bytes=-10", 0));
+        assertNull(BlobResponseWriter.parseRange("bytes=0-", 0));
+    }
+
+    @Test
+    void malformedAndMultiRangeHeadersSendEverything() {
+        for (String header : new String[]{"items=0-10", "bytes=10", "bytes=-", "bytes=a-b", "bytes=5-x",
+                "bytes=0-1,5-6", "bytes=-10, 0-1"}) {
+            assertArrayEquals(EVERYTHING, BlobResponseWriter.parseRange(header, 1000), header);
+        }
+    }
+
+    @Test
+    void rangeRequestGetsPartialContent() throws IOException {
+        byte[] content = content(1000);
+        MockHttpServletResponse response = send(content, "bytes=100-199");
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader("Content-Range"));
+        assertEquals(100, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void rangePastTheEndGets416() throws IOException {
+        MockHttpServletResponse response = send(content(1000), "bytes=1000-");
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void multiRangeGetsTheWholeFile() throws IOException {
+        byte[] content = content(1000);
+        MockHttpServletResponse response = send(content, "bytes=0-1,5-6");
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    private MockHttpServletResponse send(byte[] content, String range) throws IOException {
+        Path file = Files.write(dir.resolve("blob"), content);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/audio");
+        request.addHeader("Range", range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new BlobResponseWriter().send(file, "abc123", request, response);
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("\"abc123\"", response.getHeader("ETag"));
+        return response;
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+}
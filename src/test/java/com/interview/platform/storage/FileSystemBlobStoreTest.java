@@ -0,0 +1,155 @@
+package com.interview.platform.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Blobs land under a two-level shard of their SHA-256, are written to a temp
+ * file and renamed into place, are stored once however often they are put,
+ * and nothing outside the store is ever resolved.
+ */
+class FileSystemBlobStoreTest {
+
+    private static final byte[] CONTENT = "some recorded answer".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private Path root;
+    private Path legacy;
+    private FileSystemBlobStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = dir.resolve("blobs");
+        legacy = Files.createDirectories(dir.resolve("audio"));
+        store = new FileSystemBlobStore();
+        ReflectionTestUtils.setField(store, "rootDir", root.toString());
+        ReflectionTestUtils.setField(store, "legacyDirs", List.of(legacy.toString()));
+        store.init();
+    }
+
+    @Test
+    void blobIsStoredUnderItsShardedHash() throws IOException {
+        String key = sha256(CONTENT);
+        StoredBlob blob = store.put(new ByteArrayInputStream(CONTENT));
+
+        assertEquals(key, blob.key());
+        assertEquals(CONTENT.length, blob.size());
+        Path expected = root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+        assertEquals(Optional.of(expected), store.resolve(blob.location()));
+        assertArrayEquals(CONTENT, Files.readAllBytes(expected));
+        assertEquals(key, store.keyOf(expected));
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        StoredBlob first = store.put(new ByteArrayInputStream(CONTENT));
+        StoredBlob second = store.put(new ByteArrayInputStream(CONTENT));
+        Path staged = Files.write(store.stagingPath("upload.part"), CONTENT);
+        StoredBlob third = store.putFile(staged);
+
+        assertEquals(first, second);
+        assertEquals(first, third);
+        assertFalse(Files.exists(staged));
+        assertEquals(1, blobCount());
+        assertEquals(0, tempFileCount());
+    }
+
+    @Test
+    void dataIsOnlyVisibleOnceCommitted() throws IOException {
+        StoredBlob blob;
+        try (BlobWriter writer = store.newWriter()) {
+            writer.write(CONTENT, 0, 4);
+            writer.write(CONTENT, 4, CONTENT.length - 4);
+            assertEquals(CONTENT.length, writer.size());
+
+            // Still a temp file, which the store never serves
+            assertEquals(0, blobCount());
+            Path partial;
+            try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+                partial = files.findFirst().orElseThrow();
+            }
+            assertTrue(store.resolve(partial.toString()).isEmpty());
+
+            blob = writer.commit();
+        }
+        assertEquals(0, tempFileCount());
+        assertEquals(1, blobCount());
+        assertArrayEquals(CONTENT, Files.readAllBytes(store.resolve(blob.location()).orElseThrow()));
+    }
+
+    @Test
+    void abandonedWriteLeavesNothingBehind() throws IOException {
+        try (BlobWriter writer = store.newWriter()) {
+            writer.write(CONTENT, 0, CONTENT.length);
+        }
+        assertEquals(0, tempFileCount());
+        assertEquals(0, blobCount());
+    }
+
+    @Test
+    void locationsOutsideTheStoreAreRefused() throws IOException {
+        StoredBlob blob = store.put(new ByteArrayInputStream(CONTENT));
+        Path outside = Files.write(dir.resolve("secret.txt"), CONTENT);
+
+        assertTrue(store.resolve(outside.toString()).isEmpty());
+        assertTrue(store.resolve(root.resolve("..").resolve("secret.txt").toString()).isEmpty());
+        assertTrue(store.resolve(blob.location() + "/../../../../secret.txt").isEmpty());
+        assertTrue(store.resolve(root.resolve("ab").toString()).isEmpty(), "directory");
+        assertTrue(store.resolve(root.resolve("missing").toString()).isEmpty());
+        assertTrue(store.resolve(null).isEmpty());
+        assertTrue(store.resolve(" ").isEmpty());
+        assertNull(store.keyOf(outside));
+
+        // Legacy uploads are still served, but are not content-addressed
+        Path old = Files.write(legacy.resolve("answer.wav"), CONTENT);
+        assertEquals(Optional.of(old), store.resolve(old.toString()));
+        assertNull(store.keyOf(old));
+
+        for (String name : new String[]{"", "../escape", "a/b", "a\\b", ".hidden"}) {
+            assertThrows(IllegalArgumentException.class, () -> store.stagingPath(name), name);
+        }
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).filter(p -> !p.startsWith(root.resolve("tmp"))).count();
+        }
+    }
+
+    private long tempFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+            return files.count();
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+-- Schema created by ddl-auto=update from the entities at the commit before versioned migrations
+-- (generated with MySQLDialect). Upgrade tests start from this, independently of V1.
+
+
+    create table answer_analysis (
+        answer_completeness float(53),
+        communication_score float(53),
+        confidence_score float(53),
+        content_score float(53),
+        filler_word_count integer,
+        keyword_match_percentage float(53),
+        overall_score float(53),
+        pause_count integer,
+        words_per_minute integer,
+        analysis_id bigint not null auto_increment,
+        analyzed_at datetime(6),
+        answer_id bigint not null,
+        improvement_tips TEXT,
+        strengths TEXT,
+        weaknesses TEXT,
+        primary key (analysis_id)
+    ) engine=InnoDB;
+
+    create table interview_answers (
+        duration integer,
+        answer_id bigint not null auto_increment,
+        answered_at datetime(6),
+        question_id bigint not null,
+        session_id bigint not null,
+        user_id bigint not null,
+        audio_path varchar(255),
+        transcription TEXT,
+        video_path varchar(255),
+        primary key (answer_id)
+    ) engine=InnoDB;
+
+    create table interview_sessions (
+        overall_score float(53),
+        questions_answered integer,
+        total_questions integer,
+        end_time datetime(6),
+        session_id bigint not null auto_increment,
+        start_time datetime(6),
+        user_id bigint not null,
+        session_type enum ('Quick','FullMock','Custom','ResumeBased'),
+        status enum ('InProgress','Completed','Abandoned'),
+        primary key (session_id)
+    ) engine=InnoDB;
+
+    create table notifications (
+        is_read bit not null,
+        created_at datetime(6) not null,
+        id bigint not null auto_increment,
+        user_id bigint not null,
+        message varchar(255) not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table questions (
+        ideal_duration integer,
+        is_active bit,
+        created_at datetime(6),
+        created_by bigint,
+        question_id bigint not null auto_increment,
+        category varchar(50) not null,
+        subcategory varchar(50),
+        expected_keywords TEXT,
+        question_text TEXT not null,
+        sample_answer TEXT,
+        tips TEXT,
+        difficulty enum ('Easy','Medium','Hard'),
+        primary key (question_id)
+    ) engine=InnoDB;
+
+    create table user_skills (
+        id bigint not null auto_increment,
+        user_id bigint,
+        proficiency_level varchar(50),
+        skill_name varchar(100) not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table users (
+        enabled bit,
+        trust_score float(53),
+        created_at datetime(6),
+        last_login datetime(6),
+        user_id bigint not null auto_increment,
+        phone varchar(15),
+        experience_level varchar(20),
+        role varchar(20),
+        industry varchar(50),
+        email varchar(100) not null,
+        full_name varchar(100) not null,
+        target_role varchar(100),
+        password varchar(255) not null,
+        profile_picture varchar(255),
+        resume_path varchar(255),
+        primary key (user_id)
+    ) engine=InnoDB;
+
+    alter table answer_analysis 
+       add constraint UK_dsvccqmqepeax5om8by4rpax unique (answer_id);
+
+    alter table users 
+       add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+    alter table answer_analysis 
+       add constraint FKhkc4bvgkega5r3cge2ihf2viu 
+       foreign key (answer_id) 
+       references interview_answers (answer_id);
+
+    alter table interview_answers 
+       add constraint FKqfm4967br9hguix3wdtrgnq78 
+       foreign key (question_id) 
+       references questions (question_id);
+
+    alter table interview_answers 
+       add constraint FKjeqvvamvdarrcbswn6kkiuym9 
+       foreign key (session_id) 
+       references interview_sessions (session_id);
+
+    alter table interview_answers 
+       add constraint FK1fdh34fb0y48p040rqsnp9md 
+       foreign key (user_id) 
+       references users (user_id);
+
+    alter table interview_sessions 
+       add constraint FKoa5rgsdu7rqa8y74yph1fuqe5 
+       foreign key (user_id) 
+       references users (user_id);
+
+    alter table notifications 
+       add constraint FK9y21adhxn0ayjhfocscqox7bh 
+       foreign key (user_id) 
+       references users (user_id);
+
+    alter table user_skills 
+       add constraint FKro13if9r7fwkr5115715127ai 
+       foreign key (user_id) 
+       references users (user_id);